@@ -1,8 +1,23 @@
 package com.devpal.newbase; // تأكد أن الحزمة هي com.devpal.newbase
 
 import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorkerFactory;
+import androidx.work.Configuration;
+
 import dagger.hilt.android.HiltAndroidApp;
+import io.reactivex.disposables.Disposable;
+
+import com.devpal.newbase.managers.ConnectivityMonitor;
+import com.devpal.newbase.repository.UserRepository;
+import com.devpal.newbase.services.BackgroundSyncService;
 import com.devpal.newbase.utils.AppLogger; // استيراد AppLogger
+import com.devpal.newbase.utils.SessionManager;
+import com.devpal.newbase.utils.debug.MainThreadIoDetector;
+import com.devpal.newbase.utils.schedulers.SchedulerMetricsRegistry;
+
+import javax.inject.Inject;
 
 /**
  * BaseApplication: كلاس Application الرئيسي للتطبيق.
@@ -10,18 +25,81 @@ import com.devpal.newbase.utils.AppLogger; // استيراد AppLogger
  * @HiltAndroidApp: هذا التعليق التوضيحي يخبر Hilt ببدء توليد مكونات Dagger Hilt
  * على مستوى التطبيق. يجب أن يكون هذا الكلاس هو كلاس الـ Application الوحيد في مشروعك
  * الذي يحمل هذا التعليق.
+ *
+ * Configuration.Provider: يهيئ WorkManager عند الطلب باستخدام HiltWorkerFactory
+ * حتى يتمكن Hilt من حقن التبعيات في الـ Workers (مثل SyncWorker).
+ * (التهيئة التلقائية الافتراضية لـ WorkManager معطلة في AndroidManifest.xml)
+ *
+ * عند عودة الاتصال بعد انقطاعه (ConnectivityMonitor) يتم طلب إرسال صندوق "مقروء" ومزامنة فورية
+ * للمستخدم المسجل. الأعمال المجدولة بقيد CONNECTED (مثل الرفع) يستأنفها WorkManager تلقائيًا.
+ *
+ * عند انتهاء الجلسة (رفض الخادم رمز التجديد، انظر SessionManager.expireSession) يتم تسجيل الخروج
+ * الكامل هنا عبر UserRepository.logoutUser()، لأن التجديد قد يحدث من SyncWorker بدون أي شاشة مفتوحة.
  */
 @HiltAndroidApp
-public class BaseApplication extends Application {
+public class BaseApplication extends Application implements Configuration.Provider {
 
     private static final String TAG = "BaseApplication";
 
+    @Inject
+    HiltWorkerFactory workerFactory;
+
+    @Inject
+    ConnectivityMonitor connectivityMonitor;
+
+    @Inject
+    BackgroundSyncService backgroundSyncService;
+
+    @Inject
+    SessionManager sessionManager;
+
+    @Inject
+    SchedulerMetricsRegistry schedulerMetrics;
+
+    @Inject
+    UserRepository userRepository;
+
+    private Disposable reconnectSubscription; // طوال عمر التطبيق
+    private Disposable sessionExpiredSubscription; // طوال عمر التطبيق
+
+    @NonNull
+    @Override
+    public Configuration getWorkManagerConfiguration() {
+        return new Configuration.Builder()
+                .setWorkerFactory(workerFactory)
+                .build();
+    }
+
     @Override
     public void onCreate() {
         super.onCreate();
+        if (BuildConfig.DEBUG) {
+            // تسجيل أي قراءة/كتابة على القرص من الخيط الرئيسي (انظر MainThreadIoDetector)
+            MainThreadIoDetector.installStrictMode();
+        }
+        // قياس الانتظار والتنفيذ وعمق الطابور لكل Scheduler (انظر SchedulerMetricsRegistry)
+        schedulerMetrics.install();
         // تهيئة أي مكتبات أو خدمات عالمية هنا
         AppLogger.d(TAG, "BaseApplication initialized.");
 
+        reconnectSubscription = connectivityMonitor.observeReconnects()
+                .subscribe(state -> {
+                    if (sessionManager.isLoggedIn()) {
+                        AppLogger.d(TAG, "Network restored (" + state + "), resuming sync.");
+                        backgroundSyncService.requestReadOutboxFlush();
+                        backgroundSyncService.requestImmediateSync();
+                    }
+                }, throwable -> AppLogger.e(TAG, "Reconnect observer failed.", throwable));
+
+        // مسح بيانات الحساب السابق (Room، علامات المزامنة، الطلبات المحفوظة، أعمال الخلفية)
+        // حتى لا يبدأ الحساب التالي من بياناته. الشاشات تتولى الانتقال إلى تسجيل الدخول فقط.
+        sessionExpiredSubscription = sessionManager.observeSessionExpired()
+                .concatMapCompletable(expiredAt -> userRepository.logoutUser()
+                        .doOnComplete(() -> AppLogger.i(TAG, "Session expired, local user data cleared."))
+                        .doOnError(throwable -> AppLogger.e(TAG, "Failed to clear local data after session expiry.", throwable))
+                        .onErrorComplete())
+                .subscribe(() -> { }, throwable -> AppLogger.e(TAG, "Session expiry observer failed.", throwable));
+
         // إذا كنت تستخدم Timber (لمكتبة التسجيل المتقدمة)، يمكنك تهيئته هنا:
         // if (BuildConfig.DEBUG) { // تهيئة Timber فقط في وضع Debug
         //     Timber.plant(new Timber.DebugTree());
@@ -1,10 +0,0 @@
-package com.devpal.newbase;
-
-
-public final class BuildConfig {
-    public static final boolean DEBUG = true;
-    public static final String APPLICATION_ID = "com.devpal.newbase";
-    public static final String BUILD_TYPE = "debug";
-    public static final int VERSION_CODE = 1;
-    public static final String VERSION_NAME = "1.0";
-}
@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 
@@ -13,8 +14,21 @@ import com.google.gson.annotations.SerializedName;
  * tableName: The name of the table to be created in the database.
  * @ColumnInfo: Used to define column names in the database.
  * @Ignore: Used to tell Room to ignore a specific constructor or method.
+ * indices: Indices used by filtered/sorted queries (per-user inbox, unread filter, category and
+ * priority filters, and the (sent_at, id) keyset pagination order) so they avoid full table scans.
+ * (read_status, category) covers the badge/counter aggregate queries.
+ * sent_at is NOT NULL (default 0): rows without a send time still sort last and stay reachable by the keyset queries.
+ * Any change here needs a matching Migration in AppMigrations.
  */
-@Entity(tableName = "notifications")
+@Entity(tableName = "notifications",
+        indices = {
+                @Index(value = {"user_id", "sent_at"}),
+                @Index(value = {"read_status", "sent_at"}),
+                @Index(value = {"read_status", "category"}),
+                @Index(value = {"sent_at", "id"}),
+                @Index(value = {"category"}),
+                @Index(value = {"priority"})
+        })
 public class Notification {
 
     @PrimaryKey
@@ -75,9 +89,10 @@ public class Notification {
     @SerializedName("delivery_channel")
     private String deliveryChannel; // e.g., "in_app", "push_notification", "email", "sms"
 
-    @ColumnInfo(name = "sent_at")
+    @NonNull
+    @ColumnInfo(name = "sent_at", defaultValue = "0")
     @SerializedName("sent_at")
-    private Long sentAt; // Timestamp when sent from server
+    private Long sentAt = 0L; // Timestamp when sent from server (0 when missing, so keyset paging never compares NULL)
 
     @ColumnInfo(name = "delivered_at")
     @SerializedName("delivered_at")
@@ -115,7 +130,7 @@ public class Notification {
         this.readStatus = readStatus;
         this.priority = priority;
         this.deliveryChannel = deliveryChannel;
-        this.sentAt = sentAt;
+        setSentAt(sentAt);
         this.deliveredAt = deliveredAt;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -236,12 +251,13 @@ public class Notification {
         this.deliveryChannel = deliveryChannel;
     }
 
+    @NonNull
     public Long getSentAt() {
         return sentAt;
     }
 
     public void setSentAt(Long sentAt) {
-        this.sentAt = sentAt;
+        this.sentAt = sentAt != null ? sentAt : 0L;
     }
 
     public Long getDeliveredAt() {
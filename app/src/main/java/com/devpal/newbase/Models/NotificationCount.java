@@ -0,0 +1,66 @@
+package com.devpal.newbase.Models;
+
+import androidx.room.ColumnInfo;
+
+import java.util.Objects;
+
+/**
+ * NotificationCount: نتيجة استعلام تجميعي (GROUP BY) لعدد الإشعارات حسب حالة القراءة والفئة.
+ * يُستخدم للشارات (Badges) والعدادات بدون تحميل أي صف من جدول الإشعارات.
+ */
+public class NotificationCount {
+
+    @ColumnInfo(name = "read_status")
+    private String readStatus;
+
+    @ColumnInfo(name = "category")
+    private String category;
+
+    @ColumnInfo(name = "count")
+    private int count;
+
+    // Constructor used by Room to build rows from the aggregate query
+    public NotificationCount(String readStatus, String category, int count) {
+        this.readStatus = readStatus;
+        this.category = category;
+        this.count = count;
+    }
+
+    // Getters
+
+    public String getReadStatus() {
+        return readStatus;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NotificationCount)) return false;
+        NotificationCount that = (NotificationCount) o;
+        return count == that.count
+                && Objects.equals(readStatus, that.readStatus)
+                && Objects.equals(category, that.category);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(readStatus, category, count);
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationCount{" +
+                "readStatus='" + readStatus + '\'' +
+                ", category='" + category + '\'' +
+                ", count=" + count +
+                '}';
+    }
+}
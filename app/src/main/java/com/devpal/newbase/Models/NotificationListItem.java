@@ -0,0 +1,112 @@
+package com.devpal.newbase.Models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+
+import java.util.Objects;
+
+/**
+ * NotificationListItem: إسقاط (Projection) خفيف لجدول الإشعارات يحتوي فقط على الأعمدة
+ * التي تعرضها قائمة الإشعارات.
+ * لا يحتوي على body أو payload أو حقول الإجراء (action)، لذلك يقل حجم البيانات المنسوخة
+ * من الـ Cursor وعدد الكائنات المنشأة لكل صف. يتم تحميل كائن Notification الكامل
+ * فقط عند فتح إشعار معين.
+ * @ColumnInfo: يربط كل حقل باسم العمود المقابل في جدول notifications.
+ */
+public class NotificationListItem {
+
+    @NonNull
+    @ColumnInfo(name = "id")
+    private String id;
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "short_description")
+    private String shortDescription;
+
+    @ColumnInfo(name = "image_url")
+    private String imageUrl;
+
+    @ColumnInfo(name = "read_status")
+    private String readStatus;
+
+    @ColumnInfo(name = "priority")
+    private String priority;
+
+    @ColumnInfo(name = "sent_at")
+    private long sentAt; // NOT NULL in the table (0 when the server sent no time)
+
+    // Constructor used by Room to build rows from the projection query
+    public NotificationListItem(@NonNull String id, String title, String shortDescription, String imageUrl,
+                                String readStatus, String priority, long sentAt) {
+        this.id = id;
+        this.title = title;
+        this.shortDescription = shortDescription;
+        this.imageUrl = imageUrl;
+        this.readStatus = readStatus;
+        this.priority = priority;
+        this.sentAt = sentAt;
+    }
+
+    // Getters
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getShortDescription() {
+        return shortDescription;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getReadStatus() {
+        return readStatus;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    // equals/hashCode are used by DiffUtil and distinctUntilChanged to skip unchanged rows
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NotificationListItem)) return false;
+        NotificationListItem that = (NotificationListItem) o;
+        return id.equals(that.id)
+                && Objects.equals(title, that.title)
+                && Objects.equals(shortDescription, that.shortDescription)
+                && Objects.equals(imageUrl, that.imageUrl)
+                && Objects.equals(readStatus, that.readStatus)
+                && Objects.equals(priority, that.priority)
+                && sentAt == that.sentAt;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, shortDescription, imageUrl, readStatus, priority, sentAt);
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationListItem{" +
+                "id='" + id + '\'' +
+                ", title='" + title + '\'' +
+                ", readStatus='" + readStatus + '\'' +
+                ", sentAt=" + sentAt +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.devpal.newbase.Models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * NotificationReadOutbox: Pending "mark as read" operation waiting to be sent to the server.
+ * The notification is already marked as read locally; SyncWorker sends all pending ids in one
+ * batched request and then removes them from this table.
+ * notification_id is the primary key, so marking the same notification several times is coalesced
+ * into a single pending row (inserted with OnConflictStrategy.IGNORE).
+ */
+@Entity(tableName = "notification_read_outbox")
+public class NotificationReadOutbox {
+
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "notification_id")
+    private String notificationId;
+
+    @ColumnInfo(name = "queued_at")
+    private long queuedAt; // Timestamp (millis) when the operation was queued
+
+    public NotificationReadOutbox(@NonNull String notificationId, long queuedAt) {
+        this.notificationId = notificationId;
+        this.queuedAt = queuedAt;
+    }
+
+    // Getters and Setters
+
+    @NonNull
+    public String getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(@NonNull String notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(long queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationReadOutbox{" +
+                "notificationId='" + notificationId + '\'' +
+                ", queuedAt=" + queuedAt +
+                '}';
+    }
+}
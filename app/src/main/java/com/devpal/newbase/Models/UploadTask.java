@@ -0,0 +1,199 @@
+package com.devpal.newbase.Models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * UploadTask: A file upload handled by UploadWorker, persisted so it survives process death.
+ * The file is sent in fixed-size chunks; next_chunk_index is advanced after every chunk the server
+ * accepts, so a retried or restarted worker resumes from the first chunk not yet uploaded
+ * instead of sending the whole file again.
+ * Indexed on status to find unfinished uploads quickly.
+ */
+@Entity(tableName = "upload_tasks",
+        indices = {@Index("status")})
+public class UploadTask {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_UPLOADING = "uploading";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_FAILED = "failed";
+
+    public static final String PURPOSE_PROFILE_PICTURE = "profile_picture";
+    public static final String PURPOSE_ATTACHMENT = "attachment";
+
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "id")
+    private String id; // Local id (UUID), also used as the unique WorkManager work name
+
+    @ColumnInfo(name = "file_path")
+    private String filePath; // Absolute path of the file on disk
+
+    @ColumnInfo(name = "mime_type")
+    private String mimeType;
+
+    @ColumnInfo(name = "purpose")
+    private String purpose; // e.g., "profile_picture", "attachment"
+
+    @ColumnInfo(name = "total_bytes")
+    private long totalBytes;
+
+    @ColumnInfo(name = "chunk_size")
+    private int chunkSize; // Fixed when the task is created so resumed uploads keep the same chunk boundaries
+
+    @ColumnInfo(name = "next_chunk_index")
+    private int nextChunkIndex; // First chunk not yet accepted by the server
+
+    @ColumnInfo(name = "remote_upload_id")
+    private String remoteUploadId; // Upload session id returned by the server (null until initialised)
+
+    @ColumnInfo(name = "status")
+    private String status;
+
+    @ColumnInfo(name = "result_url")
+    private String resultUrl; // Final file URL returned by the server when the upload completes
+
+    @ColumnInfo(name = "created_at")
+    private long createdAt;
+
+    @ColumnInfo(name = "updated_at")
+    private long updatedAt;
+
+    public UploadTask(@NonNull String id, String filePath, String mimeType, String purpose,
+                      long totalBytes, int chunkSize, long createdAt) {
+        this.id = id;
+        this.filePath = filePath;
+        this.mimeType = mimeType;
+        this.purpose = purpose;
+        this.totalBytes = totalBytes;
+        this.chunkSize = chunkSize;
+        this.nextChunkIndex = 0;
+        this.status = STATUS_PENDING;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Number of chunks needed for the whole file (at least 1, so empty files still complete).
+     */
+    public int getTotalChunks() {
+        if (totalBytes <= 0) {
+            return 1;
+        }
+        return (int) ((totalBytes + chunkSize - 1) / chunkSize);
+    }
+
+    // Getters and Setters
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    public void setId(@NonNull String id) {
+        this.id = id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getNextChunkIndex() {
+        return nextChunkIndex;
+    }
+
+    public void setNextChunkIndex(int nextChunkIndex) {
+        this.nextChunkIndex = nextChunkIndex;
+    }
+
+    public String getRemoteUploadId() {
+        return remoteUploadId;
+    }
+
+    public void setRemoteUploadId(String remoteUploadId) {
+        this.remoteUploadId = remoteUploadId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getResultUrl() {
+        return resultUrl;
+    }
+
+    public void setResultUrl(String resultUrl) {
+        this.resultUrl = resultUrl;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadTask{" +
+                "id='" + id + '\'' +
+                ", purpose='" + purpose + '\'' +
+                ", totalBytes=" + totalBytes +
+                ", nextChunkIndex=" + nextChunkIndex +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
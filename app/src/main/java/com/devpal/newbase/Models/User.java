@@ -4,17 +4,26 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 /**
  * User: Data model to represent a user object.
  * @Entity: Used to define this class as an entity (table) in the Room database.
  * tableName: The name of the table to be created in the database.
  * @ColumnInfo: Used to define column names in the database.
  * @Ignore: Used to tell Room to ignore a specific constructor or method.
+ * indices: Lookups by email and username use these indices instead of scanning the table.
+ * Any change here needs a matching Migration in AppMigrations.
  */
-@Entity(tableName = "users")
+@Entity(tableName = "users",
+        indices = {
+                @Index(value = {"email"}),
+                @Index(value = {"username"})
+        })
 public class User {
 
     @PrimaryKey
@@ -166,6 +175,15 @@ public class User {
     @Ignore // This field is for API response, not for Room DB
     private String token;
 
+    // Refresh token and access-token lifetime (seconds) returned with the login response; not stored in Room
+    @SerializedName("refresh_token")
+    @Ignore
+    private String refreshToken;
+
+    @SerializedName("expires_in")
+    @Ignore
+    private Long expiresIn;
+
     // Default constructor for Room to read from DB
     public User() {
     }
@@ -522,6 +540,75 @@ public class User {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    // equals/hashCode compare the persisted columns only (token is not stored in Room),
+    // so reactive streams can drop emissions when the stored user did not actually change.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof User)) return false;
+        User that = (User) o;
+        return Objects.equals(id, that.id)
+                && Objects.equals(username, that.username)
+                && Objects.equals(email, that.email)
+                && Objects.equals(passwordHash, that.passwordHash)
+                && Objects.equals(firstName, that.firstName)
+                && Objects.equals(lastName, that.lastName)
+                && Objects.equals(phoneNumber, that.phoneNumber)
+                && Objects.equals(profilePictureUrl, that.profilePictureUrl)
+                && Objects.equals(bio, that.bio)
+                && Objects.equals(streetAddress, that.streetAddress)
+                && Objects.equals(city, that.city)
+                && Objects.equals(stateProvince, that.stateProvince)
+                && Objects.equals(zipPostalCode, that.zipPostalCode)
+                && Objects.equals(country, that.country)
+                && loginAttempts == that.loginAttempts
+                && Objects.equals(lockedUntil, that.lockedUntil)
+                && Objects.equals(accountStatus, that.accountStatus)
+                && isEmailVerified == that.isEmailVerified
+                && Objects.equals(emailVerifiedAt, that.emailVerifiedAt)
+                && isPhoneVerified == that.isPhoneVerified
+                && Objects.equals(phoneVerifiedAt, that.phoneVerifiedAt)
+                && twoFactorEnabled == that.twoFactorEnabled
+                && Objects.equals(twoFactorSecret, that.twoFactorSecret)
+                && Objects.equals(locale, that.locale)
+                && roleId == that.roleId
+                && Objects.equals(lastLoginAt, that.lastLoginAt)
+                && Objects.equals(lastActivityAt, that.lastActivityAt)
+                && consentToTerms == that.consentToTerms
+                && consentToMarketing == that.consentToMarketing
+                && Objects.equals(createdBy, that.createdBy)
+                && Objects.equals(metadata, that.metadata)
+                && Objects.equals(createdAt, that.createdAt)
+                && Objects.equals(updatedAt, that.updatedAt)
+                && Objects.equals(deletedAt, that.deletedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, username, email, passwordHash, firstName, lastName, phoneNumber, profilePictureUrl,
+                bio, streetAddress, city, stateProvince, zipPostalCode, country, loginAttempts,
+                lockedUntil, accountStatus, isEmailVerified, emailVerifiedAt, isPhoneVerified,
+                phoneVerifiedAt, twoFactorEnabled, twoFactorSecret, locale, roleId, lastLoginAt,
+                lastActivityAt, consentToTerms, consentToMarketing, createdBy, metadata, createdAt,
+                updatedAt, deletedAt);
+    }
+
     @Override
     public String toString() {
         return "User{" +
@@ -1,83 +1,152 @@
 package com.devpal.newbase.Network;
 
-//import com.devpal.newbase.BuildConfig;
+import com.devpal.newbase.BuildConfig;
+import com.devpal.newbase.Network.auth.AuthInterceptor;
+import com.devpal.newbase.Network.auth.TokenAuthenticator;
+import com.devpal.newbase.Network.converters.NegotiatingConverterFactory;
+import com.devpal.newbase.Network.interceptors.GzipRequestInterceptor;
+import com.devpal.newbase.Network.interceptors.NetworkTraceInterceptor;
+import com.devpal.newbase.Network.interceptors.PayloadSizeTracker;
 import com.devpal.newbase.utils.AppLogger; // سيتم إنشاء هذا لاحقًا
 
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
-import okhttp3.Interceptor;
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.brotli.BrotliInterceptor;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
-import retrofit2.converter.gson.GsonConverterFactory;
+
 
 /**
- * ApiClient: كلاس يقوم بتهيئة وتوفير مثيل واحد (Singleton) لـ Retrofit و OkHttpClient.
- * مسؤول عن إعدادات الشبكة مثل BASE_URL، مهلات الاتصال، والمُعترضات (Interceptors).
+ * ApiClient: كلاس يقوم بإنشاء OkHttpClient و Retrofit بإعدادات الشبكة الموحدة للتطبيق
+ * (BASE_URL، مهلات الاتصال، الـ Cache، حدود الاتصالات، ضغط gzip/brotli، والمُعترضات Interceptors).
+ *
+ * لا يحتفظ هذا الكلاس بأي مثيل؛ المثيل الوحيد المشترك يوفره Hilt في AppModule (@Singleton)
+ * ويعاد استخدامه في Retrofit و Glide وأي عميل مستقبلي عبر newBuilder()، فتتشارك جميعها
+ * نفس ConnectionPool و Dispatcher بدلاً من فتح اتصالات موازية إلى نفس الخادم.
  */
 public class ApiClient {
 
     private static final String TAG = "ApiClient";
-    private static Retrofit retrofit = null;
+
+    // اسم (@Named) العميل الأساسي بدون مصادقة؛ يُستخدم فقط لطلب تجديد الرمز
+    public static final String UNAUTHENTICATED_CLIENT = "unauthenticated";
+
+    // --- إعدادات الشبكة ---
+    private static final String HTTP_CACHE_DIR = "http_cache"; // مجلد الـ Cache داخل cacheDir
+    private static final long HTTP_CACHE_SIZE_BYTES = 20L * 1024 * 1024; // 20 ميجابايت كحد أقصى
+    private static final int MAX_IDLE_CONNECTIONS = 5; // عدد الاتصالات الخاملة المحتفظ بها لإعادة الاستخدام
+    private static final long KEEP_ALIVE_MINUTES = 5; // مدة الاحتفاظ بالاتصال الخامل
+    private static final int MAX_REQUESTS = 32; // الحد الأقصى للطلبات المتزامنة لجميع الخوادم
+    private static final int MAX_REQUESTS_PER_HOST = 8; // HTTP/2 يدمج الطلبات في اتصال واحد لكل خادم
+    private static final long TIMEOUT_SECONDS = 30;
 
     /**
-     * يحصل على مثيل Retrofit.
-     * إذا لم يكن هناك مثيل موجود، يقوم بإنشائه وتهيئته.
+     * ينشئ Cache الـ HTTP على القرص. يوفره AppModule كمثيل واحد حتى يمكن مسحه عند تسجيل الخروج
+     * (UserRepository.logoutUser)، لأن الاستجابات الموثقة مخزنة حسب الرابط فقط وليس حسب المستخدم.
      *
-     * @return مثيل Retrofit.
+     * @param cacheDir مجلد الـ Cache الخاص بالتطبيق (context.getCacheDir()).
+     * @return Cache محدود بـ HTTP_CACHE_SIZE_BYTES.
      */
-    public static Retrofit getClient() {
-        if (retrofit == null) {
-            // 1. إعداد HttpLoggingInterceptor: لتسجيل طلبات واستجابات الشبكة.
-            // يكون مفيدًا جدًا في وضع التطوير (DEBUG) لتتبع مشاكل الشبكة.
+    public static Cache createHttpCache(File cacheDir) {
+        return new Cache(new File(cacheDir, HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES);
+    }
+
+    /**
+     * ينشئ OkHttpClient الأساسي للتطبيق (بدون مصادقة).
+     * يُستدعى مرة واحدة فقط من AppModule، ثم يُبنى عليه العميل الموثق عبر createAuthenticatedClient.
+     *
+     * @param httpCache Cache الـ HTTP المشترك من createHttpCache.
+     * @param traceInterceptor مُعترض تتبع الطلبات منخفض التكلفة (يعمل في جميع البنيات).
+     * @param payloadSizeTracker يسجل أحجام الاستجابات قبل فك الضغط وبعده ويراقب حدودها.
+     * @return OkHttpClient مُهيأ.
+     */
+    public static OkHttpClient createOkHttpClient(Cache httpCache, NetworkTraceInterceptor traceInterceptor,
+                                                  PayloadSizeTracker payloadSizeTracker) {
+        // 1. حدود Dispatcher: تمنع إغراق الشبكة عند تنفيذ طلبات كثيرة في نفس الوقت
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        // 2. إعداد OkHttpClient: العميل الذي يقوم بإنشاء طلبات HTTP.
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .cache(httpCache) // Cache على القرص يحترم رؤوس Cache-Control
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)) // تفضيل HTTP/2 مع الرجوع إلى HTTP/1.1
+                .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS) // مهلة الاتصال بالخادم
+                .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)    // مهلة قراءة البيانات من الخادم
+                .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)   // مهلة إرسال البيانات إلى الخادم
+                .addInterceptor(traceInterceptor) // تسجيل الطريقة والمسار والحالة والحجم والمدة فقط
+                // الحجم بعد فك الضغط: يجب أن يكون قبل (خارج) BrotliInterceptor
+                .addInterceptor(payloadSizeTracker.decodedInterceptor())
+                // يطلب "Accept-Encoding: br,gzip" ويفك ضغط الاستجابة حسب Content-Encoding
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                // ضغط أجسام الطلبات بـ gzip لنقاط النهاية التي تطلبه صراحةً فقط
+                .addInterceptor(new GzipRequestInterceptor())
+                // الحجم كما وصل عبر الشبكة (مضغوطًا)، ومقارنته بالحد المسموح
+                .addNetworkInterceptor(payloadSizeTracker.wireInterceptor());
+
+        // 3. HttpLoggingInterceptor بمستوى BODY في وضع التطوير فقط:
+        // يقوم بتخزين وتحويل كل جسم طلب واستجابة إلى نص، وهو مكلف جدًا في الذاكرة والمعالج.
+        if (BuildConfig.DEBUG) {
             HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-            // تعيين مستوى التسجيل للجسم الكامل للطلب والاستجابة
             loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+            builder.addInterceptor(loggingInterceptor);
+        }
 
-            // 2. إعداد OkHttpClient: العميل الذي يقوم بإنشاء طلبات HTTP.
-            // هنا نضبط مهلات الاتصال ونضيف المُعترضات.
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                    .connectTimeout(30, TimeUnit.SECONDS) // مهلة الاتصال بالخادم
-                    .readTimeout(30, TimeUnit.SECONDS)    // مهلة قراءة البيانات من الخادم
-                    .writeTimeout(30, TimeUnit.SECONDS)   // مهلة إرسال البيانات إلى الخادم
-                    .addInterceptor(loggingInterceptor)   // إضافة مُعترض التسجيل
-                    // .addInterceptor(createAuthInterceptor()) // يمكن إضافة مُعترض للمصادقة لاحقًا
-                    .build();
-
-            // 3. بناء مثيل Retrofit: يربط OkHttpClient بـ BASE_URL ومعالجات البيانات.
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(Endpoints.BASE_URL) // استخدام BASE_URL من كلاس Endpoints
-                    .addCallAdapterFactory(RxJava2CallAdapterFactory.create()) // دعم RxJava
-                    .addConverterFactory(GsonConverterFactory.create()) // دعم تحويل JSON باستخدام Gson
-                    .client(okHttpClient) // ربط OkHttpClient المُهيأ
-                    .build();
-
-            AppLogger.d(TAG, "Retrofit client initialized with Base URL: " + Endpoints.BASE_URL);
+        OkHttpClient okHttpClient = builder.build();
 
-        }
+        AppLogger.d(TAG, "OkHttpClient initialized with a " + HTTP_CACHE_SIZE_BYTES + " bytes HTTP cache.");
+        return okHttpClient;
+    }
+
+    /**
+     * ينشئ مثيل Retrofit يربط Call.Factory بـ BASE_URL ومعالجات البيانات.
+     * createAsync(): يتم تنفيذ الطلبات عبر Dispatcher الخاص بـ OkHttp، فتُطبق حدود التزامن
+     * على جميع استدعاءات ApiService (لكل أولوية على حدة عند استخدام PriorityCallFactory).
+     *
+     * @param callFactory PriorityCallFactory لـ ApiService، أو OkHttpClient مباشرة (مثل AuthApi).
+     * @param gson مثيل Gson المشترك (AppGson) مع المحولات المكتوبة يدويًا.
+     * @return مثيل Retrofit.
+     */
+    public static Retrofit createRetrofit(Call.Factory callFactory, Gson gson) {
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(Endpoints.BASE_URL) // استخدام BASE_URL من كلاس Endpoints
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.createAsync()) // دعم RxJava
+                .addConverterFactory(NegotiatingConverterFactory.create(gson)) // JSON أو CBOR حسب Content-Type، بنفس Gson المشترك
+                .callFactory(callFactory) // PriorityCallFactory أو OkHttpClient المُهيأ
+                .build();
+
+        AppLogger.d(TAG, "Retrofit client initialized with Base URL: " + Endpoints.BASE_URL);
         return retrofit;
     }
 
     /**
-     * (اختياري) دالة لإنشاء مُعترض للمصادقة.
-     * يمكن استخدام هذا المُعترض لإضافة رموز المصادقة (مثل Bearer Token) إلى كل طلب.
-     * ستحتاج إلى الوصول إلى SessionManager هنا.
+     * يبني العميل الموثق من العميل الأساسي عبر newBuilder()، فيتشاركان نفس ConnectionPool و Dispatcher و Cache.
+     * العميل الأساسي (UNAUTHENTICATED_CLIENT) يبقى بدون مصادقة ويُستخدم لطلب تجديد الرمز (AuthApi).
+     *
+     * @param baseClient العميل الأساسي من createOkHttpClient.
+     * @param authInterceptor يضيف رأس Authorization من الرموز في الذاكرة.
+     * @param tokenAuthenticator يجدد الرمز عند 401 ويعيد إرسال الطلب.
+     * @return OkHttpClient الموثق المستخدم في ApiService و Glide.
      */
-    private static Interceptor createAuthInterceptor() {
-        return chain -> {
-            // يمكن هنا الحصول على Token المصادقة من SessionManager
-            // String authToken = SessionManager.getToken(); // تتطلب حقن SessionManager
-            AppLogger.d(TAG, "Adding Authorization Header (Placeholder)");
-
-            // بناء الطلب الجديد مع إضافة رأس المصادقة
-            okhttp3.Request.Builder requestBuilder = chain.request().newBuilder();
-            // if (authToken != null) {
-            //     requestBuilder.addHeader("Authorization", "Bearer " + authToken);
-            // }
-
-            return chain.proceed(requestBuilder.build());
-        };
+    public static OkHttpClient createAuthenticatedClient(OkHttpClient baseClient, AuthInterceptor authInterceptor,
+                                                         TokenAuthenticator tokenAuthenticator) {
+        return baseClient.newBuilder()
+                .addInterceptor(authInterceptor)
+                .authenticator(tokenAuthenticator)
+                .build();
     }
 
     // بناء كلاس ApiClient لا يمكن إنشاء مثيل منه (Non-instantiable)
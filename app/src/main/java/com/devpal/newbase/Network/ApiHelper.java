@@ -1,30 +1,41 @@
 package com.devpal.newbase.Network;
 
-import android.content.Context;
+import android.os.SystemClock;
 
+import com.devpal.newbase.Network.priority.RequestPriority;
+import com.devpal.newbase.Network.resilience.CircuitBreaker;
+import com.devpal.newbase.Network.resilience.CircuitBreakerRegistry;
+import com.devpal.newbase.Network.resilience.RetryPolicy;
+import com.devpal.newbase.Network.streaming.JsonArrayStreamReader;
 import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.exceptions.CircuitOpenException;
 import com.devpal.newbase.exceptions.NoInternetException;
+import com.devpal.newbase.managers.ConnectivityMonitor;
 import com.devpal.newbase.Models.Notification;
 import com.devpal.newbase.Models.User;
+import com.devpal.newbase.request.MarkNotificationsReadRequest;
+import com.devpal.newbase.request.UploadInitRequest;
 import com.devpal.newbase.response.ApiResponse;
 import com.devpal.newbase.response.BaseResponse;
+import com.devpal.newbase.response.NotificationDeltaResponse;
+import com.devpal.newbase.response.UploadSessionResponse;
 import com.devpal.newbase.utils.AppLogger;
-import com.devpal.newbase.utils.InternetUtils;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
+import com.google.gson.Gson;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject; // For Dagger Hilt injection
 import javax.inject.Singleton; // For Dagger Hilt singleton scope
 
 import io.reactivex.Single;
 
-import io.reactivex.schedulers.Schedulers;
-import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.exceptions.CompositeException;
-
-
+import okhttp3.RequestBody;
 
 /**
  * ApiHelper: كلاس مساعد يغلف استدعاءات ApiService.
@@ -33,7 +44,7 @@ import io.reactivex.exceptions.CompositeException;
  * - معالجة الأخطاء العامة (مثل عدم وجود إنترنت، مهلة الاتصال، أخطاء API).
  * - تبسيط الواجهة للتعامل مع البيانات.
  *
- * يستخدم Dagger Hilt لحقن ApiService و Context.
+ * يستخدم Dagger Hilt لحقن ApiService و ConnectivityMonitor.
  * @Singleton: يضمن وجود مثيل واحد فقط من هذا الكلاس طوال دورة حياة التطبيق.
  */
 @Singleton
@@ -41,17 +52,37 @@ public class ApiHelper {
 
     private static final String TAG = "ApiHelper";
     private final ApiService apiService; // Retrofit's API interface
-    private final Context context; // Application context for internet check
+    private final ConnectivityMonitor connectivityMonitor; // حالة الشبكة المخزنة (بدون استدعاء النظام لكل طلب)
+    private final RetryPolicy retryPolicy; // إعادة المحاولة لطلبات GET عند الأخطاء المؤقتة
+    private final CircuitBreakerRegistry circuitBreakers; // Circuit Breaker لكل نقطة نهاية
+
+    // نافذة قصيرة لإعادة استخدام نتيجة ناجحة لطلبات GET المتكررة عند فتح عدة شاشات معًا
+    static final long SHORT_MEMO_TTL_MILLIS = 2_000;
+
+    private final SchedulerProvider schedulers; // io() و network() و computation() فقط؛ لا ينتقل ApiHelper إلى الخيط الرئيسي أبدًا
+    private final Gson gson; // مثيل Gson المشترك، يُستخدم لقراءة الاستجابات التدفقية (Streaming)
+
+    // الطلبات الجارية (Single-flight) والنتائج المحفوظة مؤقتًا، حسب مفتاح الطلب (الطريقة + المسار + المعاملات)
+    private final ConcurrentHashMap<String, SharedCall<?>> sharedCalls = new ConcurrentHashMap<>();
 
     /**
-     * مُنشئ (Constructor) يقوم بحقن التبعيات (ApiService و Context) بواسطة Dagger Hilt.
+     * مُنشئ (Constructor) يقوم بحقن التبعيات (ApiService و ConnectivityMonitor) بواسطة Dagger Hilt.
      * @param apiService مثيل ApiService الذي تم حقنه.
-     * @param context سياق التطبيق الذي تم حقنه.
+     * @param connectivityMonitor مراقب حالة الشبكة.
+     * @param retryPolicy سياسة إعادة المحاولة لطلبات GET.
+     * @param circuitBreakers سجل الـ Circuit Breakers لكل نقطة نهاية.
+     * @param gson مثيل Gson المشترك (AppGson).
+     * @param schedulers مصدر Schedulers الخاصة بـ RxJava.
      */
     @Inject
-    public ApiHelper(ApiService apiService, Context context) {
+    public ApiHelper(ApiService apiService, ConnectivityMonitor connectivityMonitor, RetryPolicy retryPolicy,
+                     CircuitBreakerRegistry circuitBreakers, Gson gson, SchedulerProvider schedulers) {
         this.apiService = apiService;
-        this.context = context;
+        this.connectivityMonitor = connectivityMonitor;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreakers = circuitBreakers;
+        this.gson = gson;
+        this.schedulers = schedulers;
         AppLogger.d(TAG, "ApiHelper initialized.");
     }
 
@@ -61,7 +92,7 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع User.
      */
     public Single<ApiResponse<User>> loginUser(User loginRequest) {
-        return handleApiCall(apiService.loginUser(loginRequest));
+        return handleApiCall(Endpoints.LOGIN, apiService.loginUser(loginRequest));
     }
 
     /**
@@ -70,7 +101,7 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> registerUser(User registerRequest) {
-        return handleApiCall(apiService.registerUser(registerRequest));
+        return handleApiCall(Endpoints.REGISTER, apiService.registerUser(registerRequest));
     }
 
     /**
@@ -79,15 +110,26 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> forgotPassword(String email) {
-        return handleApiCall(apiService.forgotPassword(email));
+        return handleApiCall(Endpoints.FORGOT_PASSWORD, apiService.forgotPassword(email));
     }
 
     /**
-     * ينفذ طلب GET بشكل موحد لـ getUserProfile.
+     * ينفذ طلب GET بشكل موحد لـ getUserProfile بأولوية INTERACTIVE (شاشة ينتظرها المستخدم).
      * @return Single يحتوي على ApiResponse من نوع User.
      */
     public Single<ApiResponse<User>> getUserProfile() {
-        return handleApiCall(apiService.getUserProfile());
+        return getUserProfile(RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * ينفذ طلب GET بشكل موحد لـ getUserProfile بالأولوية المحددة (مثلاً BACKGROUND من SyncWorker).
+     * الأولوية جزء من مفتاح الطلب المشترك، فلا ينتظر طلب INTERACTIVE طلبًا جاريًا بأولوية BACKGROUND.
+     * @param priority أولوية الطلب.
+     * @return Single يحتوي على ApiResponse من نوع User.
+     */
+    public Single<ApiResponse<User>> getUserProfile(RequestPriority priority) {
+        return handleSharedApiCall(Endpoints.GET_USER_PROFILE, "GET " + Endpoints.GET_USER_PROFILE + " " + priority,
+                SHORT_MEMO_TTL_MILLIS, apiService.getUserProfile(priority));
     }
 
     /**
@@ -96,7 +138,8 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> updateUserProfile(User userProfile) {
-        return handleApiCall(apiService.updateUserProfile(userProfile));
+        return handleApiCall(Endpoints.UPDATE_USER_PROFILE, apiService.updateUserProfile(userProfile))
+                .doOnSuccess(response -> invalidateSharedCalls("GET " + Endpoints.GET_USER_PROFILE));
     }
 
     /**
@@ -104,7 +147,47 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع قائمة Notifications.
      */
     public Single<ApiResponse<List<Notification>>> getNotifications() {
-        return handleApiCall(apiService.getNotifications());
+        return handleSharedApiCall(Endpoints.GET_NOTIFICATIONS, "GET " + Endpoints.GET_NOTIFICATIONS, SHORT_MEMO_TTL_MILLIS,
+                apiService.getNotifications());
+    }
+
+    /**
+     * ينفذ طلب GET لقائمة الإشعارات مع تحليل الجسم تدفقيًا (Streaming) بدلاً من تحويله كاملاً.
+     * التحليل يتم على Scheduler الحساب (computation)، والدفعات تُسلم إلى consumer بحجم batchSize
+     * على نفس الخيط؛ على consumer نقل أي كتابة في Room إلى dbWrite() وانتظارها قبل الدفعة التالية.
+     * @param batchSize عدد الإشعارات في كل دفعة.
+     * @param consumer مستقبل الدفعات (مثلاً كتابتها في Room).
+     * @return Single يحتوي على ApiResponse بعدد الإشعارات المقروءة.
+     */
+    public Single<ApiResponse<Integer>> streamNotifications(int batchSize,
+                                                            JsonArrayStreamReader.BatchConsumer<Notification> consumer) {
+        JsonArrayStreamReader<Notification> reader = new JsonArrayStreamReader<>(gson, Notification.class, batchSize);
+        return handleApiCall(Endpoints.GET_NOTIFICATIONS, true, apiService.streamNotifications()
+                .observeOn(schedulers.computation()) // لا نحجز خيط OkHttp Dispatcher أثناء التحليل
+                .map(body -> reader.read(body, consumer)));
+    }
+
+    /**
+     * ينفذ طلب GET بشكل موحد لصفحة واحدة من الإشعارات (Cursor Pagination).
+     * @param beforeSentAt قيمة sent_at لآخر إشعار تم استلامه، أو null للصفحة الأولى.
+     * @param beforeId معرف آخر إشعار تم استلامه، أو null للصفحة الأولى.
+     * @param limit عدد الإشعارات المطلوبة.
+     * @return Single يحتوي على ApiResponse من نوع قائمة Notifications.
+     */
+    public Single<ApiResponse<List<Notification>>> getNotificationsPage(Long beforeSentAt, String beforeId, int limit) {
+        return handleSharedApiCall(Endpoints.GET_NOTIFICATIONS, "GET " + Endpoints.GET_NOTIFICATIONS + "?before_sent_at=" + beforeSentAt
+                        + "&before_id=" + beforeId + "&limit=" + limit, 0,
+                apiService.getNotificationsPage(beforeSentAt, beforeId, limit));
+    }
+
+    /**
+     * ينفذ طلب GET بشكل موحد لـ getNotificationsDelta (المزامنة التزايدية).
+     * @param since أكبر قيمة updated_at مخزنة محليًا.
+     * @return Single يحتوي على ApiResponse من نوع NotificationDeltaResponse.
+     */
+    public Single<ApiResponse<NotificationDeltaResponse>> getNotificationsDelta(long since) {
+        return handleSharedApiCall(Endpoints.GET_NOTIFICATIONS_DELTA, "GET " + Endpoints.GET_NOTIFICATIONS_DELTA + "?since=" + since, 0,
+                apiService.getNotificationsDelta(since));
     }
 
     /**
@@ -113,33 +196,204 @@ public class ApiHelper {
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> markNotificationAsRead(String notificationId) {
-        return handleApiCall(apiService.markNotificationAsRead(notificationId));
+        return handleApiCall(Endpoints.MARK_NOTIFICATION_AS_READ, apiService.markNotificationAsRead(notificationId))
+                .doOnSuccess(response -> invalidateSharedCalls("GET " + Endpoints.GET_NOTIFICATIONS));
+    }
+
+    /**
+     * ينفذ طلب POST بشكل موحد لتعليم عدة إشعارات كمقروءة في طلب واحد.
+     * @param notificationIds معرفات الإشعارات.
+     * @return Single يحتوي على ApiResponse من نوع BaseResponse.
+     */
+    public Single<ApiResponse<BaseResponse>> markNotificationsAsRead(List<String> notificationIds) {
+        return handleApiCall(Endpoints.MARK_NOTIFICATIONS_AS_READ_BATCH,
+                apiService.markNotificationsAsRead(new MarkNotificationsReadRequest(notificationIds)))
+                .doOnSuccess(response -> invalidateSharedCalls("GET " + Endpoints.GET_NOTIFICATIONS));
+    }
+
+    /**
+     * ينفذ طلب POST لبدء (أو استئناف) جلسة رفع ملف مجزأ.
+     * @param request بيانات الملف.
+     * @return Single يحتوي على ApiResponse من نوع UploadSessionResponse.
+     */
+    public Single<ApiResponse<UploadSessionResponse>> initUpload(UploadInitRequest request) {
+        return handleApiCall(Endpoints.UPLOAD_INIT, apiService.initUpload(request));
+    }
+
+    /**
+     * ينفذ طلب PUT لرفع جزء واحد من الملف.
+     * @param uploadId معرف جلسة الرفع.
+     * @param index رقم الجزء.
+     * @param chunk جسم الطلب (FileChunkRequestBody).
+     * @return Single يحتوي على ApiResponse من نوع BaseResponse.
+     */
+    public Single<ApiResponse<BaseResponse>> uploadChunk(String uploadId, int index, RequestBody chunk) {
+        return handleApiCall(Endpoints.UPLOAD_CHUNK, apiService.uploadChunk(uploadId, index, chunk));
+    }
+
+    /**
+     * ينفذ طلب POST لإنهاء جلسة الرفع.
+     * @param uploadId معرف جلسة الرفع.
+     * @return Single يحتوي على ApiResponse من نوع UploadSessionResponse.
+     */
+    public Single<ApiResponse<UploadSessionResponse>> completeUpload(String uploadId) {
+        return handleApiCall(Endpoints.UPLOAD_COMPLETE, apiService.completeUpload(uploadId));
+    }
+
+    /**
+     * يحذف النتائج المحفوظة مؤقتًا التي يبدأ مفتاحها بالبادئة المحددة (بعد عمليات الكتابة).
+     * الطلبات الجارية حاليًا لا تتأثر، لكن الطلب التالي سيذهب إلى الشبكة.
+     * @param keyPrefix بادئة المفتاح (مثل "GET notifications").
+     */
+    public void invalidateSharedCalls(String keyPrefix) {
+        for (Map.Entry<String, SharedCall<?>> entry : sharedCalls.entrySet()) {
+            if (entry.getKey().startsWith(keyPrefix) && entry.getValue().isCompleted()) {
+                sharedCalls.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * يحذف جميع الطلبات المشتركة والنتائج المحفوظة (عند تسجيل الخروج): المفتاح لا يتضمن المستخدم،
+     * فلا يجب أن يستلم المستخدم التالي نتيجة طلب أرسل برمز المستخدم السابق.
+     * المشتركون الحاليون في طلب جارٍ يستلمون نتيجته، لكن أي طلب جديد يذهب إلى الشبكة.
+     */
+    public void clearSharedCalls() {
+        sharedCalls.clear();
+    }
+
+    /**
+     * Single-flight لطلبات GET المتطابقة: إذا كان هناك طلب جارٍ بنفس المفتاح، يشترك المستدعي فيه
+     * ويستلم نفس النتيجة المحللة بدلاً من إرسال طلب جديد إلى الخادم.
+     * بعد النجاح، يمكن الاحتفاظ بالنتيجة لمدة memoTtlMillis (0 = لا حفظ، يُحذف المفتاح فور الانتهاء).
+     * الأخطاء والاستجابات غير الناجحة لا تُحفظ أبدًا.
+     * كل مشترك يستلم نسخته من الاستجابة (copyForSubscriber)، فتعديل قائمة من مستدعٍ لا يظهر لغيره.
+     *
+     * @param endpoint نقطة النهاية (لـ Circuit Breaker).
+     * @param key مفتاح الطلب: الطريقة + المسار + جميع المعاملات.
+     * @param memoTtlMillis مدة إعادة استخدام النتيجة الناجحة بعد اكتمال الطلب.
+     * @param apiCall الـ Single الناتج عن استدعاء دالة من ApiService (لا يُشترك فيه إذا تمت إعادة استخدام طلب آخر).
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Single<ApiResponse<T>> handleSharedApiCall(String endpoint, String key, long memoTtlMillis,
+                                                           Single<ApiResponse<T>> apiCall) {
+        return Single.defer(() -> {
+            long now = SystemClock.elapsedRealtime();
+            SharedCall<?> sharedCall = sharedCalls.compute(key, (k, current) ->
+                    current != null && !current.isExpired(now) ? current : new SharedCall<>(endpoint, k, memoTtlMillis, apiCall));
+            if (sharedCall.isCompleted()) {
+                AppLogger.d(TAG, "Reusing memoized response for " + key);
+            }
+            return ((SharedCall<T>) sharedCall).result.map(ApiHelper::copyForSubscriber);
+        });
+    }
+
+    /**
+     * نسخة من الاستجابة المشتركة لمشترك واحد: القائمة تُنسخ (نسخة سطحية) لأن المستدعين يرتبونها
+     * أو يعدلونها قبل الكتابة في Room؛ العناصر نفسها لا تُنسخ ولا يجب تعديلها.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ApiResponse<T> copyForSubscriber(ApiResponse<T> response) {
+        T data = response.getData();
+        if (data instanceof List) {
+            data = (T) new ArrayList<>((List<?>) data);
+        }
+        return new ApiResponse<>(response.getStatus(), response.getMessage(), data);
+    }
+
+    /**
+     * طلب مشترك واحد: النتيجة تُحفظ عبر cache() ليستلمها جميع المشتركين بدون إعادة التنفيذ.
+     */
+    private final class SharedCall<T> {
+        final Single<ApiResponse<T>> result;
+        // Long.MAX_VALUE أثناء التنفيذ، ثم وقت انتهاء صلاحية النتيجة المحفوظة
+        private volatile long expiresAt = Long.MAX_VALUE;
+        private volatile boolean completed;
+
+        SharedCall(String endpoint, String key, long memoTtlMillis, Single<ApiResponse<T>> apiCall) {
+            this.result = handleApiCall(endpoint, true, apiCall)
+                    .doOnSuccess(response -> {
+                        completed = true;
+                        if (memoTtlMillis > 0 && response.isSuccess()) {
+                            expiresAt = SystemClock.elapsedRealtime() + memoTtlMillis;
+                        } else {
+                            sharedCalls.remove(key, this);
+                        }
+                    })
+                    .doOnError(throwable -> {
+                        completed = true;
+                        sharedCalls.remove(key, this);
+                    })
+                    .cache();
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * handleApiCall لطلب غير Idempotent (POST/PUT): بدون إعادة محاولة تلقائية.
+     */
+    private <T> Single<ApiResponse<T>> handleApiCall(String endpoint, Single<ApiResponse<T>> apiCall) {
+        return handleApiCall(endpoint, false, apiCall);
     }
 
     /**
      * دالة مساعدة لتوحيد معالجة استدعاءات الـ API.
-     * تقوم بالتحقق من الاتصال بالإنترنت، وتطبيق Schedulers لـ RxJava،
+     * تقوم بالتحقق من الاتصال بالإنترنت، وتطبيق Schedulers لـ RxJava (IO فقط، بدون Main thread)،
      * ومعالجة الأخطاء الشائعة (مثل عدم توفر الإنترنت ومهلة الاتصال و ApiException).
      *
+     * - Circuit Breaker لكل نقطة نهاية: إذا كان مفتوحًا يُرفض الطلب فورًا بـ CircuitOpenException
+     *   (بدون شبكة)، فتعرض الـ Repositories النسخة المحلية من Room.
+     * - إعادة المحاولة (RetryPolicy) لطلبات GET فقط، لأن إعادة POST قد تكرر العملية على الخادم.
+     *   كل محاولة تمر عبر الـ Circuit Breaker، فتتوقف إعادة المحاولة إذا انفتح.
+     *
+     * @param endpoint نقطة النهاية (من Endpoints)، تحدد الـ Circuit Breaker المستخدم.
+     * @param idempotent true لطلبات GET التي يمكن إعادتها بأمان.
      * @param apiCall الـ Single الناتج عن استدعاء دالة من ApiService.
      * @param <T> نوع البيانات المتوقع في الاستجابة (داخل ApiResponse).
      * @return Single معالَج جاهز للاشتراك (subscribe) في الواجهة (UI).
      */
-    private <T> Single<ApiResponse<T>> handleApiCall(Single<ApiResponse<T>> apiCall) {
+    private <T> Single<ApiResponse<T>> handleApiCall(String endpoint, boolean idempotent,
+                                                     Single<ApiResponse<T>> apiCall) {
         // التحقق من اتصال الإنترنت قبل محاولة إجراء الطلب
-        if (!InternetUtils.isInternetAvailable(context)) {
+        if (!connectivityMonitor.isConnected()) {
             AppLogger.e(TAG, "No internet connection detected.");
             return Single.error(new NoInternetException());
         }
 
-        return apiCall
-                .subscribeOn(Schedulers.io()) // تنفيذ الطلب في Background thread (IO thread)
-                .observeOn(AndroidSchedulers.mainThread()) // مراقبة النتائج في Main thread (UI thread)
+        CircuitBreaker circuitBreaker = circuitBreakers.forEndpoint(endpoint);
+        Single<ApiResponse<T>> guardedCall = Single.defer(() -> {
+            if (!circuitBreaker.allowRequest()) {
+                return Single.error(new CircuitOpenException(endpoint));
+            }
+            return apiCall
+                    .doOnSuccess(response -> circuitBreaker.onSuccess())
+                    .doOnError(circuitBreaker::onError) // أخطاء 4xx لا تُحسب كفشل
+                    .doOnDispose(circuitBreaker::onCancelled);
+        });
+        if (idempotent) {
+            guardedCall = guardedCall.retryWhen(retryPolicy.retryWhen(endpoint));
+        }
+
+        return guardedCall
+                .subscribeOn(schedulers.io()) // تنفيذ الطلب في Background thread (IO thread)
+                // النتائج تُسلم على Scheduler الشبكة المحدود (وليس خيط OkHttp)، فتعمل flatMap اللاحقة في الـ Repositories
+                // في الخلفية، وكتابات Room فيها تنتقل إلى dbWrite(). الانتقال إلى Main thread يتم في طبقة العرض فقط.
+                .observeOn(schedulers.network())
                 .onErrorResumeNext(throwable -> {
                     // معالجة الأخطاء هنا
                     AppLogger.e(TAG, "API Call Error: " + throwable.getMessage(), throwable);
 
-                    if (throwable instanceof IOException) {
+                    if (throwable instanceof ApiException) {
+                        // أخطاء تمت معالجتها مسبقًا (مثل CircuitOpenException)، تمرر كما هي
+                        return Single.error(throwable);
+                    } else if (throwable instanceof IOException) {
                         // أخطاء الشبكة مثل NoInternetException أو SocketTimeoutException
                         if (throwable instanceof NoInternetException) {
                             return Single.error(throwable); // إذا كان NoInternetException، مرره كما هو
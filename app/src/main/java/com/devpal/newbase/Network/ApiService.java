@@ -2,22 +2,38 @@ package com.devpal.newbase.Network;
 
 import com.devpal.newbase.Models.User; // سيتم إنشاء كلاسات الـ models لاحقًا
 import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Network.converters.WireFormat;
+import com.devpal.newbase.Network.interceptors.GzipRequestInterceptor;
+import com.devpal.newbase.Network.priority.RequestPriority;
+import com.devpal.newbase.request.MarkNotificationsReadRequest;
+import com.devpal.newbase.request.UploadInitRequest;
 import com.devpal.newbase.response.BaseResponse; // سيتم إنشاء كلاسات الـ response لاحقًا
 import com.devpal.newbase.response.ApiResponse;
+import com.devpal.newbase.response.NotificationDeltaResponse;
+import com.devpal.newbase.response.UploadSessionResponse;
 
 import java.util.List;
 
 import io.reactivex.Single;
 
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
+import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import retrofit2.http.Tag;
 
 /**
  * ApiService: واجهة تحدد جميع نقاط نهاية (API Endpoints) التي سيتفاعل معها التطبيق.
  * يستخدم Retrofit لتنفيذ هذه الدوال تلقائيًا بناءً على التعليقات التوضيحية (Annotations).
  * يعيد Single من RxJava2 لتمثيل العمليات غير المتزامنة.
+ * كل نقطة نهاية تحدد أولويتها (RequestPriority) عبر @Headers، أو يحددها المستدعي عبر معامل @Tag
+ * عندما يختلف سياق الطلب، ويوجهها PriorityCallFactory إلى Dispatcher مناسب.
  */
 public interface ApiService {
 
@@ -28,6 +44,7 @@ public interface ApiService {
      * @param loginRequest كائن يحتوي على بيانات تسجيل الدخول (مثل البريد الإلكتروني وكلمة المرور).
      * @return Single يحتوي على ApiResponse من نوع User (بيانات المستخدم بعد تسجيل الدخول).
      */
+    @Headers(RequestPriority.INTERACTIVE_HEADER)
     @POST(Endpoints.LOGIN)
     Single<ApiResponse<User>> loginUser(@Body User loginRequest); // User هنا كمثال، يمكن إنشاء LoginRequestModel
 
@@ -36,6 +53,7 @@ public interface ApiService {
      * @param registerRequest كائن يحتوي على بيانات التسجيل.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse (تأكيد التسجيل).
      */
+    @Headers(RequestPriority.INTERACTIVE_HEADER)
     @POST(Endpoints.REGISTER)
     Single<ApiResponse<BaseResponse>> registerUser(@Body User registerRequest); // User هنا كمثال، يمكن إنشاء RegisterRequestModel
 
@@ -44,6 +62,7 @@ public interface ApiService {
      * @param email البريد الإلكتروني للمستخدم.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
+    @Headers(RequestPriority.INTERACTIVE_HEADER)
     @POST(Endpoints.FORGOT_PASSWORD)
     Single<ApiResponse<BaseResponse>> forgotPassword(@Body String email); // يمكن أن يكون كائن request بدلاً من String
 
@@ -51,16 +70,19 @@ public interface ApiService {
 
     /**
      * الحصول على ملف تعريف المستخدم.
+     * الأولوية يحددها المستدعي (@Tag) لأن نفس الطلب تحتاجه الشاشات (INTERACTIVE) و SyncWorker (BACKGROUND).
+     * @param priority أولوية الطلب في PriorityCallFactory.
      * @return Single يحتوي على ApiResponse من نوع User (بيانات ملف تعريف المستخدم).
      */
     @GET(Endpoints.GET_USER_PROFILE)
-    Single<ApiResponse<User>> getUserProfile();
+    Single<ApiResponse<User>> getUserProfile(@Tag RequestPriority priority);
 
     /**
      * تحديث ملف تعريف المستخدم.
      * @param userProfile كائن User يحتوي على البيانات المحدثة.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse (تأكيد التحديث).
      */
+    @Headers(RequestPriority.INTERACTIVE_HEADER)
     @POST(Endpoints.UPDATE_USER_PROFILE)
     Single<ApiResponse<BaseResponse>> updateUserProfile(@Body User userProfile);
 
@@ -68,19 +90,100 @@ public interface ApiService {
 
     /**
      * الحصول على قائمة الإشعارات للمستخدم.
+     * يطلب CBOR (مفاتيح أقصر وأرقام ثنائية) مع الرجوع إلى JSON إذا لم يدعمه الخادم.
      * @return Single يحتوي على ApiResponse من نوع قائمة Notifications.
      */
+    @Headers({WireFormat.ACCEPT_CBOR_OR_JSON, RequestPriority.INTERACTIVE_HEADER})
     @GET(Endpoints.GET_NOTIFICATIONS)
     Single<ApiResponse<List<Notification>>> getNotifications();
 
+    /**
+     * نفس قائمة الإشعارات كجسم خام بدون تحويل (@Streaming: لا يتم تخزين الجسم في الذاكرة)،
+     * ليتم تحليله عنصرًا بعنصر عبر JsonArrayStreamReader (لذلك يطلب JSON فقط، بدون CBOR).
+     * نفس عنوان getNotifications() الذي قد تُخزن استجابته بصيغة CBOR في Cache الـ HTTP، لذلك:
+     * no-cache يجبر الذهاب إلى الشبكة، و no-store يمنع كتابة هذا الجسم الكبير في الـ Cache.
+     * @return Single يحتوي على ResponseBody.
+     */
+    @Streaming
+    @Headers({"Accept: " + WireFormat.MEDIA_TYPE_JSON, "Cache-Control: no-cache, no-store",
+            RequestPriority.BACKGROUND_HEADER}) // تحميل كامل من SyncWorker
+    @GET(Endpoints.GET_NOTIFICATIONS)
+    Single<ResponseBody> streamNotifications();
+
+    /**
+     * الحصول على صفحة واحدة من الإشعارات باستخدام مؤشر (cursor) بدلاً من القائمة الكاملة.
+     * الصفحة الأولى تُطلب بدون مؤشر (before_sent_at و before_id تساوي null).
+     * @param beforeSentAt قيمة sent_at لآخر إشعار تم استلامه (اختياري).
+     * @param beforeId معرف آخر إشعار تم استلامه (اختياري).
+     * @param limit عدد الإشعارات المطلوبة في الصفحة.
+     * @return Single يحتوي على ApiResponse من نوع قائمة Notifications.
+     */
+    @Headers({WireFormat.ACCEPT_CBOR_OR_JSON, RequestPriority.PREFETCH_HEADER}) // RemoteMediator يحمّل الصفحة التالية قبل الوصول إليها
+    @GET(Endpoints.GET_NOTIFICATIONS)
+    Single<ApiResponse<List<Notification>>> getNotificationsPage(@Query("before_sent_at") Long beforeSentAt,
+                                                                 @Query("before_id") String beforeId,
+                                                                 @Query("limit") int limit);
+
+    /**
+     * الحصول على التغييرات فقط (إشعارات جديدة/معدلة ومعرفات محذوفة) منذ علامة مائية.
+     * @param since أكبر قيمة updated_at مخزنة محليًا.
+     * @return Single يحتوي على ApiResponse من نوع NotificationDeltaResponse.
+     */
+    @Headers({WireFormat.ACCEPT_CBOR_OR_JSON, RequestPriority.BACKGROUND_HEADER})
+    @GET(Endpoints.GET_NOTIFICATIONS_DELTA)
+    Single<ApiResponse<NotificationDeltaResponse>> getNotificationsDelta(@Query("since") long since);
+
     /**
      * وضع علامة على إشعار كـ "مقروء".
      * @param notificationId معرف الإشعار.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
+    @Headers(RequestPriority.INTERACTIVE_HEADER)
     @POST(Endpoints.MARK_NOTIFICATION_AS_READ)
     Single<ApiResponse<BaseResponse>> markNotificationAsRead(@Path("id") String notificationId);
 
+    /**
+     * وضع علامة "مقروء" على عدة إشعارات في طلب واحد.
+     * @param request كائن يحتوي على معرفات الإشعارات.
+     * @return Single يحتوي على ApiResponse من نوع BaseResponse.
+     */
+    @Headers({GzipRequestInterceptor.GZIP_REQUEST, RequestPriority.BACKGROUND_HEADER}) // قائمة المعرفات قد تكون طويلة؛ يرسلها SyncWorker
+    @POST(Endpoints.MARK_NOTIFICATIONS_AS_READ_BATCH)
+    Single<ApiResponse<BaseResponse>> markNotificationsAsRead(@Body MarkNotificationsReadRequest request);
+
+    // ---------------------- Uploads ----------------------
+
+    /**
+     * بدء جلسة رفع ملف مجزأ، أو إرجاع الجلسة الحالية إذا كان client_upload_id معروفًا للخادم.
+     * @param request بيانات الملف (الحجم، النوع، حجم الجزء).
+     * @return Single يحتوي على ApiResponse من نوع UploadSessionResponse.
+     */
+    @Headers(RequestPriority.BACKGROUND_HEADER)
+    @POST(Endpoints.UPLOAD_INIT)
+    Single<ApiResponse<UploadSessionResponse>> initUpload(@Body UploadInitRequest request);
+
+    /**
+     * رفع جزء واحد من الملف كبيانات ثنائية خام (بدون Multipart).
+     * @param uploadId معرف جلسة الرفع.
+     * @param index رقم الجزء (يبدأ من 0).
+     * @param chunk جسم الطلب (عادةً FileChunkRequestBody).
+     * @return Single يحتوي على ApiResponse من نوع BaseResponse.
+     */
+    @Headers(RequestPriority.BACKGROUND_HEADER)
+    @PUT(Endpoints.UPLOAD_CHUNK)
+    Single<ApiResponse<BaseResponse>> uploadChunk(@Path("upload_id") String uploadId,
+                                                  @Path("index") int index,
+                                                  @Body RequestBody chunk);
+
+    /**
+     * إنهاء جلسة الرفع بعد إرسال جميع الأجزاء.
+     * @param uploadId معرف جلسة الرفع.
+     * @return Single يحتوي على ApiResponse من نوع UploadSessionResponse (يحتوي على file_url).
+     */
+    @Headers(RequestPriority.BACKGROUND_HEADER)
+    @POST(Endpoints.UPLOAD_COMPLETE)
+    Single<ApiResponse<UploadSessionResponse>> completeUpload(@Path("upload_id") String uploadId);
+
 
     // ---------------------- Other Examples ----------------------
 
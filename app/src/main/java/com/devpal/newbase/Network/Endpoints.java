@@ -16,6 +16,7 @@ public class Endpoints {
     // روابط نقاط النهاية للمصادقة (Authentication)
     public static final String LOGIN = "auth/login"; // مثال
     public static final String REGISTER = "auth/register"; // مثال
+    public static final String REFRESH_TOKEN = "auth/refresh"; // تجديد رمز الوصول باستخدام refresh_token
     public static final String FORGOT_PASSWORD = "user/forgot_password"; // مثال
 
     // روابط نقاط النهاية للمستخدمين (Users)
@@ -24,5 +25,12 @@ public class Endpoints {
 
     // روابط نقاط النهاية للإشعارات (Notifications)
     public static final String GET_NOTIFICATIONS = "notifications"; // مثال
+    public static final String GET_NOTIFICATIONS_DELTA = "notifications/delta"; // التغييرات فقط منذ علامة مائية (since)
     public static final String MARK_NOTIFICATION_AS_READ = "notifications/mark_read"; // مثال
+    public static final String MARK_NOTIFICATIONS_AS_READ_BATCH = "notifications/mark_read_batch"; // عدة إشعارات في طلب واحد
+
+    // روابط نقاط النهاية لرفع الملفات المجزأ (Chunked Uploads)
+    public static final String UPLOAD_INIT = "uploads/init"; // بدء (أو استئناف) جلسة رفع
+    public static final String UPLOAD_CHUNK = "uploads/{upload_id}/chunks/{index}"; // رفع جزء واحد
+    public static final String UPLOAD_COMPLETE = "uploads/{upload_id}/complete"; // إنهاء الجلسة وتجميع الملف
 }
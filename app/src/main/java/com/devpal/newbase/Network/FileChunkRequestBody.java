@@ -0,0 +1,56 @@
+package com.devpal.newbase.Network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * FileChunkRequestBody: جسم طلب OkHttp يرسل جزءًا محددًا (offset, length) من ملف على القرص.
+ * يتم بث البيانات من الملف مباشرة إلى الاتصال عبر Okio (بمخزن مؤقت صغير)،
+ * بدون تحميل الجزء أو الملف كاملاً في الذاكرة.
+ * يُعاد فتح الملف في كل writeTo حتى يعمل بشكل صحيح إذا أعاد OkHttp إرسال الطلب.
+ */
+public class FileChunkRequestBody extends RequestBody {
+
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final MediaType mediaType;
+
+    public FileChunkRequestBody(File file, long offset, long length, @Nullable MediaType mediaType) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.mediaType = mediaType;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            inputStream.getChannel().position(offset); // القفز إلى بداية الجزء بدون قراءة ما قبله
+            try (Source source = Okio.source(inputStream)) {
+                sink.write(source, length); // يرمي EOFException إذا تغير حجم الملف أثناء الرفع
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devpal.newbase.Network;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.AppGlideModule;
+
+import java.io.InputStream;
+
+import dagger.hilt.EntryPoint;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.EntryPointAccessors;
+import dagger.hilt.components.SingletonComponent;
+import okhttp3.OkHttpClient;
+
+/**
+ * OkHttpGlideModule: يجعل Glide يحمّل الصور عبر OkHttpClient المشترك من AppModule
+ * بدلاً من HttpURLConnection، فتُعاد استخدام نفس الاتصالات (ConnectionPool) و Dispatcher.
+ *
+ * يتم إنشاء العميل عبر newBuilder() مع إزالة الـ Interceptors و HTTP Cache:
+ * Glide لديه Cache خاص به للصور، ولا داعي لتسجيل أجسام الصور الثنائية.
+ */
+@GlideModule
+public final class OkHttpGlideModule extends AppGlideModule {
+
+    /**
+     * EntryPoint: للحصول على OkHttpClient من Hilt داخل كلاس لا يدعم الحقن المباشر.
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent.class)
+    public interface OkHttpClientEntryPoint {
+        OkHttpClient okHttpClient();
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        OkHttpClient sharedClient = EntryPointAccessors
+                .fromApplication(context, OkHttpClientEntryPoint.class)
+                .okHttpClient();
+
+        OkHttpClient.Builder imageClientBuilder = sharedClient.newBuilder().cache(null);
+        imageClientBuilder.interceptors().clear();
+        imageClientBuilder.networkInterceptors().clear();
+
+        registry.replace(GlideUrl.class, InputStream.class,
+                new OkHttpUrlLoader.Factory(imageClientBuilder.build()));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.response.ApiResponse;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * ApiResponseTypeAdapterFactory: ينشئ محولاً لـ ApiResponse&lt;T&gt; لكل نوع T.
+ * يقرأ status و message مباشرة، ويفوّض قراءة data إلى محول T المسجل في Gson
+ * (مثل UserTypeAdapter أو محول القائمة الذي يستخدم NotificationTypeAdapter لكل عنصر).
+ * يُنشئ Gson المحول مرة واحدة لكل نوع ويحفظه، فلا تكلفة انعكاس عند كل استجابة.
+ */
+public final class ApiResponseTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> typeToken) {
+        if (typeToken.getRawType() != ApiResponse.class) {
+            return null;
+        }
+        Type type = typeToken.getType();
+        Type dataType = type instanceof ParameterizedType
+                ? ((ParameterizedType) type).getActualTypeArguments()[0]
+                : Object.class;
+        TypeAdapter<?> dataAdapter = gson.getAdapter(TypeToken.get(dataType));
+        return (TypeAdapter<R>) new ApiResponseTypeAdapter<>(dataAdapter);
+    }
+
+    private static final class ApiResponseTypeAdapter<T> extends TypeAdapter<ApiResponse<T>> {
+
+        private final TypeAdapter<T> dataAdapter;
+
+        ApiResponseTypeAdapter(TypeAdapter<T> dataAdapter) {
+            this.dataAdapter = dataAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, ApiResponse<T> response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("status").value(response.getStatus());
+            out.name("message").value(response.getMessage());
+            if (response.getData() != null) {
+                out.name("data");
+                dataAdapter.write(out, response.getData());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ApiResponse<T> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String status = null;
+            String message = null;
+            T data = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status": status = JsonValues.nextStringOrNull(in); break;
+                    case "message": message = JsonValues.nextStringOrNull(in); break;
+                    case "data": data = dataAdapter.read(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return new ApiResponse<>(status, message, data);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.response.BaseResponse;
+import com.devpal.newbase.response.ErrorResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * AppGson: مثيل Gson الوحيد في التطبيق، مع المحولات المكتوبة يدويًا للنماذج الأكثر استخدامًا.
+ * يوفره Hilt عبر AppModule لـ Retrofit و SessionManager و ApiHelper،
+ * ويُستخدم مباشرة من الأماكن الثابتة (Static) مثل ErrorHandler.
+ * Gson آمن للاستخدام من عدة خيوط، ويحتفظ بالمحولات التي ينشئها، لذلك لا داعي لإنشاء مثيلات جديدة.
+ */
+public final class AppGson {
+
+    private static final Gson SHARED = newBuilder().create();
+
+    private AppGson() {
+    }
+
+    /**
+     * @return مثيل Gson المشترك مع جميع المحولات المسجلة.
+     */
+    public static Gson shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return GsonBuilder مسجل عليه جميع المحولات، لمن يحتاج إعدادات إضافية (مثل الاختبارات).
+     */
+    public static GsonBuilder newBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(User.class, new UserTypeAdapter())
+                .registerTypeAdapter(Notification.class, new NotificationTypeAdapter())
+                .registerTypeAdapter(BaseResponse.class, new BaseResponseTypeAdapter())
+                .registerTypeAdapter(ErrorResponse.class, new ErrorResponseTypeAdapter())
+                .registerTypeAdapterFactory(new ApiResponseTypeAdapterFactory());
+    }
+}
@@ -0,0 +1,47 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.response.BaseResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * BaseResponseTypeAdapter: محول JSON مكتوب يدويًا لـ BaseResponse (status + message).
+ */
+public final class BaseResponseTypeAdapter extends TypeAdapter<BaseResponse> {
+
+    @Override
+    public void write(JsonWriter out, BaseResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("status").value(response.getStatus());
+        out.name("message").value(response.getMessage());
+        out.endObject();
+    }
+
+    @Override
+    public BaseResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        boolean status = false;
+        String message = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "status": status = JsonValues.nextBooleanOrDefault(in, false); break;
+                case "message": message = JsonValues.nextStringOrNull(in); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return new BaseResponse(status, message);
+    }
+}
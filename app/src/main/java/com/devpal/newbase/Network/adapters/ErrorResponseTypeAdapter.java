@@ -0,0 +1,102 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.response.ErrorResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ErrorResponseTypeAdapter: محول JSON مكتوب يدويًا لـ ErrorResponse.
+ * حقل errors (أخطاء التحقق) يُقرأ كـ Map من اسم الحقل إلى قائمة رسائل؛
+ * وتُقبل الرسالة المفردة أيضًا (مثال: "email": "مطلوب") وتُحوّل إلى قائمة من عنصر واحد.
+ */
+public final class ErrorResponseTypeAdapter extends TypeAdapter<ErrorResponse> {
+
+    @Override
+    public void write(JsonWriter out, ErrorResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("code").value(response.getCode());
+        out.name("message").value(response.getMessage());
+        Map<String, List<String>> errors = response.getErrors();
+        if (errors != null) {
+            out.name("errors");
+            out.beginObject();
+            for (Map.Entry<String, List<String>> entry : errors.entrySet()) {
+                out.name(entry.getKey());
+                if (entry.getValue() == null) {
+                    out.nullValue();
+                    continue;
+                }
+                out.beginArray();
+                for (String message : entry.getValue()) {
+                    out.value(message);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+        out.endObject();
+    }
+
+    @Override
+    public ErrorResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ErrorResponse response = new ErrorResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "code": response.setCode(JsonValues.nextIntOrDefault(in, 0)); break;
+                case "message": response.setMessage(JsonValues.nextStringOrNull(in)); break;
+                case "errors": response.setErrors(readErrors(in)); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return response;
+    }
+
+    private static Map<String, List<String>> readErrors(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            List<String> messages = new ArrayList<>();
+            JsonToken token = in.peek();
+            if (token == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    String message = JsonValues.nextStringOrNull(in);
+                    if (message != null) {
+                        messages.add(message);
+                    }
+                }
+                in.endArray();
+            } else if (token == JsonToken.STRING) {
+                messages.add(in.nextString());
+            } else {
+                in.skipValue();
+            }
+            errors.put(field, messages);
+        }
+        in.endObject();
+        return errors;
+    }
+}
@@ -0,0 +1,70 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * JsonValues: دوال قراءة مشتركة لمحولات JSON المكتوبة يدويًا.
+ * تتعامل مع القيم null وتقبل الأشكال التي كان Gson الانعكاسي يقبلها
+ * (مثل الأرقام المرسلة كنصوص، أو القيم المنطقية المرسلة كـ "true" / 1).
+ * الأرقام غير الصالحة تُرفع كـ JsonSyntaxException كما في محولات Gson المدمجة.
+ */
+final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static Long nextLongOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static int nextIntOrDefault(JsonReader in, int defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static boolean nextBooleanOrDefault(JsonReader in, boolean defaultValue) throws IOException {
+        JsonToken token = in.peek();
+        switch (token) {
+            case NULL:
+                in.nextNull();
+                return defaultValue;
+            case BOOLEAN:
+                return in.nextBoolean();
+            case NUMBER:
+                return in.nextDouble() != 0;
+            case STRING:
+                String value = in.nextString();
+                return "true".equalsIgnoreCase(value) || "1".equals(value);
+            default:
+                in.skipValue();
+                return defaultValue;
+        }
+    }
+}
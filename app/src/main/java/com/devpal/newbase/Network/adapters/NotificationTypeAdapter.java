@@ -0,0 +1,79 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.Models.Notification;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * NotificationTypeAdapter: محول JSON مكتوب يدويًا لكائن Notification.
+ * يُستخدم في الاستجابات العادية وفي قراءة الإشعارات التدفقية (Streaming) عنصرًا بعنصر.
+ */
+public final class NotificationTypeAdapter extends TypeAdapter<Notification> {
+
+    @Override
+    public void write(JsonWriter out, Notification notification) throws IOException {
+        if (notification == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(notification.getId());
+        out.name("user_id").value(notification.getUserId());
+        out.name("type").value(notification.getType());
+        out.name("category").value(notification.getCategory());
+        out.name("title").value(notification.getTitle());
+        out.name("body").value(notification.getBody());
+        out.name("short_description").value(notification.getShortDescription());
+        out.name("image_url").value(notification.getImageUrl());
+        out.name("action_type").value(notification.getActionType());
+        out.name("action_value").value(notification.getActionValue());
+        out.name("payload").value(notification.getPayload());
+        out.name("read_status").value(notification.getReadStatus());
+        out.name("priority").value(notification.getPriority());
+        out.name("delivery_channel").value(notification.getDeliveryChannel());
+        out.name("sent_at").value(notification.getSentAt());
+        out.name("delivered_at").value(notification.getDeliveredAt());
+        out.name("created_at").value(notification.getCreatedAt());
+        out.name("updated_at").value(notification.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public Notification read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Notification notification = new Notification();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id": notification.setId(JsonValues.nextStringOrNull(in)); break;
+                case "user_id": notification.setUserId(JsonValues.nextStringOrNull(in)); break;
+                case "type": notification.setType(JsonValues.nextStringOrNull(in)); break;
+                case "category": notification.setCategory(JsonValues.nextStringOrNull(in)); break;
+                case "title": notification.setTitle(JsonValues.nextStringOrNull(in)); break;
+                case "body": notification.setBody(JsonValues.nextStringOrNull(in)); break;
+                case "short_description": notification.setShortDescription(JsonValues.nextStringOrNull(in)); break;
+                case "image_url": notification.setImageUrl(JsonValues.nextStringOrNull(in)); break;
+                case "action_type": notification.setActionType(JsonValues.nextStringOrNull(in)); break;
+                case "action_value": notification.setActionValue(JsonValues.nextStringOrNull(in)); break;
+                case "payload": notification.setPayload(JsonValues.nextStringOrNull(in)); break;
+                case "read_status": notification.setReadStatus(JsonValues.nextStringOrNull(in)); break;
+                case "priority": notification.setPriority(JsonValues.nextStringOrNull(in)); break;
+                case "delivery_channel": notification.setDeliveryChannel(JsonValues.nextStringOrNull(in)); break;
+                case "sent_at": notification.setSentAt(JsonValues.nextLongOrNull(in)); break;
+                case "delivered_at": notification.setDeliveredAt(JsonValues.nextLongOrNull(in)); break;
+                case "created_at": notification.setCreatedAt(JsonValues.nextLongOrNull(in)); break;
+                case "updated_at": notification.setUpdatedAt(JsonValues.nextLongOrNull(in)); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return notification;
+    }
+}
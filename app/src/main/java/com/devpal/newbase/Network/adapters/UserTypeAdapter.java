@@ -0,0 +1,118 @@
+package com.devpal.newbase.Network.adapters;
+
+import com.devpal.newbase.Models.User;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * UserTypeAdapter: محول JSON مكتوب يدويًا لكائن User.
+ * يقرأ ويكتب الحقول مباشرة عبر الـ getters/setters بدلاً من انعكاس Gson (Reflection)،
+ * مع نفس أسماء الحقول المعرفة بـ @SerializedName في الكلاس.
+ * الحقول غير المعروفة تُتجاهل، والقيم null لا تُكتب (مثل سلوك Gson الافتراضي).
+ * token و refresh_token و expires_in تُقرأ من استجابة تسجيل الدخول فقط ولا تُكتب أبدًا: نفس المحول
+ * يكتب المستخدم في SessionManager (KEY_USER_DATA)، والرموز تُحفظ هناك في مفاتيحها الخاصة فقط.
+ */
+public final class UserTypeAdapter extends TypeAdapter<User> {
+
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        if (user == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(user.getId());
+        out.name("username").value(user.getUsername());
+        out.name("email").value(user.getEmail());
+        out.name("password_hash").value(user.getPasswordHash());
+        out.name("first_name").value(user.getFirstName());
+        out.name("last_name").value(user.getLastName());
+        out.name("phone_number").value(user.getPhoneNumber());
+        out.name("profile_picture_url").value(user.getProfilePictureUrl());
+        out.name("bio").value(user.getBio());
+        out.name("street_address").value(user.getStreetAddress());
+        out.name("city").value(user.getCity());
+        out.name("state_province").value(user.getStateProvince());
+        out.name("zip_postal_code").value(user.getZipPostalCode());
+        out.name("country").value(user.getCountry());
+        out.name("login_attempts").value(user.getLoginAttempts());
+        out.name("locked_until").value(user.getLockedUntil());
+        out.name("account_status").value(user.getAccountStatus());
+        out.name("is_email_verified").value(user.isEmailVerified());
+        out.name("email_verified_at").value(user.getEmailVerifiedAt());
+        out.name("is_phone_verified").value(user.isPhoneVerified());
+        out.name("phone_verified_at").value(user.getPhoneVerifiedAt());
+        out.name("two_factor_enabled").value(user.isTwoFactorEnabled());
+        out.name("two_factor_secret").value(user.getTwoFactorSecret());
+        out.name("locale").value(user.getLocale());
+        out.name("role_id").value(user.getRoleId());
+        out.name("last_login_at").value(user.getLastLoginAt());
+        out.name("last_activity_at").value(user.getLastActivityAt());
+        out.name("consent_to_terms").value(user.isConsentToTerms());
+        out.name("consent_to_marketing").value(user.isConsentToMarketing());
+        out.name("created_by").value(user.getCreatedBy());
+        out.name("metadata").value(user.getMetadata());
+        out.name("created_at").value(user.getCreatedAt());
+        out.name("updated_at").value(user.getUpdatedAt());
+        out.name("deleted_at").value(user.getDeletedAt());
+        out.endObject();
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        User user = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id": user.setId(JsonValues.nextStringOrNull(in)); break;
+                case "username": user.setUsername(JsonValues.nextStringOrNull(in)); break;
+                case "email": user.setEmail(JsonValues.nextStringOrNull(in)); break;
+                case "password_hash": user.setPasswordHash(JsonValues.nextStringOrNull(in)); break;
+                case "first_name": user.setFirstName(JsonValues.nextStringOrNull(in)); break;
+                case "last_name": user.setLastName(JsonValues.nextStringOrNull(in)); break;
+                case "phone_number": user.setPhoneNumber(JsonValues.nextStringOrNull(in)); break;
+                case "profile_picture_url": user.setProfilePictureUrl(JsonValues.nextStringOrNull(in)); break;
+                case "bio": user.setBio(JsonValues.nextStringOrNull(in)); break;
+                case "street_address": user.setStreetAddress(JsonValues.nextStringOrNull(in)); break;
+                case "city": user.setCity(JsonValues.nextStringOrNull(in)); break;
+                case "state_province": user.setStateProvince(JsonValues.nextStringOrNull(in)); break;
+                case "zip_postal_code": user.setZipPostalCode(JsonValues.nextStringOrNull(in)); break;
+                case "country": user.setCountry(JsonValues.nextStringOrNull(in)); break;
+                case "login_attempts": user.setLoginAttempts(JsonValues.nextIntOrDefault(in, 0)); break;
+                case "locked_until": user.setLockedUntil(JsonValues.nextLongOrNull(in)); break;
+                case "account_status": user.setAccountStatus(JsonValues.nextStringOrNull(in)); break;
+                case "is_email_verified": user.setEmailVerified(JsonValues.nextBooleanOrDefault(in, false)); break;
+                case "email_verified_at": user.setEmailVerifiedAt(JsonValues.nextLongOrNull(in)); break;
+                case "is_phone_verified": user.setPhoneVerified(JsonValues.nextBooleanOrDefault(in, false)); break;
+                case "phone_verified_at": user.setPhoneVerifiedAt(JsonValues.nextLongOrNull(in)); break;
+                case "two_factor_enabled": user.setTwoFactorEnabled(JsonValues.nextBooleanOrDefault(in, false)); break;
+                case "two_factor_secret": user.setTwoFactorSecret(JsonValues.nextStringOrNull(in)); break;
+                case "locale": user.setLocale(JsonValues.nextStringOrNull(in)); break;
+                case "role_id": user.setRoleId(JsonValues.nextIntOrDefault(in, 0)); break;
+                case "last_login_at": user.setLastLoginAt(JsonValues.nextLongOrNull(in)); break;
+                case "last_activity_at": user.setLastActivityAt(JsonValues.nextLongOrNull(in)); break;
+                case "consent_to_terms": user.setConsentToTerms(JsonValues.nextBooleanOrDefault(in, false)); break;
+                case "consent_to_marketing": user.setConsentToMarketing(JsonValues.nextBooleanOrDefault(in, false)); break;
+                case "created_by": user.setCreatedBy(JsonValues.nextStringOrNull(in)); break;
+                case "metadata": user.setMetadata(JsonValues.nextStringOrNull(in)); break;
+                case "created_at": user.setCreatedAt(JsonValues.nextLongOrNull(in)); break;
+                case "updated_at": user.setUpdatedAt(JsonValues.nextLongOrNull(in)); break;
+                case "deleted_at": user.setDeletedAt(JsonValues.nextLongOrNull(in)); break;
+                case "token": user.setToken(JsonValues.nextStringOrNull(in)); break;
+                case "refresh_token": user.setRefreshToken(JsonValues.nextStringOrNull(in)); break;
+                case "expires_in": user.setExpiresIn(JsonValues.nextLongOrNull(in)); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return user;
+    }
+}
@@ -0,0 +1,21 @@
+package com.devpal.newbase.Network.auth;
+
+import com.devpal.newbase.Network.Endpoints;
+import com.devpal.newbase.request.RefreshTokenRequest;
+import com.devpal.newbase.response.ApiResponse;
+import com.devpal.newbase.response.TokenResponse;
+
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.POST;
+
+/**
+ * AuthApi: نقاط نهاية المصادقة التي تُستدعى من داخل OkHttp (Authenticator و AuthInterceptor).
+ * مبنية على العميل غير الموثق (ApiClient.UNAUTHENTICATED_CLIENT) حتى لا يمر طلب التجديد
+ * عبر AuthInterceptor نفسه، وتستخدم Call متزامنًا لأن OkHttp يستدعي Authenticator على خيطه.
+ */
+public interface AuthApi {
+
+    @POST(Endpoints.REFRESH_TOKEN)
+    Call<ApiResponse<TokenResponse>> refreshToken(@Body RefreshTokenRequest request);
+}
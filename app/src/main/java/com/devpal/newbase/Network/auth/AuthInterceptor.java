@@ -0,0 +1,69 @@
+package com.devpal.newbase.Network.auth;
+
+import androidx.annotation.NonNull;
+
+import com.devpal.newbase.utils.Constants;
+import com.devpal.newbase.utils.SessionManager;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * AuthInterceptor: يضيف "Authorization: Bearer <token>" إلى كل طلب من لقطة الرموز في الذاكرة
+ * (SessionManager.getAuthTokens())، بدون قراءة SharedPreferences لكل طلب.
+ *
+ * - إذا كان الرمز سينتهي خلال AUTH_REFRESH_LEEWAY_MILLIS: يُرسل الطلب بالرمز الحالي ويُطلب تجديد في الخلفية،
+ *   فلا تدفع الطلبات التي يراها المستخدم زمن دورة 401 ثم إعادة المحاولة.
+ * - إذا انتهى الرمز بالفعل: يُجدد قبل الإرسال (مرة واحدة لجميع الطلبات، انظر TokenRefresher).
+ * - الطلبات التي تحمل رأس Authorization مسبقًا تُرسل كما هي.
+ */
+@Singleton
+public class AuthInterceptor implements Interceptor {
+
+    public static final String HEADER_AUTHORIZATION = "Authorization";
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionManager sessionManager;
+    private final TokenRefresher tokenRefresher;
+
+    @Inject
+    public AuthInterceptor(SessionManager sessionManager, TokenRefresher tokenRefresher) {
+        this.sessionManager = sessionManager;
+        this.tokenRefresher = tokenRefresher;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header(HEADER_AUTHORIZATION) != null) {
+            return chain.proceed(request);
+        }
+        AuthTokens tokens = sessionManager.getAuthTokens();
+        if (!tokens.hasAccessToken()) {
+            return chain.proceed(request);
+        }
+        long now = System.currentTimeMillis();
+        if (tokens.canRefresh() && tokens.isExpired(now)) {
+            AuthTokens refreshed = tokenRefresher.refreshIfStale(tokens.getAccessToken());
+            if (refreshed != null) {
+                tokens = refreshed;
+            }
+        } else if (tokens.canRefresh() && tokens.expiresWithin(Constants.AUTH_REFRESH_LEEWAY_MILLIS, now)) {
+            tokenRefresher.refreshInBackground();
+        }
+        return chain.proceed(withBearer(request, tokens.getAccessToken()));
+    }
+
+    static Request withBearer(Request request, String accessToken) {
+        return request.newBuilder()
+                .header(HEADER_AUTHORIZATION, BEARER_PREFIX + accessToken)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.devpal.newbase.Network.auth;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokens: لقطة غير قابلة للتعديل (Immutable) لرموز الجلسة الحالية.
+ * يحتفظ SessionManager بمرجع volatile لآخر لقطة، فيقرؤها AuthInterceptor مع كل طلب
+ * بدون الوصول إلى SharedPreferences، ويستبدلها TokenRefresher كاملة بعد كل تجديد.
+ */
+public final class AuthTokens {
+
+    public static final AuthTokens NONE = new AuthTokens(null, null, 0);
+
+    @Nullable
+    private final String accessToken;
+    @Nullable
+    private final String refreshToken;
+    private final long expiresAtMillis; // 0 = مدة الصلاحية غير معروفة
+
+    public AuthTokens(@Nullable String accessToken, @Nullable String refreshToken, long expiresAtMillis) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * @param expiresInSeconds مدة الصلاحية كما يرسلها الخادم (expires_in)، أو null إذا لم تُحدد.
+     * @param nowMillis الوقت الحالي.
+     */
+    public static AuthTokens fromExpiresIn(@Nullable String accessToken, @Nullable String refreshToken,
+                                           @Nullable Long expiresInSeconds, long nowMillis) {
+        long expiresAt = expiresInSeconds != null && expiresInSeconds > 0
+                ? nowMillis + TimeUnit.SECONDS.toMillis(expiresInSeconds)
+                : 0;
+        return new AuthTokens(accessToken, refreshToken, expiresAt);
+    }
+
+    @Nullable
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    @Nullable
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean hasAccessToken() {
+        return accessToken != null && !accessToken.isEmpty();
+    }
+
+    public boolean canRefresh() {
+        return refreshToken != null && !refreshToken.isEmpty();
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis > 0 && nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * @return true إذا كان الرمز سينتهي خلال leewayMillis (أو انتهى بالفعل).
+     */
+    public boolean expiresWithin(long leewayMillis, long nowMillis) {
+        return expiresAtMillis > 0 && nowMillis + leewayMillis >= expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        // لا نسجل الرموز نفسها
+        return "AuthTokens{hasAccessToken=" + hasAccessToken() + ", canRefresh=" + canRefresh()
+                + ", expiresAtMillis=" + expiresAtMillis + '}';
+    }
+}
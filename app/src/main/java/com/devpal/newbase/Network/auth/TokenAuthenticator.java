@@ -0,0 +1,60 @@
+package com.devpal.newbase.Network.auth;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * TokenAuthenticator: يستدعيه OkHttp عند استجابة 401 لطلب يحمل رمز Bearer.
+ * يجدد الرمز عبر TokenRefresher (مرة واحدة لجميع الطلبات المرفوضة في نفس الوقت)،
+ * ثم يعيد OkHttp إرسال الطلب بالرمز الجديد. إذا رُفض الرمز الجديد أيضًا تُعاد 401 إلى المستدعي.
+ */
+@Singleton
+public class TokenAuthenticator implements Authenticator {
+
+    private static final String TAG = "TokenAuthenticator";
+    private static final int MAX_ATTEMPTS = 2; // الطلب الأصلي + إعادة واحدة بالرمز الجديد
+
+    private final TokenRefresher tokenRefresher;
+
+    @Inject
+    public TokenAuthenticator(TokenRefresher tokenRefresher) {
+        this.tokenRefresher = tokenRefresher;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) {
+        String authorization = response.request().header(AuthInterceptor.HEADER_AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(AuthInterceptor.BEARER_PREFIX)) {
+            return null; // طلب غير موثق (مثل تسجيل الدخول): 401 نتيجة نهائية
+        }
+        if (attemptCount(response) >= MAX_ATTEMPTS) {
+            AppLogger.w(TAG, "Refreshed token was rejected for " + response.request().url().encodedPath());
+            return null;
+        }
+        String rejectedToken = authorization.substring(AuthInterceptor.BEARER_PREFIX.length());
+        AuthTokens refreshed = tokenRefresher.refreshIfStale(rejectedToken);
+        if (refreshed == null || !refreshed.hasAccessToken()) {
+            return null;
+        }
+        return AuthInterceptor.withBearer(response.request(), refreshed.getAccessToken());
+    }
+
+    private static int attemptCount(Response response) {
+        int count = 1;
+        for (Response prior = response.priorResponse(); prior != null; prior = prior.priorResponse()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,126 @@
+package com.devpal.newbase.Network.auth;
+
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.request.RefreshTokenRequest;
+import com.devpal.newbase.response.ApiResponse;
+import com.devpal.newbase.response.TokenResponse;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.SessionManager;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import retrofit2.Response;
+
+/**
+ * TokenRefresher: يجدد رمز الوصول مرة واحدة فقط (Single-flight) مهما كان عدد الطلبات التي تحتاجه معًا.
+ *
+ * refreshIfStale() متزامن ويُستدعى من خيوط OkHttp: أول طلب يحصل على القفل ينفذ التجديد،
+ * وبقية الطلبات تنتظر على نفس القفل ثم تجد أن الرمز تغير فتعيد إرسال طلباتها بالرمز الجديد
+ * بدون طلب تجديد إضافي.
+ * refreshInBackground() للتجديد الاستباقي قبل انتهاء الصلاحية، على Scheduler الشبكة.
+ * إذا رفض الخادم رمز التجديد نهائيًا (4xx غير 408/429) تنتهي الجلسة عبر SessionManager.expireSession()
+ * بدلاً من تكرار محاولة التجديد مع كل طلب.
+ */
+@Singleton
+public class TokenRefresher {
+
+    private static final String TAG = "TokenRefresher";
+
+    private final AuthApi authApi;
+    private final SessionManager sessionManager;
+    private final SchedulerProvider schedulers;
+    private final Object lock = new Object();
+    private final AtomicBoolean backgroundRefreshPending = new AtomicBoolean();
+
+    @Inject
+    public TokenRefresher(AuthApi authApi, SessionManager sessionManager, SchedulerProvider schedulers) {
+        this.authApi = authApi;
+        this.sessionManager = sessionManager;
+        this.schedulers = schedulers;
+    }
+
+    /**
+     * يجدد الرمز إذا كان الرمز الحالي هو نفسه staleAccessToken (أو انتهت صلاحيته).
+     * يحجب الخيط الحالي حتى انتهاء التجديد؛ لا يُستدعى من الخيط الرئيسي.
+     * @param staleAccessToken الرمز الذي رفضه الخادم أو الذي يقترب من الانتهاء.
+     * @return الرموز الصالحة بعد التجديد (أو التي جددها طلب آخر)، أو null إذا تعذر التجديد.
+     */
+    @Nullable
+    public AuthTokens refreshIfStale(@Nullable String staleAccessToken) {
+        synchronized (lock) {
+            AuthTokens current = sessionManager.getAuthTokens();
+            if (current.hasAccessToken() && !current.getAccessToken().equals(staleAccessToken)
+                    && !current.isExpired(System.currentTimeMillis())) {
+                return current; // جدده طلب آخر أثناء انتظارنا للقفل
+            }
+            if (!current.canRefresh()) {
+                AppLogger.w(TAG, "No refresh token available, cannot refresh session.");
+                return null;
+            }
+            return executeRefresh(current);
+        }
+    }
+
+    /**
+     * يطلب تجديدًا استباقيًا بدون حجب الطلب الحالي؛ يتم تجاهل الطلبات المكررة أثناء وجود تجديد معلق.
+     */
+    public void refreshInBackground() {
+        if (!backgroundRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        String accessToken = sessionManager.getAuthTokens().getAccessToken();
+        schedulers.network().scheduleDirect(() -> {
+            try {
+                refreshIfStale(accessToken);
+            } finally {
+                backgroundRefreshPending.set(false);
+            }
+        });
+    }
+
+    @Nullable
+    private AuthTokens executeRefresh(AuthTokens current) {
+        try {
+            Response<ApiResponse<TokenResponse>> response =
+                    authApi.refreshToken(new RefreshTokenRequest(current.getRefreshToken())).execute();
+            ApiResponse<TokenResponse> body = response.body();
+            TokenResponse data = body != null ? body.getData() : null;
+            if (isDefinitiveRejection(response.code())) {
+                AppLogger.w(TAG, "Refresh token rejected (HTTP " + response.code() + "), ending session.");
+                sessionManager.expireSession(current);
+                return null;
+            }
+            if (!response.isSuccessful() || body == null || !body.isSuccess()
+                    || data == null || data.getToken() == null) {
+                AppLogger.w(TAG, "Token refresh rejected (HTTP " + response.code() + ").");
+                return null;
+            }
+            AuthTokens refreshed = AuthTokens.fromExpiresIn(data.getToken(),
+                    data.getRefreshToken() != null ? data.getRefreshToken() : current.getRefreshToken(),
+                    data.getExpiresIn(), System.currentTimeMillis());
+            if (!sessionManager.replaceAuthTokens(current, refreshed)) {
+                AppLogger.w(TAG, "Session changed during token refresh, discarding new tokens.");
+                return null;
+            }
+            AppLogger.d(TAG, "Access token refreshed: " + refreshed);
+            return refreshed;
+        } catch (IOException | RuntimeException e) {
+            AppLogger.e(TAG, "Token refresh failed: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return true إذا كان رد الخادم يعني أن رمز التجديد لم يعد صالحًا (4xx)، وليس خطأ مؤقتًا
+     * (408 انتهاء المهلة، 429 كثرة الطلبات) يمكن أن ينجح لاحقًا بنفس الرمز.
+     */
+    static boolean isDefinitiveRejection(int code) {
+        return code >= 400 && code < 500 && code != 408 && code != 429;
+    }
+}
@@ -0,0 +1,268 @@
+package com.devpal.newbase.Network.converters;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import okio.ByteString;
+
+/**
+ * CborJsonReader: JsonReader يقرأ رموز CBOR واحدًا تلو الآخر من محلل Jackson التدفقي
+ * (jackson-dataformat-cbor، بدون ObjectMapper)، فتقرأ محولات AppGson نفسها المستخدمة لـ JSON
+ * (UserTypeAdapter، NotificationTypeAdapter...) جسم CBOR مباشرة، بدون بناء شجرة JsonElement وسيطة.
+ *
+ * يدعم واجهة JsonReader التي تستخدمها محولات التطبيق المكتوبة يدويًا ومحولات القوائم في Gson.
+ * سلاسل البايتات في CBOR تُقرأ كنص Base64 كما هو متعارف عليه عند التحويل إلى JSON.
+ */
+final class CborJsonReader extends JsonReader {
+
+    // CBORFactory آمن للاستخدام من عدة خيوط، ويُعاد استخدامه لكل الاستجابات
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    // JsonReader يتطلب Reader؛ لا يُقرأ منه أبدًا لأن جميع دوال القراءة مُعاد تعريفها
+    private static final Reader UNREADABLE_READER = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonParser parser;
+    // الرمز الذي تمت معاينته بـ peek() ولم يُستهلك بعد (صالح فقط إذا كان peeked، و null = نهاية الجسم)
+    private com.fasterxml.jackson.core.JsonToken current;
+    private boolean peeked;
+
+    /**
+     * @param in مصدر البايتات؛ يُغلق عند إغلاق القارئ.
+     */
+    CborJsonReader(InputStream in) throws IOException {
+        super(UNREADABLE_READER);
+        this.parser = CBOR_FACTORY.createParser(in);
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        if (!peeked) {
+            current = parser.nextToken();
+            peeked = true;
+        }
+        if (current == null) {
+            return JsonToken.END_DOCUMENT;
+        }
+        switch (current) {
+            case START_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case START_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case FIELD_NAME:
+                return JsonToken.NAME;
+            case VALUE_STRING:
+            case VALUE_EMBEDDED_OBJECT:
+                return JsonToken.STRING;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JsonToken.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonToken.BOOLEAN;
+            case VALUE_NULL:
+                return JsonToken.NULL;
+            default:
+                throw new IllegalStateException("Unexpected CBOR token " + current + locationString());
+        }
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        consume();
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        consume();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        consume();
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        consume();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        String name = parser.currentName();
+        consume();
+        return name;
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw unexpected(JsonToken.STRING, token);
+        }
+        String value = nextStringValue();
+        consume();
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        boolean value = current == com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
+        consume();
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        consume();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        double value;
+        if (token == JsonToken.NUMBER) {
+            value = parser.getDoubleValue();
+        } else if (token == JsonToken.STRING) {
+            value = Double.parseDouble(nextStringValue());
+        } else {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new NumberFormatException("JSON forbids NaN and infinities: " + value + locationString());
+        }
+        consume();
+        return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        long value;
+        if (current == com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            value = parser.getLongValue();
+        } else if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            value = toLong(token == JsonToken.NUMBER ? parser.getText() : nextStringValue());
+        } else {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        consume();
+        return value;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        long value = nextLong();
+        if (value != (int) value) {
+            throw new NumberFormatException("Expected an int but was " + value + locationString());
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) {
+            parser.skipChildren(); // ينتقل إلى END_OBJECT / END_ARRAY المقابل
+        }
+        if (token != JsonToken.END_DOCUMENT) {
+            consume();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = true;
+        current = null;
+        parser.close();
+    }
+
+    @Override
+    public String getPath() {
+        return "$" + parser.getParsingContext().pathAsPointer().toString().replace('/', '.');
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + locationString();
+    }
+
+    private String nextStringValue() throws IOException {
+        return current == com.fasterxml.jackson.core.JsonToken.VALUE_EMBEDDED_OBJECT
+                ? ByteString.of(parser.getBinaryValue()).base64()
+                : parser.getText();
+    }
+
+    /**
+     * مثل JsonReader: يقبل الأرقام العشرية إذا كانت قيمتها صحيحة (مثل 2.0).
+     */
+    private long toLong(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException ignored) {
+            double asDouble = Double.parseDouble(text);
+            long asLong = (long) asDouble;
+            if (asLong != asDouble) {
+                throw new NumberFormatException("Expected a long but was " + text + locationString());
+            }
+            return asLong;
+        }
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw unexpected(expected, token);
+        }
+    }
+
+    private void consume() {
+        peeked = false;
+        current = null;
+    }
+
+    private IllegalStateException unexpected(JsonToken expected, JsonToken actual) {
+        return new IllegalStateException("Expected " + expected + " but was " + actual + locationString());
+    }
+
+    private String locationString() {
+        return " at path " + getPath();
+    }
+}
@@ -0,0 +1,100 @@
+package com.devpal.newbase.Network.converters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * NegotiatingConverterFactory: محول Retrofit يختار صيغة فك الاستجابة حسب Content-Type الفعلي.
+ * - application/cbor: يُقرأ الجسم تدفقيًا عبر CborJsonReader بمحولات Gson نفسها، بدون شجرة وسيطة.
+ * - أي نوع آخر (JSON عادةً): يُفوّض إلى GsonConverterFactory كما كان سابقًا.
+ * أجسام الطلبات تبقى JSON دائمًا. الخادم الذي لا يدعم CBOR يتجاهل ترويسة Accept ويعيد JSON،
+ * فلا يتغير شيء بالنسبة له.
+ */
+public final class NegotiatingConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+    private final GsonConverterFactory jsonFactory;
+
+    private NegotiatingConverterFactory(Gson gson) {
+        this.gson = gson;
+        this.jsonFactory = GsonConverterFactory.create(gson);
+    }
+
+    /**
+     * @param gson مثيل Gson المشترك (AppGson) المستخدم لكلتا الصيغتين.
+     */
+    public static NegotiatingConverterFactory create(Gson gson) {
+        return new NegotiatingConverterFactory(gson);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Converter<ResponseBody, ?> jsonConverter = jsonFactory.responseBodyConverter(type, annotations, retrofit);
+        return negotiating(gson.getAdapter(TypeToken.get(type)), jsonConverter);
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return jsonFactory.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    private static <T> Converter<ResponseBody, T> negotiating(TypeAdapter<T> adapter,
+                                                             Converter<ResponseBody, ?> jsonConverter) {
+        return new NegotiatingResponseConverter<>(adapter, jsonConverter);
+    }
+
+    /**
+     * @return true إذا كان نوع المحتوى application/cbor.
+     */
+    static boolean isCbor(MediaType contentType) {
+        return contentType != null
+                && "application".equals(contentType.type())
+                && "cbor".equals(contentType.subtype());
+    }
+
+    private static final class NegotiatingResponseConverter<T> implements Converter<ResponseBody, T> {
+
+        private final TypeAdapter<T> adapter;
+        private final Converter<ResponseBody, ?> jsonConverter;
+
+        NegotiatingResponseConverter(TypeAdapter<T> adapter, Converter<ResponseBody, ?> jsonConverter) {
+            this.adapter = adapter;
+            this.jsonConverter = jsonConverter;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T convert(ResponseBody value) throws IOException {
+            if (!isCbor(value.contentType())) {
+                return (T) jsonConverter.convert(value);
+            }
+            try (CborJsonReader reader = new CborJsonReader(value.byteStream())) {
+                if (reader.peek() == JsonToken.END_DOCUMENT) {
+                    return null; // جسم فارغ
+                }
+                T result = adapter.read(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) {
+                    throw new JsonIOException("CBOR document was not fully consumed.");
+                }
+                return result;
+            } finally {
+                value.close();
+            }
+        }
+    }
+}
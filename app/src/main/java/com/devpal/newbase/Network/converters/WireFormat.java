@@ -0,0 +1,19 @@
+package com.devpal.newbase.Network.converters;
+
+/**
+ * WireFormat: ثوابت التفاوض على صيغة الاستجابة (Content Negotiation).
+ * نقاط النهاية ذات الاستجابات الكبيرة (مثل قوائم الإشعارات) تطلب CBOR عبر ترويسة Accept،
+ * وإذا لم يدعمها الخادم فإنه يعيد JSON كالمعتاد، ويختار NegotiatingConverterFactory المحول
+ * بناءً على Content-Type الفعلي للاستجابة.
+ */
+public final class WireFormat {
+
+    public static final String MEDIA_TYPE_JSON = "application/json";
+    public static final String MEDIA_TYPE_CBOR = "application/cbor";
+
+    // للاستخدام مع @Headers في ApiService: CBOR مفضل، و JSON كبديل بأولوية أقل
+    public static final String ACCEPT_CBOR_OR_JSON = "Accept: " + MEDIA_TYPE_CBOR + ", " + MEDIA_TYPE_JSON + ";q=0.9";
+
+    private WireFormat() {
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpal.newbase.Network.interceptors;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * GzipRequestInterceptor: يضغط جسم الطلب بـ gzip فقط لنقاط النهاية التي تطلب ذلك صراحةً
+ * عبر @Headers(GzipRequestInterceptor.GZIP_REQUEST) في ApiService (يجب أن يدعم الخادم
+ * Content-Encoding: gzip لتلك النقطة). الترويسة الداخلية تُزال قبل الإرسال.
+ * أجسام الرفع الثنائية (الصور والملفات) لا تُضغط لأنها مضغوطة أصلاً.
+ */
+public final class GzipRequestInterceptor implements Interceptor {
+
+    static final String MARKER_HEADER = "X-Gzip-Request";
+
+    // للاستخدام مع @Headers في ApiService
+    public static final String GZIP_REQUEST = MARKER_HEADER + ": true";
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header(MARKER_HEADER) == null) {
+            return chain.proceed(request);
+        }
+        Request.Builder builder = request.newBuilder().removeHeader(MARKER_HEADER);
+        RequestBody body = request.body();
+        if (body == null || request.header("Content-Encoding") != null) {
+            return chain.proceed(builder.build());
+        }
+        return chain.proceed(builder
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), gzip(body))
+                .build());
+    }
+
+    private static RequestBody gzip(RequestBody body) {
+        return new RequestBody() {
+            @Nullable
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1; // الحجم بعد الضغط غير معروف مسبقًا
+            }
+
+            @Override
+            public void writeTo(@NonNull BufferedSink sink) throws IOException {
+                try (BufferedSink gzipSink = Okio.buffer(new GzipSink(sink))) {
+                    body.writeTo(gzipSink);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.devpal.newbase.Network.interceptors;
+
+import androidx.annotation.Nullable;
+
+/**
+ * NetworkTrace: سجل خفيف لطلب شبكة واحد يسجله NetworkTraceInterceptor.
+ * كائن غير قابل للتعديل (Immutable) ليمكن قراءته من أي Thread.
+ */
+public final class NetworkTrace {
+
+    private final long startedAtMillis; // وقت بدء الطلب (System.currentTimeMillis)
+    private final String method;
+    private final String path; // المسار فقط بدون Query لتجنب تسجيل بيانات حساسة
+    private final int statusCode; // -1 إذا فشل الطلب قبل استلام استجابة
+    private final long requestBytes; // -1 إذا كان الحجم غير معروف
+    private final long responseBytes; // البايتات المقروءة فعليًا من جسم الاستجابة
+    private final long durationMillis; // من بدء الطلب حتى إغلاق جسم الاستجابة
+    @Nullable
+    private final String error; // اسم الاستثناء إذا فشل الطلب
+    @Nullable
+    private final String sampledBody; // جسم الاستجابة (مقطوع) فقط للطلبات المختارة بالعينة
+
+    NetworkTrace(long startedAtMillis, String method, String path, int statusCode, long requestBytes,
+                 long responseBytes, long durationMillis, @Nullable String error, @Nullable String sampledBody) {
+        this.startedAtMillis = startedAtMillis;
+        this.method = method;
+        this.path = path;
+        this.statusCode = statusCode;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.durationMillis = durationMillis;
+        this.error = error;
+        this.sampledBody = sampledBody;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    @Nullable
+    public String getSampledBody() {
+        return sampledBody;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + " -> " + (error != null ? error : String.valueOf(statusCode))
+                + " (" + requestBytes + "B up, " + responseBytes + "B down, " + durationMillis + "ms)";
+    }
+}
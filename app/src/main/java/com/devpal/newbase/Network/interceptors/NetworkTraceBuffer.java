@@ -0,0 +1,54 @@
+package com.devpal.newbase.Network.interceptors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NetworkTraceBuffer: مخزن دائري (Ring Buffer) بحجم ثابت لآخر طلبات الشبكة.
+ * عند امتلائه يتم استبدال أقدم سجل، فلا يزيد استهلاك الذاكرة مهما طال عمل التطبيق.
+ */
+public final class NetworkTraceBuffer {
+
+    private final NetworkTrace[] traces;
+    private int next; // موضع الكتابة التالي
+    private int size;
+
+    public NetworkTraceBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.traces = new NetworkTrace[capacity];
+    }
+
+    public synchronized void add(NetworkTrace trace) {
+        traces[next] = trace;
+        next = (next + 1) % traces.length;
+        if (size < traces.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return نسخة من السجلات المخزنة من الأقدم إلى الأحدث.
+     */
+    public synchronized List<NetworkTrace> snapshot() {
+        List<NetworkTrace> result = new ArrayList<>(size);
+        int start = (next - size + traces.length) % traces.length;
+        for (int i = 0; i < size; i++) {
+            result.add(traces[(start + i) % traces.length]);
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < traces.length; i++) {
+            traces[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+
+    public int capacity() {
+        return traces.length;
+    }
+}
@@ -0,0 +1,214 @@
+package com.devpal.newbase.Network.interceptors;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * NetworkTraceInterceptor: بديل منخفض التكلفة لـ HttpLoggingInterceptor يعمل في جميع البنيات (Release أيضًا).
+ * يسجل لكل طلب: الطريقة، المسار، رمز الحالة، عدد البايتات، والمدة في NetworkTraceBuffer،
+ * بدون نسخ أو تحويل الأجسام إلى نصوص. البايتات المستلمة تُعد أثناء قراءة التطبيق للاستجابة
+ * (ForwardingSource) ويتم التسجيل عند إغلاق الجسم، فتشمل المدة وقت التنزيل كاملاً.
+ *
+ * أخذ العينات (اختياري): عند ضبط setBodySampleRate(N) يتم حفظ جسم استجابة واحدة من كل N طلبات
+ * (حتى MAX_SAMPLED_BODY_BYTES) للتصحيح في بيئة الإنتاج. القيمة 0 (الافتراضية) تعطل أخذ العينات.
+ */
+@Singleton
+public class NetworkTraceInterceptor implements Interceptor {
+
+    private static final String TAG = "NetworkTrace";
+
+    private static final int BUFFER_CAPACITY = 200;
+    private static final long MAX_SAMPLED_BODY_BYTES = 16 * 1024;
+
+    private final NetworkTraceBuffer buffer = new NetworkTraceBuffer(BUFFER_CAPACITY);
+    private final AtomicLong requestCounter = new AtomicLong();
+    private volatile int bodySampleRate = 0;
+
+    @Inject
+    public NetworkTraceInterceptor() {
+    }
+
+    /**
+     * @param rate حفظ جسم استجابة واحدة من كل rate طلبات؛ 0 لتعطيل أخذ العينات.
+     */
+    public void setBodySampleRate(int rate) {
+        this.bodySampleRate = Math.max(0, rate);
+    }
+
+    /**
+     * @return آخر الطلبات المسجلة من الأقدم إلى الأحدث.
+     */
+    public List<NetworkTrace> getRecentTraces() {
+        return buffer.snapshot();
+    }
+
+    public void clear() {
+        buffer.clear();
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String method = request.method();
+        String path = request.url().encodedPath();
+        long requestBytes = request.body() != null ? request.body().contentLength() : 0;
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            buffer.add(new NetworkTrace(startedAt, method, path, -1, requestBytes, 0,
+                    elapsedMillis(startNanos), e.getClass().getSimpleName(), null));
+            throw e;
+        }
+
+        ResponseBody body = response.body();
+        String sampledBody = shouldSample() && body != null ? sampleBody(response) : null;
+        if (body == null) {
+            record(new NetworkTrace(startedAt, method, path, response.code(), requestBytes, 0,
+                    elapsedMillis(startNanos), null, sampledBody));
+            return response;
+        }
+
+        TraceState state = new TraceState(startedAt, startNanos, method, path, response.code(), requestBytes, sampledBody);
+        return response.newBuilder()
+                .body(new TracingResponseBody(body, state))
+                .build();
+    }
+
+    private boolean shouldSample() {
+        int rate = bodySampleRate;
+        return rate > 0 && requestCounter.incrementAndGet() % rate == 0;
+    }
+
+    @Nullable
+    private static String sampleBody(Response response) {
+        try {
+            return response.peekBody(MAX_SAMPLED_BODY_BYTES).string();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void record(NetworkTrace trace) {
+        buffer.add(trace);
+        AppLogger.d(TAG, trace.toString());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * الحالة المشتركة لطلب واحد حتى إغلاق جسم الاستجابة؛ يتم التسجيل مرة واحدة فقط.
+     */
+    private final class TraceState {
+        private final long startedAt;
+        private final long startNanos;
+        private final String method;
+        private final String path;
+        private final int statusCode;
+        private final long requestBytes;
+        @Nullable
+        private final String sampledBody;
+        private long responseBytes;
+        private boolean recorded;
+
+        TraceState(long startedAt, long startNanos, String method, String path, int statusCode,
+                   long requestBytes, @Nullable String sampledBody) {
+            this.startedAt = startedAt;
+            this.startNanos = startNanos;
+            this.method = method;
+            this.path = path;
+            this.statusCode = statusCode;
+            this.requestBytes = requestBytes;
+            this.sampledBody = sampledBody;
+        }
+
+        synchronized void finish(@Nullable IOException error) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            record(new NetworkTrace(startedAt, method, path, statusCode, requestBytes, responseBytes,
+                    elapsedMillis(startNanos), error != null ? error.getClass().getSimpleName() : null, sampledBody));
+        }
+    }
+
+    /**
+     * يغلف جسم الاستجابة لعد البايتات أثناء قراءتها، بدون تخزينها.
+     */
+    private static final class TracingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        TracingResponseBody(ResponseBody delegate, TraceState state) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                    long read;
+                    try {
+                        read = super.read(sink, byteCount);
+                    } catch (IOException e) {
+                        state.finish(e);
+                        throw e;
+                    }
+                    if (read == -1) {
+                        state.finish(null);
+                    } else {
+                        synchronized (state) {
+                            state.responseBytes += read;
+                        }
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    state.finish(null);
+                    super.close();
+                }
+            });
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @NonNull
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.devpal.newbase.Network.interceptors;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.Network.Endpoints;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * PayloadSizeTracker: يسجل أحجام الاستجابات لكل نقطة نهاية، قبل فك الضغط وبعده،
+ * وينبه عند تجاوز الحجم على الشبكة للحد المسموح (Budget) لتلك النقطة.
+ *
+ * يوفر مُعترضين يجب تركيبهما معًا في ApiClient:
+ * - wireInterceptor(): كـ Network Interceptor، يرى الجسم كما وصل (مضغوطًا).
+ * - decodedInterceptor(): كـ Application Interceptor خارج BrotliInterceptor، يرى الجسم بعد فك الضغط.
+ * البايتات تُعد أثناء قراءة التطبيق للجسم (بدون نسخه)، ويتم التسجيل عند نهايته أو إغلاقه.
+ */
+@Singleton
+public class PayloadSizeTracker {
+
+    private static final String TAG = "PayloadSize";
+
+    /**
+     * يُستدعى عند تجاوز استجابة للحد المسموح (مثلاً لإرسالها إلى أداة تحليلات).
+     */
+    public interface BudgetListener {
+        void onBudgetExceeded(String endpoint, long wireBytes, long budgetBytes);
+    }
+
+    private final String basePath = HttpUrl.get(Endpoints.BASE_URL).encodedPath();
+    private final Map<String, EndpointCounters> counters = new ConcurrentHashMap<>();
+    private final Map<String, Long> budgets = new ConcurrentHashMap<>();
+    private volatile long defaultBudgetBytes = Constants.PAYLOAD_BUDGET_DEFAULT_BYTES;
+    @Nullable
+    private volatile BudgetListener budgetListener;
+
+    private final Interceptor wireInterceptor = chain -> track(chain.proceed(chain.request()), true);
+    private final Interceptor decodedInterceptor = chain -> track(chain.proceed(chain.request()), false);
+
+    @Inject
+    public PayloadSizeTracker() {
+        budgets.put(Endpoints.GET_NOTIFICATIONS, Constants.PAYLOAD_BUDGET_NOTIFICATIONS_BYTES);
+        budgets.put(Endpoints.GET_NOTIFICATIONS_DELTA, Constants.PAYLOAD_BUDGET_NOTIFICATIONS_BYTES);
+    }
+
+    public Interceptor wireInterceptor() {
+        return wireInterceptor;
+    }
+
+    public Interceptor decodedInterceptor() {
+        return decodedInterceptor;
+    }
+
+    /**
+     * @param endpoint ثابت من Endpoints (مثال: Endpoints.GET_NOTIFICATIONS)؛ أجزاء المسار المتغيرة تُكتب {id}.
+     * @param budgetBytes الحد الأقصى للحجم على الشبكة؛ 0 لتعطيل التنبيه لهذه النقطة.
+     */
+    public void setBudget(String endpoint, long budgetBytes) {
+        budgets.put(endpoint, Math.max(0, budgetBytes));
+    }
+
+    /**
+     * @param budgetBytes الحد لنقاط النهاية التي ليس لها حد خاص؛ 0 لتعطيله.
+     */
+    public void setDefaultBudget(long budgetBytes) {
+        this.defaultBudgetBytes = Math.max(0, budgetBytes);
+    }
+
+    public void setBudgetListener(@Nullable BudgetListener listener) {
+        this.budgetListener = listener;
+    }
+
+    /**
+     * @return لقطة من إحصائيات جميع نقاط النهاية التي تم تسجيلها.
+     */
+    public List<PayloadStats> snapshot() {
+        List<PayloadStats> result = new ArrayList<>(counters.size());
+        for (Map.Entry<String, EndpointCounters> entry : counters.entrySet()) {
+            result.add(entry.getValue().snapshot(entry.getKey(), budgetFor(entry.getKey())));
+        }
+        return result;
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    private Response track(Response response, boolean wire) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        String endpoint = endpointOf(response.request().url());
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, bytes -> record(endpoint, bytes, wire)))
+                .build();
+    }
+
+    private void record(String endpoint, long bytes, boolean wire) {
+        EndpointCounters endpointCounters = counters.computeIfAbsent(endpoint, key -> new EndpointCounters());
+        if (!wire) {
+            endpointCounters.addDecoded(bytes);
+            return;
+        }
+        long budget = budgetFor(endpoint);
+        boolean overBudget = budget > 0 && bytes > budget;
+        endpointCounters.addWire(bytes, overBudget);
+        if (overBudget) {
+            AppLogger.w(TAG, "Response for " + endpoint + " is " + bytes + " bytes on the wire, budget is " + budget);
+            BudgetListener listener = budgetListener;
+            if (listener != null) {
+                listener.onBudgetExceeded(endpoint, bytes, budget);
+            }
+        }
+    }
+
+    private long budgetFor(String endpoint) {
+        Long budget = budgets.get(endpoint);
+        return budget != null ? budget : defaultBudgetBytes;
+    }
+
+    /**
+     * يحول المسار إلى مفتاح ثابت لنقطة النهاية: نسبي لـ BASE_URL، والأجزاء التي تحتوي أرقامًا
+     * (معرفات) تُستبدل بـ {id}، فتُجمع "uploads/42/chunks/3" تحت "uploads/{id}/chunks/{id}".
+     */
+    String endpointOf(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        StringBuilder key = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(containsDigit(segment) ? "{id}" : segment);
+        }
+        return key.toString();
+    }
+
+    private static boolean containsDigit(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * العدادات المتغيرة لنقطة نهاية واحدة؛ القراءة والكتابة تحت قفل الكائن نفسه.
+     */
+    private static final class EndpointCounters {
+        private int wireCount;
+        private long lastWireBytes;
+        private long maxWireBytes;
+        private long totalWireBytes;
+        private int decodedCount;
+        private long lastDecodedBytes;
+        private long maxDecodedBytes;
+        private long totalDecodedBytes;
+        private int overBudgetCount;
+
+        synchronized void addWire(long bytes, boolean overBudget) {
+            wireCount++;
+            lastWireBytes = bytes;
+            maxWireBytes = Math.max(maxWireBytes, bytes);
+            totalWireBytes += bytes;
+            if (overBudget) {
+                overBudgetCount++;
+            }
+        }
+
+        synchronized void addDecoded(long bytes) {
+            decodedCount++;
+            lastDecodedBytes = bytes;
+            maxDecodedBytes = Math.max(maxDecodedBytes, bytes);
+            totalDecodedBytes += bytes;
+        }
+
+        synchronized PayloadStats snapshot(String endpoint, long budgetBytes) {
+            return new PayloadStats(endpoint, budgetBytes, wireCount, lastWireBytes, maxWireBytes, totalWireBytes,
+                    decodedCount, lastDecodedBytes, maxDecodedBytes, totalDecodedBytes, overBudgetCount);
+        }
+    }
+
+    private interface SizeCallback {
+        void onComplete(long bytes);
+    }
+
+    /**
+     * يغلف جسم الاستجابة لعد البايتات أثناء قراءتها؛ يتم الاستدعاء مرة واحدة عند النهاية أو الإغلاق.
+     */
+    private static final class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+        private long bytesRead;
+        private boolean reported;
+
+        CountingResponseBody(ResponseBody delegate, SizeCallback callback) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        report(callback);
+                    } else {
+                        bytesRead += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    report(callback);
+                    super.close();
+                }
+            });
+        }
+
+        private void report(SizeCallback callback) {
+            if (reported) {
+                return;
+            }
+            reported = true;
+            callback.onComplete(bytesRead);
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @NonNull
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
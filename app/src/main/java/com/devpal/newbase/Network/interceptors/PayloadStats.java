@@ -0,0 +1,96 @@
+package com.devpal.newbase.Network.interceptors;
+
+/**
+ * PayloadStats: لقطة غير قابلة للتعديل (Immutable) لأحجام استجابات نقطة نهاية واحدة.
+ * wire: البايتات كما وصلت عبر الشبكة (مضغوطة عادةً بـ gzip أو brotli).
+ * decoded: البايتات بعد فك الضغط، أي ما يقرؤه محول JSON/CBOR فعليًا.
+ * عداد wire لا يشمل الاستجابات المقدمة من الـ Cache، لأنها لا تمر عبر الشبكة.
+ */
+public final class PayloadStats {
+
+    private final String endpoint; // المسار النسبي لـ BASE_URL مع استبدال المعرفات بـ {id}
+    private final long budgetBytes; // 0 = بدون حد
+    private final int wireCount;
+    private final long lastWireBytes;
+    private final long maxWireBytes;
+    private final long totalWireBytes;
+    private final int decodedCount;
+    private final long lastDecodedBytes;
+    private final long maxDecodedBytes;
+    private final long totalDecodedBytes;
+    private final int overBudgetCount; // عدد الاستجابات التي تجاوز حجمها على الشبكة الحد
+
+    PayloadStats(String endpoint, long budgetBytes, int wireCount, long lastWireBytes, long maxWireBytes,
+                 long totalWireBytes, int decodedCount, long lastDecodedBytes, long maxDecodedBytes,
+                 long totalDecodedBytes, int overBudgetCount) {
+        this.endpoint = endpoint;
+        this.budgetBytes = budgetBytes;
+        this.wireCount = wireCount;
+        this.lastWireBytes = lastWireBytes;
+        this.maxWireBytes = maxWireBytes;
+        this.totalWireBytes = totalWireBytes;
+        this.decodedCount = decodedCount;
+        this.lastDecodedBytes = lastDecodedBytes;
+        this.maxDecodedBytes = maxDecodedBytes;
+        this.totalDecodedBytes = totalDecodedBytes;
+        this.overBudgetCount = overBudgetCount;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public int getWireCount() {
+        return wireCount;
+    }
+
+    public long getLastWireBytes() {
+        return lastWireBytes;
+    }
+
+    public long getMaxWireBytes() {
+        return maxWireBytes;
+    }
+
+    public long getTotalWireBytes() {
+        return totalWireBytes;
+    }
+
+    public int getDecodedCount() {
+        return decodedCount;
+    }
+
+    public long getLastDecodedBytes() {
+        return lastDecodedBytes;
+    }
+
+    public long getMaxDecodedBytes() {
+        return maxDecodedBytes;
+    }
+
+    public long getTotalDecodedBytes() {
+        return totalDecodedBytes;
+    }
+
+    public int getOverBudgetCount() {
+        return overBudgetCount;
+    }
+
+    /**
+     * @return نسبة الضغط (decoded / wire) على مجموع الاستجابات، أو 0 إذا لم تُسجل بيانات كافية.
+     */
+    public double getCompressionRatio() {
+        return totalWireBytes > 0 && totalDecodedBytes > 0 ? (double) totalDecodedBytes / totalWireBytes : 0;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint + " wire(last=" + lastWireBytes + "B, max=" + maxWireBytes + "B, n=" + wireCount + ")"
+                + " decoded(last=" + lastDecodedBytes + "B, max=" + maxDecodedBytes + "B, n=" + decodedCount + ")"
+                + (budgetBytes > 0 ? " budget=" + budgetBytes + "B over=" + overBudgetCount : "");
+    }
+}
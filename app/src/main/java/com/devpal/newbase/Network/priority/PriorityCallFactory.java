@@ -0,0 +1,136 @@
+package com.devpal.newbase.Network.priority;
+
+import androidx.annotation.NonNull;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * PriorityCallFactory: Call.Factory لـ Retrofit يوجه كل طلب إلى Dispatcher خاص بأولويته (RequestPriority).
+ *
+ * العملاء الثلاثة مبنيون على العميل المشترك عبر newBuilder()، فيتشاركون ConnectionPool والـ Cache
+ * والمُعترضات والمصادقة؛ فقط حدود التزامن منفصلة:
+ * - INTERACTIVE له سعة محجوزة لا يمكن لطلبات الخلفية استهلاكها.
+ * - BACKGROUND يُبطأ إلى طلب واحد (BACKGROUND_PAUSED_MAX_REQUESTS) ما دامت هناك طلبات INTERACTIVE
+ *   قيد التنفيذ فعلاً، ويعود إلى حده الطبيعي عندما يصبح Dispatcher الـ INTERACTIVE خاملاً.
+ *   الطلبات الجارية لا تتأثر ولا تُلغى: لكل أولوية Dispatcher مستقل، فلا تنافس على نفس السعة.
+ *
+ * الإبطاء يبدأ من مُعترض على عميل INTERACTIVE (أي بعد أن يُحسب الطلب في runningCallsCount)
+ * وليس عند newCall()، فطلب يُنشأ ولا يُنفذ لا يبطئ الخلفية. الاستئناف يتحقق من runningCallsCount
+ * تحت نفس القفل، فلا يلغي idle callback لطلب انتهى إبطاءً بدأه طلب جديد في نفس اللحظة.
+ */
+public class PriorityCallFactory implements Call.Factory {
+
+    private static final String TAG = "PriorityCallFactory";
+
+    // --- حدود التزامن لكل أولوية (مجموعها أقل من حد Dispatcher المشترك في ApiClient) ---
+    private static final int INTERACTIVE_MAX_REQUESTS = 16;
+    private static final int INTERACTIVE_MAX_REQUESTS_PER_HOST = 6;
+    private static final int PREFETCH_MAX_REQUESTS = 8;
+    private static final int PREFETCH_MAX_REQUESTS_PER_HOST = 2;
+    private static final int BACKGROUND_MAX_REQUESTS = 4;
+    private static final int BACKGROUND_MAX_REQUESTS_PER_HOST = 2;
+    private static final int BACKGROUND_PAUSED_MAX_REQUESTS = 1; // Dispatcher لا يقبل 0
+
+    private final OkHttpClient interactiveClient;
+    private final OkHttpClient prefetchClient;
+    private final OkHttpClient backgroundClient;
+    private boolean backgroundPaused; // محمي بـ this
+
+    /**
+     * @param sharedClient العميل المشترك (الموثق) من AppModule.
+     */
+    public PriorityCallFactory(OkHttpClient sharedClient) {
+        this.interactiveClient = withDispatcher(sharedClient, INTERACTIVE_MAX_REQUESTS, INTERACTIVE_MAX_REQUESTS_PER_HOST)
+                .newBuilder()
+                .addInterceptor(chain -> {
+                    pauseBackground(); // الطلب محسوب الآن في runningCallsCount
+                    return chain.proceed(chain.request());
+                })
+                .build();
+        this.prefetchClient = withDispatcher(sharedClient, PREFETCH_MAX_REQUESTS, PREFETCH_MAX_REQUESTS_PER_HOST);
+        this.backgroundClient = withDispatcher(sharedClient, BACKGROUND_MAX_REQUESTS, BACKGROUND_MAX_REQUESTS_PER_HOST);
+        // يُستدعى عند انتهاء آخر طلب INTERACTIVE جارٍ
+        interactiveClient.dispatcher().setIdleCallback(this::resumeBackground);
+    }
+
+    @NonNull
+    @Override
+    public Call newCall(@NonNull Request request) {
+        RequestPriority priority = RequestPriority.of(request);
+        Request routed = request.newBuilder()
+                .removeHeader(RequestPriority.HEADER)
+                .tag(RequestPriority.class, priority) // متاح للمُعترضات (مثلاً للتتبع)
+                .build();
+        switch (priority) {
+            case BACKGROUND:
+                return backgroundClient.newCall(routed);
+            case PREFETCH:
+                return prefetchClient.newCall(routed);
+            case INTERACTIVE:
+            default:
+                return interactiveClient.newCall(routed);
+        }
+    }
+
+    /**
+     * يبطئ طلبات BACKGROUND الجديدة إلى طلب واحد في كل مرة حتى resumeBackground().
+     */
+    public synchronized void pauseBackground() {
+        if (!backgroundPaused) {
+            backgroundPaused = true;
+            backgroundClient.dispatcher().setMaxRequests(BACKGROUND_PAUSED_MAX_REQUESTS);
+            AppLogger.d(TAG, "Background requests throttled for interactive traffic.");
+        }
+    }
+
+    /**
+     * يعيد BACKGROUND إلى حده الطبيعي، فقط إذا لم يعد هناك طلب INTERACTIVE قيد التنفيذ.
+     */
+    public synchronized void resumeBackground() {
+        if (backgroundPaused && interactiveClient.dispatcher().runningCallsCount() == 0) {
+            backgroundPaused = false;
+            backgroundClient.dispatcher().setMaxRequests(BACKGROUND_MAX_REQUESTS);
+            AppLogger.d(TAG, "Background requests resumed.");
+        }
+    }
+
+    /**
+     * يلغي جميع طلبات BACKGROUND الجارية والمنتظرة (تنتهي بـ IOException "Canceled").
+     * لا يُستدعى تلقائيًا؛ للاستدعاء الصريح فقط (مثلاً عند إيقاف التطبيق لكل عمل الخلفية).
+     */
+    public void cancelBackgroundCalls() {
+        Dispatcher dispatcher = backgroundClient.dispatcher();
+        int count = dispatcher.runningCallsCount() + dispatcher.queuedCallsCount();
+        if (count > 0) {
+            dispatcher.cancelAll();
+            AppLogger.w(TAG, "Cancelled " + count + " background requests.");
+        }
+    }
+
+    Dispatcher dispatcherFor(RequestPriority priority) {
+        switch (priority) {
+            case BACKGROUND:
+                return backgroundClient.dispatcher();
+            case PREFETCH:
+                return prefetchClient.dispatcher();
+            case INTERACTIVE:
+            default:
+                return interactiveClient.dispatcher();
+        }
+    }
+
+    private static OkHttpClient withDispatcher(OkHttpClient sharedClient, int maxRequests, int maxRequestsPerHost) {
+        // نفس ExecutorService الخاص بالعميل المشترك: الخيوط تُعاد استخدامها بين الأولويات
+        Dispatcher dispatcher = new Dispatcher(sharedClient.dispatcher().executorService());
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return sharedClient.newBuilder()
+                .dispatcher(dispatcher)
+                .build();
+    }
+}
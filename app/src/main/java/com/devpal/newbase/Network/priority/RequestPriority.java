@@ -0,0 +1,44 @@
+package com.devpal.newbase.Network.priority;
+
+import okhttp3.Request;
+
+/**
+ * RequestPriority: أولوية طلب الشبكة، تُحدد لكل نقطة نهاية في ApiService عبر
+ * @Headers(RequestPriority.INTERACTIVE_HEADER) وما شابه، أو يمررها المستدعي كمعامل @Tag عندما
+ * يُستخدم نفس الطلب من الشاشات ومن الخلفية (مثل getUserProfile). PriorityCallFactory يقرأ الأولوية
+ * (الـ Tag أولاً ثم الترويسة) ويزيل الترويسة قبل الإرسال، ويوجه الطلب إلى Dispatcher خاص بالأولوية.
+ *
+ * - INTERACTIVE: طلب ينتظره المستخدم الآن (تسجيل الدخول، الملف الشخصي...). الافتراضي لأي طلب بدون ترويسة.
+ * - PREFETCH: تحميل مسبق لما قد يراه المستخدم قريبًا (الصفحة التالية من القائمة).
+ * - BACKGROUND: مزامنة ورفع في الخلفية؛ يُبطأ أثناء تنفيذ طلبات INTERACTIVE.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    PREFETCH,
+    BACKGROUND;
+
+    static final String HEADER = "X-Request-Priority";
+
+    // للاستخدام مع @Headers في ApiService
+    public static final String INTERACTIVE_HEADER = HEADER + ": interactive";
+    public static final String PREFETCH_HEADER = HEADER + ": prefetch";
+    public static final String BACKGROUND_HEADER = HEADER + ": background";
+
+    /**
+     * @return أولوية الطلب من ترويسته، أو INTERACTIVE إذا لم تُحدد أو كانت غير معروفة.
+     */
+    public static RequestPriority of(Request request) {
+        RequestPriority tagged = request.tag(RequestPriority.class);
+        if (tagged != null) {
+            return tagged;
+        }
+        String value = request.header(HEADER);
+        if ("background".equalsIgnoreCase(value)) {
+            return BACKGROUND;
+        }
+        if ("prefetch".equalsIgnoreCase(value)) {
+            return PREFETCH;
+        }
+        return INTERACTIVE;
+    }
+}
@@ -0,0 +1,152 @@
+package com.devpal.newbase.Network.resilience;
+
+import android.os.SystemClock;
+
+import com.devpal.newbase.utils.AppLogger;
+
+/**
+ * CircuitBreaker: يحمي نقطة نهاية واحدة من إغراقها بالطلبات عندما تكون معطلة.
+ *
+ * - CLOSED: الطلبات تمر بشكل طبيعي. بعد failureThreshold أخطاء متتالية من الخادم ينتقل إلى OPEN.
+ * - OPEN: جميع الطلبات تُرفض فورًا (CircuitOpenException) بدون شبكة لمدة openDurationMillis.
+ * - HALF_OPEN: بعد انتهاء المدة يُسمح بطلب تجريبي واحد؛ نجاحه يعيد CLOSED وفشله يعيد OPEN.
+ *
+ * فقط الأخطاء المؤقتة (انظر RetryPolicy.isRetryable) تُحسب كفشل؛ أخطاء 4xx تعني أن الخادم يعمل.
+ * عدادات الانتقالات متاحة عبر getters للمراقبة والتصحيح.
+ */
+public final class CircuitBreaker {
+
+    private static final String TAG = "CircuitBreaker";
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    // عدادات الانتقالات والطلبات المرفوضة
+    private long openedCount; // CLOSED/HALF_OPEN -> OPEN
+    private long halfOpenedCount; // OPEN -> HALF_OPEN
+    private long closedCount; // HALF_OPEN -> CLOSED
+    private long rejectedCount; // طلبات رُفضت بدون شبكة
+
+    public CircuitBreaker(String endpoint, int failureThreshold, long openDurationMillis) {
+        this.endpoint = endpoint;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * @return true إذا يُسمح بإرسال الطلب الآن.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (SystemClock.elapsedRealtime() - openedAt < openDurationMillis) {
+                rejectedCount++;
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejectedCount++;
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = SystemClock.elapsedRealtime();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * يسجل نتيجة طلب فشل: فقط الأخطاء المؤقتة (RetryPolicy.isRetryable) تُحسب كفشل،
+     * أما أخطاء 4xx وغيرها فتعني أن الخادم يعمل فتُعامل كنجاح.
+     */
+    public void onError(Throwable error) {
+        if (RetryPolicy.isRetryable(error)) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+    /**
+     * الطلب أُلغي قبل معرفة نتيجته (مثلاً أُغلقت الشاشة)؛ يسمح بطلب تجريبي آخر في HALF_OPEN.
+     */
+    public synchronized void onCancelled() {
+        probeInFlight = false;
+    }
+
+    private void transitionTo(State newState) {
+        AppLogger.w(TAG, endpoint + ": " + state + " -> " + newState);
+        state = newState;
+        switch (newState) {
+            case OPEN:
+                openedCount++;
+                break;
+            case HALF_OPEN:
+                halfOpenedCount++;
+                break;
+            case CLOSED:
+                closedCount++;
+                consecutiveFailures = 0;
+                break;
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+
+    public synchronized long getHalfOpenedCount() {
+        return halfOpenedCount;
+    }
+
+    public synchronized long getClosedCount() {
+        return closedCount;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker{" + endpoint + ", state=" + state
+                + ", opened=" + openedCount + ", halfOpened=" + halfOpenedCount
+                + ", closed=" + closedCount + ", rejected=" + rejectedCount + '}';
+    }
+}
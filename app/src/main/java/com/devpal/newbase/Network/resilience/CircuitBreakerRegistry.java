@@ -0,0 +1,37 @@
+package com.devpal.newbase.Network.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CircuitBreakerRegistry: يحتفظ بـ CircuitBreaker منفصل لكل نقطة نهاية،
+ * فتعطل نقطة واحدة (مثل الإشعارات) لا يوقف باقي الطلبات (مثل الملف الشخصي).
+ */
+public final class CircuitBreakerRegistry {
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param failureThreshold عدد الأخطاء المتتالية قبل فتح الـ Circuit.
+     * @param openDurationMillis مدة بقاء الـ Circuit مفتوحًا قبل السماح بطلب تجريبي.
+     */
+    public CircuitBreakerRegistry(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    public CircuitBreaker forEndpoint(String endpoint) {
+        return breakers.computeIfAbsent(endpoint,
+                key -> new CircuitBreaker(key, failureThreshold, openDurationMillis));
+    }
+
+    /**
+     * @return جميع الـ Circuit Breakers الحالية (للمراقبة والتصحيح).
+     */
+    public List<CircuitBreaker> getAll() {
+        return new ArrayList<>(breakers.values());
+    }
+}
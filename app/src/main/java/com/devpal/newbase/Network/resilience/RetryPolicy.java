@@ -0,0 +1,127 @@
+package com.devpal.newbase.Network.resilience;
+
+import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.exceptions.NoInternetException;
+import com.devpal.newbase.utils.AppLogger;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import okhttp3.Headers;
+import retrofit2.HttpException;
+
+/**
+ * RetryPolicy: سياسة إعادة المحاولة لطلبات GET (Idempotent) عند الأخطاء المؤقتة.
+ *
+ * - يعاد المحاولة فقط لأخطاء الشبكة (IOException مثل انتهاء المهلة) وأكواد HTTP 408 و 429 و 5xx.
+ *   عدم وجود إنترنت (NoInternetException) أو ApiException (مثل Circuit مفتوح) لا يعاد.
+ * - التأخير: Exponential Backoff مع Full Jitter، أي قيمة عشوائية بين 0 و min(maxDelay, baseDelay * 2^n)،
+ *   حتى لا تعيد جميع الأجهزة المحاولة في نفس اللحظة.
+ * - إذا أرسل الخادم Retry-After (ثوانٍ أو تاريخ HTTP) يتم احترامه بدلاً من التأخير المحسوب،
+ *   وإذا تجاوز maxDelay لا يعاد المحاولة (الخطأ يصل مباشرة إلى المستدعي).
+ */
+public final class RetryPolicy {
+
+    private static final String TAG = "RetryPolicy";
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxRetries عدد مرات إعادة المحاولة بعد المحاولة الأولى (0 لتعطيل إعادة المحاولة).
+     * @param baseDelayMillis التأخير الأساسي قبل المحاولة الأولى.
+     * @param maxDelayMillis الحد الأقصى للتأخير بين محاولتين.
+     */
+    public RetryPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * السياسة الافتراضية: حتى 3 إعادات، تبدأ من 500ms وبحد أقصى 8 ثوانٍ.
+     */
+    public static RetryPolicy defaultPolicy() {
+        return new RetryPolicy(3, 500, 8_000);
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(0, 0, 0);
+    }
+
+    /**
+     * دالة لاستخدامها مع retryWhen() في RxJava.
+     * @param endpoint نقطة النهاية (للتسجيل فقط).
+     */
+    public Function<Flowable<Throwable>, Flowable<Long>> retryWhen(String endpoint) {
+        return errors -> errors
+                .zipWith(Flowable.range(1, maxRetries + 1), (error, attempt) -> {
+                    long delay = attempt <= maxRetries ? delayFor(error, attempt) : -1;
+                    if (delay < 0) {
+                        throw error instanceof Exception ? (Exception) error : new RuntimeException(error);
+                    }
+                    AppLogger.w(TAG, "Retrying " + endpoint + " (attempt " + attempt + "/" + maxRetries
+                            + ") in " + delay + "ms after: " + error.getMessage());
+                    return delay;
+                })
+                .flatMap(delay -> Flowable.timer(delay, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * @return التأخير قبل المحاولة التالية بالمللي ثانية، أو -1 إذا يجب عدم إعادة المحاولة.
+     */
+    long delayFor(Throwable error, int attempt) {
+        if (!isRetryable(error)) {
+            return -1;
+        }
+        long retryAfter = retryAfterMillis(error);
+        if (retryAfter >= 0) {
+            return retryAfter <= maxDelayMillis ? retryAfter : -1;
+        }
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * هل الخطأ مؤقت ويستحق إعادة المحاولة؟ (يستخدمه CircuitBreaker أيضًا لتحديد أخطاء الخادم)
+     */
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof NoInternetException || error instanceof ApiException) {
+            return false;
+        }
+        if (error instanceof IOException) {
+            return true;
+        }
+        if (error instanceof HttpException) {
+            int code = ((HttpException) error).code();
+            return code == 408 || code == 429 || code >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * يقرأ رأس Retry-After (ثوانٍ أو تاريخ HTTP).
+     * @return التأخير بالمللي ثانية، أو -1 إذا لم يكن موجودًا أو غير صالح.
+     */
+    private static long retryAfterMillis(Throwable error) {
+        if (!(error instanceof HttpException) || ((HttpException) error).response() == null) {
+            return -1;
+        }
+        Headers headers = ((HttpException) error).response().headers();
+        String value = headers.get("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException ignored) {
+            Date date = headers.getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.devpal.newbase.Network.streaming;
+
+import com.devpal.newbase.response.ApiResponse;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+/**
+ * JsonArrayStreamReader: يقرأ استجابة بشكل ApiResponse ({"status", "message", "data": [...]})
+ * مباشرة من مصدر OkHttp عبر JsonReader، عنصرًا بعنصر، بدلاً من تحويل الجسم كاملاً إلى قائمة.
+ * العناصر تُسلم إلى BatchConsumer على دفعات بحجم batchSize، فلا يتجاوز ما في الذاكرة دفعة واحدة
+ * مهما كان حجم الاستجابة.
+ *
+ * @param <T> نوع عناصر المصفوفة data.
+ */
+public final class JsonArrayStreamReader<T> {
+
+    /**
+     * يستقبل كل دفعة من العناصر (مثلاً لكتابتها في Room داخل Transaction واحدة).
+     */
+    public interface BatchConsumer<T> {
+        void accept(List<T> batch) throws Exception;
+    }
+
+    private final Gson gson;
+    private final Class<T> itemType;
+    private final int batchSize;
+
+    public JsonArrayStreamReader(Gson gson, Class<T> itemType, int batchSize) {
+        this.gson = gson;
+        this.itemType = itemType;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * يقرأ الجسم حتى النهاية ويغلقه.
+     * @param body جسم الاستجابة (من طلب @Streaming).
+     * @param consumer مستقبل الدفعات.
+     * @return ApiResponse بحالة ورسالة الخادم، و data = عدد العناصر المقروءة.
+     */
+    public ApiResponse<Integer> read(ResponseBody body, BatchConsumer<T> consumer) throws Exception {
+        String status = null;
+        String message = null;
+        int count = 0;
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("status".equals(name) && reader.peek() != JsonToken.NULL) {
+                    status = reader.nextString();
+                } else if ("message".equals(name) && reader.peek() != JsonToken.NULL) {
+                    message = reader.nextString();
+                } else if ("data".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    count = readArray(reader, consumer);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return new ApiResponse<>(status, message, count);
+    }
+
+    private int readArray(JsonReader reader, BatchConsumer<T> consumer) throws Exception {
+        int count = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T item = gson.fromJson(reader, itemType); // يقرأ عنصرًا واحدًا فقط من المصدر
+            if (item != null) {
+                batch.add(item);
+                count++;
+            }
+            if (batch.size() >= batchSize) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        reader.endArray();
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+        return count;
+    }
+}
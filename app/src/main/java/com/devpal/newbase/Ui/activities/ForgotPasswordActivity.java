@@ -11,13 +11,12 @@ import com.devpal.newbase.Ui.base.BaseActivity;
 import com.devpal.newbase.utils.AppLogger;
 import com.devpal.newbase.utils.ErrorHandler;
 import com.devpal.newbase.utils.Validator;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
 import javax.inject.Inject;
 
 import dagger.hilt.android.AndroidEntryPoint;
-import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
-import io.reactivex.schedulers.Schedulers;
 
 /**
  * ForgotPasswordActivity: شاشة استعادة كلمة المرور.
@@ -33,6 +32,9 @@ public class ForgotPasswordActivity extends BaseActivity {
     @Inject
     UserRepository userRepository; // حقن UserRepository للتعامل مع منطق استعادة كلمة المرور
 
+    @Inject
+    SchedulerProvider schedulers;
+
     private CompositeDisposable compositeDisposable;
 
     @Override
@@ -81,8 +83,7 @@ public class ForgotPasswordActivity extends BaseActivity {
 
         // إجراء استدعاء API لإعادة تعيين كلمة المرور
         compositeDisposable.add(userRepository.forgotPassword(email)
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
+                .observeOn(schedulers.ui())
                 .subscribe(apiResponse -> {
                     hideProgressDialog(); // إخفاء Progress Dialog
                     if (apiResponse.isSuccess()) {
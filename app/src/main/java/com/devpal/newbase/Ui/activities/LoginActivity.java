@@ -5,28 +5,30 @@ import android.os.Bundle;
 import android.text.TextUtils; // لاستخدام TextUtils
 import android.view.View; // لاستخدام View
 
-import com.devpal.newbase.Models.User;
-import com.devpal.newbase.Network.ApiHelper; // ApiHelper للحصول على البيانات
 import com.devpal.newbase.R; // استيراد R لتحديد الموارد
 import com.devpal.newbase.databinding.ActivityLoginBinding; // استيراد Data Binding (سيتم توليده تلقائيًا)
 import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.managers.PostLoginWarmUp;
+import com.devpal.newbase.repository.UserRepository;
 import com.devpal.newbase.Ui.base.BaseActivity; // استيراد BaseActivity
 import com.devpal.newbase.utils.AppLogger; // استيراد AppLogger
 import com.devpal.newbase.utils.ErrorHandler; // استيراد ErrorHandler
 import com.devpal.newbase.utils.SessionManager; // استيراد SessionManager
 import com.devpal.newbase.utils.Validator; // استيراد Validator
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
 import javax.inject.Inject; // لاستخدام @Inject
 
 import dagger.hilt.android.AndroidEntryPoint; // لاستخدام @AndroidEntryPoint
-import io.reactivex.android.schedulers.AndroidSchedulers; // RxJava Android Schedulers
+import io.reactivex.Single;
 import io.reactivex.disposables.CompositeDisposable; // لإدارة اشتراكات RxJava
-import io.reactivex.schedulers.Schedulers; // RxJava Schedulers
 
 /**
  * LoginActivity: شاشة تسجيل الدخول للمستخدم.
  * تسمح للمستخدم بإدخال بريده الإلكتروني وكلمة المرور لتسجيل الدخول.
- * تستخدم Dagger Hilt لحقن التبعيات (مثل ApiHelper و SessionManager).
+ * تستخدم Dagger Hilt لحقن التبعيات (مثل UserRepository و SessionManager).
+ * بعد نجاح تسجيل الدخول تنتظر PostLoginWarmUp (بمهلة محددة) قبل فتح MainActivity،
+ * فتُفتح الشاشة الرئيسية ببيانات محفوظة مسبقًا في Room.
  */
 @AndroidEntryPoint
 public class LoginActivity extends BaseActivity {
@@ -35,11 +37,17 @@ public class LoginActivity extends BaseActivity {
     private ActivityLoginBinding binding; // كائن Data Binding لتسهيل الوصول إلى الـ Views
 
     @Inject
-    ApiHelper apiHelper; // حقن ApiHelper للتعامل مع استدعاءات الـ API
+    UserRepository userRepository; // تسجيل الدخول وحفظ الجلسة والمستخدم في Room
+
+    @Inject
+    PostLoginWarmUp postLoginWarmUp; // تجهيز بيانات الشاشة الرئيسية بالتوازي بعد تسجيل الدخول
 
     @Inject
     SessionManager sessionManager; // حقن SessionManager لإدارة جلسة المستخدم
 
+    @Inject
+    SchedulerProvider schedulers; // الانتقال إلى Main thread يتم هنا فقط (طبقة العرض)
+
     private CompositeDisposable compositeDisposable; // لإدارة اشتراكات RxJava ومنع تسرب الذاكرة
 
     @Override
@@ -116,15 +124,17 @@ public class LoginActivity extends BaseActivity {
         showProgressDialog(getString(R.string.logging_in));
 
         // إجراء استدعاء API لتسجيل الدخول باستخدام RxJava
-        compositeDisposable.add(apiHelper.loginUser(new User(email, password)) // User هنا كـ LoginRequest
-                .subscribeOn(Schedulers.io()) // تنفيذ في Background thread
-                .observeOn(AndroidSchedulers.mainThread()) // مراقبة النتائج في Main thread (UI)
+        // UserRepository يحفظ الجلسة والمستخدم في الخلفية، ثم تُجهز بيانات الشاشة الرئيسية قبل الانتقال إليها
+        compositeDisposable.add(userRepository.loginUser(email, password)
+                .flatMap(apiResponse -> apiResponse.isSuccess() && apiResponse.getData() != null
+                        ? postLoginWarmUp.warmUp(apiResponse.getData()).andThen(Single.just(apiResponse))
+                        : Single.just(apiResponse))
+                .observeOn(schedulers.ui()) // مراقبة النتائج في Main thread (UI)
                 .subscribe(apiResponse -> {
                     hideProgressDialog(); // إخفاء Progress Dialog
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         // تسجيل الدخول بنجاح
                         AppLogger.i(TAG, "Login successful for user: " + apiResponse.getData().getEmail());
-                        sessionManager.loginUser(apiResponse.getData().getToken(), apiResponse.getData());
                         showToast(getString(R.string.login_success));
                         // الانتقال إلى الشاشة الرئيسية (MainActivity)
                         startActivity(new Intent(LoginActivity.this, MainActivity.class));
@@ -10,6 +10,9 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.devpal.newbase.R; // استيراد R لتحديد الموارد
+import com.devpal.newbase.repository.NotificationRepository; // مصدر عدد الإشعارات غير المقروءة للشارة
+import com.devpal.newbase.repository.UserRepository; // تسجيل الخروج
+import com.devpal.newbase.services.BackgroundSyncService; // جدولة المزامنة في الخلفية
 import com.devpal.newbase.databinding.ActivityMainBinding; // استيراد Data Binding (سيتم توليده تلقائيًا)
 import com.devpal.newbase.Ui.base.BaseActivity; // استيراد BaseActivity
 import com.devpal.newbase.Ui.fragments.HomeFragment; // استيراد Fragments (سننشئها لاحقًا)
@@ -18,10 +21,14 @@ import com.devpal.newbase.Ui.fragments.ProfileFragment;
 import com.devpal.newbase.Ui.fragments.SettingsFragment;
 import com.devpal.newbase.utils.AppLogger; // استيراد AppLogger
 import com.devpal.newbase.utils.SessionManager; // استيراد SessionManager
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
 import javax.inject.Inject; // لاستخدام @Inject
 
+import com.google.android.material.badge.BadgeDrawable; // شارة عدد الإشعارات على Bottom Navigation
+
 import dagger.hilt.android.AndroidEntryPoint; // لاستخدام @AndroidEntryPoint
+import io.reactivex.disposables.CompositeDisposable; // لإدارة اشتراكات RxJava
 
 /**
  * MainActivity: الشاشة الرئيسية للتطبيق بعد تسجيل الدخول.
@@ -37,6 +44,20 @@ public class MainActivity extends BaseActivity {
     @Inject
     SessionManager sessionManager; // حقن SessionManager للتحقق من حالة تسجيل الدخول
 
+    @Inject
+    NotificationRepository notificationRepository; // حقن NotificationRepository لشارة الإشعارات
+
+    @Inject
+    BackgroundSyncService backgroundSyncService; // حقن BackgroundSyncService لجدولة المزامنة
+
+    @Inject
+    UserRepository userRepository; // تسجيل الخروج (الجلسة والبيانات المحلية)
+
+    @Inject
+    SchedulerProvider schedulers;
+
+    private final CompositeDisposable compositeDisposable = new CompositeDisposable(); // لإدارة اشتراكات RxJava
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -53,7 +74,15 @@ public class MainActivity extends BaseActivity {
             return; // إنهاء دالة onCreate
         }
 
+        // الشاشات تقرأ من Room فقط؛ تحديث البيانات من الشبكة يتم في الخلفية عبر SyncWorker
+        if (savedInstanceState == null) {
+            backgroundSyncService.schedulePeriodicSync();
+            backgroundSyncService.requestImmediateSync();
+        }
+
         setupBottomNavigationView(); // إعداد Bottom Navigation
+        observeUnreadBadge(); // تحديث شارة الإشعارات غير المقروءة تلقائيًا
+        observeSessionExpired(); // الخادم رفض رمز التجديد: العودة إلى تسجيل الدخول
         // عرض الـ Fragment الافتراضي عند بدء الـ Activity
         if (savedInstanceState == null) {
             loadFragment(new HomeFragment());
@@ -67,6 +96,41 @@ public class MainActivity extends BaseActivity {
         binding.navView.setOnItemSelectedListener(this::onNavigationItemSelected);
     }
 
+    /**
+     * يشترك في عدد الإشعارات غير المقروءة من NotificationRepository.
+     * العدد يأتي من استعلام COUNT(*) مفهرس ومشترك، ويُحدّث تلقائيًا عند تغير جدول الإشعارات،
+     * فلا يتم تحميل أي إشعار لتحديث الشارة.
+     */
+    private void observeUnreadBadge() {
+        compositeDisposable.add(notificationRepository.observeUnreadCount()
+                .observeOn(schedulers.ui())
+                .subscribe(this::updateNotificationsBadge,
+                        throwable -> AppLogger.e(TAG, "Failed to observe unread notifications count.", throwable)));
+    }
+
+    /**
+     * عند انتهاء الجلسة (رفض الخادم رمز التجديد في TokenRefresher) يُوجه المستخدم إلى LoginActivity.
+     * حذف البيانات المحلية يتم في BaseApplication، لأن الجلسة قد تنتهي بدون أي شاشة مفتوحة.
+     */
+    private void observeSessionExpired() {
+        compositeDisposable.add(sessionManager.observeSessionExpired()
+                .observeOn(schedulers.ui())
+                .subscribe(expiredAt -> {
+                    showToast(getString(R.string.session_expired));
+                    openLoginAfterLogout();
+                }, throwable -> AppLogger.e(TAG, "Failed to observe session expiry.", throwable)));
+    }
+
+    /**
+     * يحدّث شارة تبويب الإشعارات في BottomNavigationView.
+     * @param unreadCount عدد الإشعارات غير المقروءة.
+     */
+    private void updateNotificationsBadge(int unreadCount) {
+        BadgeDrawable badge = binding.navView.getOrCreateBadge(R.id.navigation_notifications);
+        badge.setNumber(unreadCount);
+        badge.setVisible(unreadCount > 0);
+    }
+
     /**
      * دالة معالجة حدث اختيار عنصر في BottomNavigationView.
      * تُحدد الـ Fragment الذي يجب عرضه بناءً على العنصر المختار.
@@ -111,13 +175,32 @@ public class MainActivity extends BaseActivity {
         AppLogger.d(TAG, "Fragment loaded: " + fragment.getClass().getSimpleName());
     }
 
-    // يمكنك إضافة دوال للتعامل مع تسجيل الخروج، على سبيل المثال:
+    /**
+     * تسجيل الخروج عبر UserRepository.logoutUser() (الجلسة، المزامنة، والبيانات المحلية)، ثم الانتقال إلى LoginActivity.
+     * الجلسة تُمسح قبل حذف البيانات، فيتم الانتقال حتى لو فشل الحذف.
+     */
     public void performLogout() {
         showProgressDialog(getString(R.string.logging_out)); // "جاري تسجيل الخروج..."
-        sessionManager.logoutUser();
+        compositeDisposable.add(userRepository.logoutUser()
+                .observeOn(schedulers.ui())
+                .subscribe(this::openLoginAfterLogout, throwable -> {
+                    AppLogger.e(TAG, "Failed to clear local data on logout.", throwable);
+                    openLoginAfterLogout();
+                }));
+    }
+
+    private void openLoginAfterLogout() {
         hideProgressDialog();
         startActivity(new Intent(MainActivity.this, LoginActivity.class));
         finish();
         AppLogger.i(TAG, "User logged out, redirected to LoginActivity.");
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // التخلص من جميع اشتراكات RxJava لمنع تسرب الذاكرة
+        compositeDisposable.clear();
+        AppLogger.d(TAG, "CompositeDisposable cleared in onDestroy.");
+    }
 }
@@ -16,15 +16,14 @@ import com.devpal.newbase.utils.AppLogger;
 import com.devpal.newbase.utils.ErrorHandler;
 import com.devpal.newbase.utils.Validator;
 import com.devpal.newbase.utils.AppConstants; // استيراد كلاس AppConstants لجلب قائمة الدول
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
 import java.util.List;
 
 import javax.inject.Inject;
 
 import dagger.hilt.android.AndroidEntryPoint;
-import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
-import io.reactivex.schedulers.Schedulers;
 
 /**
  * RegisterActivity: شاشة تسجيل حساب جديد للمستخدم.
@@ -42,6 +41,9 @@ public class RegisterActivity extends BaseActivity {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    SchedulerProvider schedulers;
+
     private CompositeDisposable compositeDisposable;
 
     private Country selectedCountry; // لتخزين الدولة المختارة حالياً
@@ -251,8 +253,7 @@ public class RegisterActivity extends BaseActivity {
         registerRequest.setPhoneNumber(fullPhoneNumber); // تعيين رقم الهاتف الكامل
 
         compositeDisposable.add(userRepository.registerUser(registerRequest)
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
+                .observeOn(schedulers.ui())
                 .subscribe(apiResponse -> {
                     // استخدام دالة إخفاء التقدم من BaseActivity
                     super.hideProgressDialog();
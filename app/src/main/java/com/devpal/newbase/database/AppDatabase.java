@@ -5,9 +5,13 @@ import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters; // لاستخدام المحولات المخصصة
 
 import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.NotificationReadOutbox;
+import com.devpal.newbase.Models.UploadTask;
 import com.devpal.newbase.Models.User;
 import com.devpal.newbase.database.converters.DateConverter; // سننشئ هذا الكلاس لاحقًا
 import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.database.dao.NotificationOutboxDao;
+import com.devpal.newbase.database.dao.UploadDao;
 import com.devpal.newbase.database.dao.UserDao;
 
 /**
@@ -16,15 +20,15 @@ import com.devpal.newbase.database.dao.UserDao;
  *
  * version: رقم إصدار قاعدة البيانات. يجب زيادته عند إجراء أي تغييرات في هيكل الجداول.
  * entities: قائمة بالكلاسات التي تمثل الجداول في قاعدة البيانات.
- * exportSchema: إذا كان true، سيقوم Room بتصدير المخطط الخاص بقاعدة البيانات إلى مجلد محدد
- * (مفيد لعمليات الترحيل Migrations). اجعله false في بيئة الإنتاج لتجنب المشاكل.
+ * exportSchema: يقوم Room بتصدير مخطط كل إصدار إلى مجلد app/schemas (محدد في build.gradle)
+ * ليتم حفظه في Git ومراجعة عمليات الترحيل (AppMigrations) مقابله.
  *
  * @TypeConverters: لتحديد محولات TypesConverters إذا كنت تخزن أنواع بيانات معقدة (مثل Date, UUID, JSON).
  */
 @Database(
-        entities = {User.class, Notification.class}, // تحديد كلاسات الـ Entity هنا
-        version = 2, // **مهم: تم زيادة الإصدار إلى 2 بسبب تغيير هيكل User و Notification**
-        exportSchema = false // اجعلها false في الإنتاج
+        entities = {User.class, Notification.class, NotificationReadOutbox.class, UploadTask.class}, // تحديد كلاسات الـ Entity هنا
+        version = 7, // 7: sent_at أصبح NOT NULL (انظر AppMigrations)
+        exportSchema = true // تصدير المخطط إلى app/schemas
 )
 // استخدام محولات الأنواع إذا كنت تخزن كائنات غير بدائية (مثل Date/Timestamp)
 @TypeConverters({DateConverter.class}) // سيتم إنشاء هذا الكلاس قريباً
@@ -33,6 +37,8 @@ public abstract class AppDatabase extends RoomDatabase {
     // الدوال المجردة للحصول على DAOs
     public abstract UserDao userDao();
     public abstract NotificationDao notificationDao();
+    public abstract NotificationOutboxDao notificationOutboxDao();
+    public abstract UploadDao uploadDao();
 
     // يمكنك إضافة المزيد من DAOs هنا إذا كان لديك جداول أخرى
 }
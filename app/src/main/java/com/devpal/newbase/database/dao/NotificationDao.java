@@ -5,13 +5,18 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.room.Upsert;
 
 import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.NotificationCount;
+import com.devpal.newbase.Models.NotificationListItem;
 
 import java.util.List;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 
 /**
@@ -21,12 +26,26 @@ import io.reactivex.Single;
 @Dao
 public interface NotificationDao {
 
+    // الأعمدة التي تحتاجها قائمة الإشعارات فقط (انظر NotificationListItem)
+    String LIST_ITEM_COLUMNS = "id, title, short_description, image_url, read_status, priority, sent_at";
+
+    // الحد الآمن لعدد المعرفات في استعلام IN واحد (حد SQLite الافتراضي 999 متغير)
+    int MAX_SQL_VARIABLES = 500;
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     Completable insertNotification(Notification notification);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     Completable insertAllNotifications(List<Notification> notifications);
 
+    // REPLACE أعلاه يحذف الصف ثم يدرجه من جديد؛ مسارات المزامنة تستخدم Upsert الذي يحدّث الصف في مكانه.
+
+    @Upsert
+    Completable upsertNotification(Notification notification);
+
+    @Upsert
+    Completable upsertNotifications(List<Notification> notifications);
+
     @Update
     Completable updateNotification(Notification notification);
 
@@ -37,9 +56,181 @@ public interface NotificationDao {
     @Query("SELECT * FROM notifications ORDER BY sent_at DESC")
     Single<List<Notification>> getAllNotifications();
 
+    // --- استعلامات قائمة الإشعارات (Projection) ---
+    // تقرأ فقط الأعمدة المعروضة في القائمة بدلاً من SELECT * لتقليل النسخ من الـ Cursor.
+
+    /**
+     * جلب جميع عناصر قائمة الإشعارات (الأعمدة المعروضة فقط).
+     * @return Single بقائمة NotificationListItem.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications ORDER BY sent_at DESC, id DESC")
+    Single<List<NotificationListItem>> getAllNotificationListItems();
+
+    // --- استعلامات تفاعلية (Flowable) ---
+    // يعيد Room إصدار النتيجة تلقائيًا عند أي تغيير في جدول notifications (Invalidation)،
+    // فلا تحتاج الواجهة إلى إعادة الاستعلام يدويًا.
+
+    /**
+     * مراقبة أحدث عناصر قائمة الإشعارات.
+     * للقوائم الكبيرة استخدم الترقيم (NotificationRepository.getPagedNotifications).
+     * @param limit الحد الأقصى لعدد العناصر.
+     * @return Flowable يُصدر القائمة عند كل تغيير في الجدول.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Flowable<List<NotificationListItem>> observeLatestNotificationListItems(int limit);
+
+    /**
+     * مراقبة عدد الإشعارات غير المقروءة.
+     * @return Flowable يُصدر العدد عند كل تغيير في الجدول.
+     */
+    @Query("SELECT COUNT(*) FROM notifications WHERE read_status = 'unread'")
+    Flowable<Integer> observeUnreadCount();
+
+    /**
+     * عدد الإشعارات غير المقروءة مرة واحدة (بدون مراقبة).
+     * @return Single يحتوي على العدد.
+     */
+    @Query("SELECT COUNT(*) FROM notifications WHERE read_status = 'unread'")
+    Single<Integer> getUnreadCount();
+
+    /**
+     * مراقبة عدد الإشعارات مجمعة حسب حالة القراءة والفئة.
+     * يُنفذ بالكامل من الفهرس (read_status, category) بدون قراءة صفوف الجدول.
+     * @return Flowable بقائمة NotificationCount عند كل تغيير في الجدول.
+     */
+    @Query("SELECT read_status, category, COUNT(*) AS count FROM notifications GROUP BY read_status, category")
+    Flowable<List<NotificationCount>> observeCountsByStatusAndCategory();
+
+    // --- ترقيم الصفحات بالمفتاح (Keyset Pagination) على (sent_at, id) ---
+    // بدلاً من OFFSET الذي يمسح كل الصفوف السابقة، نبدأ كل صفحة من آخر مفتاح تم عرضه.
+
+    /**
+     * جلب الصفحة الأولى من عناصر قائمة الإشعارات (الأحدث أولاً).
+     * @param limit الحد الأقصى لعدد الصفوف في الصفحة.
+     * @return Single بقائمة NotificationListItem.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Single<List<NotificationListItem>> getNotificationsFirstPage(int limit);
+
+    /**
+     * جلب الصفحة التالية من عناصر قائمة الإشعارات التي تأتي بعد المفتاح (sentAt, id) في الترتيب التنازلي.
+     * @param sentAt قيمة sent_at لآخر إشعار في الصفحة السابقة.
+     * @param id معرف آخر إشعار في الصفحة السابقة (لفك التعادل عند تساوي sent_at).
+     * @param limit الحد الأقصى لعدد الصفوف في الصفحة.
+     * @return Single بقائمة NotificationListItem.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications " +
+            "WHERE sent_at < :sentAt OR (sent_at = :sentAt AND id < :id) " +
+            "ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Single<List<NotificationListItem>> getNotificationsPageAfter(long sentAt, String id, int limit);
+
+    /**
+     * جلب صفحة تبدأ من المفتاح (sentAt, id) نفسه (شاملاً له)، تُستخدم في REFRESH لاستعادة موضع التمرير.
+     * @param sentAt قيمة sent_at للعنصر الأقرب لموضع التمرير.
+     * @param id معرف ذلك العنصر.
+     * @param limit الحد الأقصى لعدد الصفوف في الصفحة.
+     * @return Single بقائمة NotificationListItem.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications " +
+            "WHERE sent_at < :sentAt OR (sent_at = :sentAt AND id <= :id) " +
+            "ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Single<List<NotificationListItem>> getNotificationsPageFrom(long sentAt, String id, int limit);
+
+    /**
+     * جلب الصفحة السابقة: العناصر التي تأتي قبل المفتاح (sentAt, id) في الترتيب التنازلي.
+     * مرتبة تصاعديًا (الأقرب إلى المفتاح أولاً) حتى يطبق LIMIT عليها، ويعكسها NotificationPagingSource.
+     * @param sentAt قيمة sent_at لأول إشعار في الصفحة الحالية.
+     * @param id معرف أول إشعار في الصفحة الحالية.
+     * @param limit الحد الأقصى لعدد الصفوف في الصفحة.
+     * @return Single بقائمة NotificationListItem بترتيب تصاعدي.
+     */
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM notifications " +
+            "WHERE sent_at > :sentAt OR (sent_at = :sentAt AND id > :id) " +
+            "ORDER BY sent_at ASC, id ASC LIMIT :limit")
+    Single<List<NotificationListItem>> getNotificationsPageBefore(long sentAt, String id, int limit);
+
     @Query("SELECT * FROM notifications WHERE id = :notificationId LIMIT 1")
     Single<Notification> getNotificationById(String notificationId);
 
     @Query("DELETE FROM notifications")
     Completable deleteAllNotifications();
+
+    // --- تعليم الإشعارات كمقروءة محليًا (Local-first) ---
+
+    /**
+     * تعليم مجموعة إشعارات كمقروءة محليًا بشكل متزامن، للاستخدام داخل Transaction.
+     * @param notificationIds معرفات الإشعارات (بحد أقصى MAX_SQL_VARIABLES لكل استدعاء).
+     */
+    @Query("UPDATE notifications SET read_status = 'read' WHERE id IN (:notificationIds)")
+    void markAsReadSync(List<String> notificationIds);
+
+    /**
+     * تعليم جميع الإشعارات غير المقروءة كمقروءة محليًا بشكل متزامن، للاستخدام داخل Transaction.
+     */
+    @Query("UPDATE notifications SET read_status = 'read' WHERE read_status = 'unread'")
+    void markAllAsReadSync();
+
+    // --- المزامنة التزايدية (Delta Sync) ---
+
+    /**
+     * إدراج أو تحديث الإشعارات (Upsert) بشكل متزامن، للاستخدام داخل Transaction.
+     * يتم تحديث الصف الموجود بدلاً من حذفه وإعادة إدراجه كما في REPLACE.
+     */
+    @Upsert
+    void upsertNotificationsSync(List<Notification> notifications);
+
+    // --- الكتابة من بيانات الخادم مع الحفاظ على عمليات "مقروء" المعلقة ---
+
+    /**
+     * يعيد تطبيق "مقروء" على الإشعارات التي ما زالت معرفاتها في notification_read_outbox.
+     * نسخة الخادم لا تعرف هذه العمليات قبل إرسالها، فبدون ذلك يعيد Upsert الإشعار إلى 'unread'
+     * إلى أن يصل الإرسال المجمع. متزامنة للاستخدام داخل Transaction.
+     */
+    @Query("UPDATE notifications SET read_status = 'read' " +
+            "WHERE read_status IS NOT 'read' AND id IN (SELECT notification_id FROM notification_read_outbox)")
+    void reapplyPendingReadsSync();
+
+    /**
+     * Upsert لإشعارات قادمة من الخادم ثم إعادة تطبيق عمليات "مقروء" المعلقة، في Transaction واحدة،
+     * فلا يرى المراقبون (Observers) الحالة القديمة أبدًا. تستخدمه جميع مسارات المزامنة بدلاً من upsertNotifications.
+     * @param notifications الإشعارات كما أرسلها الخادم.
+     */
+    @Transaction
+    default void upsertFromServerSync(List<Notification> notifications) {
+        upsertNotificationsSync(notifications);
+        reapplyPendingReadsSync();
+    }
+
+    /**
+     * نسخة غير متزامنة من upsertFromServerSync (يحدد المستدعي الـ Scheduler عبر subscribeOn).
+     */
+    default Completable upsertFromServer(List<Notification> notifications) {
+        return Completable.fromAction(() -> upsertFromServerSync(notifications));
+    }
+
+    /**
+     * حذف الإشعارات حسب المعرفات بشكل متزامن، للاستخدام داخل Transaction.
+     */
+    @Query("DELETE FROM notifications WHERE id IN (:notificationIds)")
+    void deleteNotificationsByIdsSync(List<String> notificationIds);
+
+    /**
+     * تطبيق دفعة تغييرات من الخادم في Transaction واحدة:
+     * Upsert للإشعارات المعدلة فقط (مع إعادة تطبيق عمليات "مقروء" المعلقة)، ثم حذف الإشعارات التي أرسل الخادم معرفاتها كمحذوفة (Tombstones).
+     * بذلك يتم إشعار المراقبين (Observers) مرة واحدة فقط لكل دفعة.
+     * @param updated الإشعارات الجديدة أو المعدلة.
+     * @param deletedIds معرفات الإشعارات المحذوفة على الخادم.
+     */
+    @Transaction
+    default void applyDelta(List<Notification> updated, List<String> deletedIds) {
+        if (!updated.isEmpty()) {
+            upsertNotificationsSync(updated);
+            reapplyPendingReadsSync();
+        }
+        // تقسيم الحذف إلى دفعات لتجنب تجاوز حد متغيرات SQLite (999)
+        for (int start = 0; start < deletedIds.size(); start += MAX_SQL_VARIABLES) {
+            int end = Math.min(start + MAX_SQL_VARIABLES, deletedIds.size());
+            deleteNotificationsByIdsSync(deletedIds.subList(start, end));
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.devpal.newbase.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.devpal.newbase.Models.NotificationReadOutbox;
+
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+
+/**
+ * NotificationOutboxDao: DAO لجدول عمليات "مقروء" المعلقة (notification_read_outbox).
+ * العمليات تُضاف محليًا فورًا، ثم يرسلها SyncWorker للخادم في طلب مجمع واحد.
+ */
+@Dao
+public interface NotificationOutboxDao {
+
+    // الحد الآمن لعدد المعرفات في استعلام IN واحد (حد SQLite الافتراضي 999 متغير)
+    int MAX_SQL_VARIABLES = 500;
+
+    /**
+     * إضافة عمليات معلقة. المعرفات المكررة يتم تجاهلها (IGNORE) فتبقى عملية واحدة لكل إشعار.
+     * متزامنة للاستخدام داخل Transaction.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void enqueueSync(List<NotificationReadOutbox> entries);
+
+    /**
+     * إضافة جميع الإشعارات غير المقروءة حاليًا إلى الـ Outbox باستعلام واحد (لـ "تعليم الكل كمقروء").
+     * متزامنة للاستخدام داخل Transaction.
+     * @param queuedAt وقت الإضافة.
+     */
+    @Query("INSERT OR IGNORE INTO notification_read_outbox (notification_id, queued_at) " +
+            "SELECT id, :queuedAt FROM notifications WHERE read_status = 'unread'")
+    void enqueueAllUnreadSync(long queuedAt);
+
+    /**
+     * جلب معرفات العمليات المعلقة بترتيب الإضافة.
+     * @param limit الحد الأقصى لعدد المعرفات.
+     * @return Single بقائمة المعرفات (فارغة إذا لم يكن هناك عمليات معلقة).
+     */
+    @Query("SELECT notification_id FROM notification_read_outbox ORDER BY queued_at LIMIT :limit")
+    Single<List<String>> getPendingIds(int limit);
+
+    @Query("DELETE FROM notification_read_outbox WHERE notification_id IN (:notificationIds)")
+    void removeSync(List<String> notificationIds);
+
+    /**
+     * حذف العمليات التي تم إرسالها بنجاح، مقسمة إلى دفعات لتجنب تجاوز حد متغيرات SQLite.
+     * @param notificationIds المعرفات التي قبلها الخادم.
+     */
+    @Transaction
+    default void removeAll(List<String> notificationIds) {
+        for (int start = 0; start < notificationIds.size(); start += MAX_SQL_VARIABLES) {
+            int end = Math.min(start + MAX_SQL_VARIABLES, notificationIds.size());
+            removeSync(notificationIds.subList(start, end));
+        }
+    }
+
+    /**
+     * حذف جميع العمليات المعلقة (عند تسجيل الخروج: لا يجب إرسالها بجلسة المستخدم التالي).
+     * @return Completable للإشارة إلى اكتمال العملية.
+     */
+    @Query("DELETE FROM notification_read_outbox")
+    Completable clearAll();
+}
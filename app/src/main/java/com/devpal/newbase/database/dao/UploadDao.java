@@ -0,0 +1,67 @@
+package com.devpal.newbase.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.devpal.newbase.Models.UploadTask;
+
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+
+/**
+ * UploadDao: DAO لجدول عمليات رفع الملفات (upload_tasks).
+ * يحفظ تقدم كل عملية رفع بعد كل جزء (Chunk) حتى تستأنف من حيث توقفت.
+ */
+@Dao
+public interface UploadDao {
+
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    Completable insertUploadTask(UploadTask task);
+
+    @Query("SELECT * FROM upload_tasks WHERE id = :taskId")
+    Single<UploadTask> getUploadTaskById(String taskId);
+
+    /**
+     * مراقبة حالة وتقدم عملية رفع (لعرض شريط التقدم مثلاً).
+     */
+    @Query("SELECT * FROM upload_tasks WHERE id = :taskId")
+    Flowable<UploadTask> observeUploadTask(String taskId);
+
+    /**
+     * عمليات الرفع غير المكتملة (لإعادة جدولتها إذا لزم الأمر).
+     */
+    @Query("SELECT * FROM upload_tasks WHERE status IN ('pending', 'uploading') ORDER BY created_at")
+    Single<List<UploadTask>> getUnfinishedUploadTasks();
+
+    @Query("UPDATE upload_tasks SET remote_upload_id = :remoteUploadId, next_chunk_index = :nextChunkIndex, " +
+            "status = 'uploading', updated_at = :updatedAt WHERE id = :taskId")
+    Completable setRemoteUploadId(String taskId, String remoteUploadId, int nextChunkIndex, long updatedAt);
+
+    /**
+     * حفظ التقدم بعد قبول الخادم لجزء. لا يتم إرجاع التقدم إلى الخلف أبدًا.
+     */
+    @Query("UPDATE upload_tasks SET next_chunk_index = MAX(next_chunk_index, :nextChunkIndex), " +
+            "updated_at = :updatedAt WHERE id = :taskId")
+    Completable updateProgress(String taskId, int nextChunkIndex, long updatedAt);
+
+    @Query("UPDATE upload_tasks SET status = 'completed', result_url = :resultUrl, updated_at = :updatedAt " +
+            "WHERE id = :taskId")
+    Completable markCompleted(String taskId, String resultUrl, long updatedAt);
+
+    @Query("UPDATE upload_tasks SET status = 'failed', updated_at = :updatedAt WHERE id = :taskId")
+    Completable markFailed(String taskId, long updatedAt);
+
+    @Query("DELETE FROM upload_tasks WHERE status = 'completed'")
+    Completable deleteCompletedUploadTasks();
+
+    /**
+     * حذف جميع عمليات الرفع (عند تسجيل الخروج؛ الملفات تخص جلسة المستخدم السابق).
+     */
+    @Query("DELETE FROM upload_tasks")
+    Completable deleteAllUploadTasks();
+}
@@ -6,12 +6,14 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
+import androidx.room.Upsert;
 
 import com.devpal.newbase.Models.User;
 
 import java.util.List;
 
 import io.reactivex.Completable; // لعمليات لا تُرجع بيانات
+import io.reactivex.Flowable;    // لاستعلامات تُعيد الإصدار عند تغير البيانات
 import io.reactivex.Single;     // لعمليات تُرجع قيمة واحدة أو قائمة
 
 /**
@@ -23,12 +25,22 @@ public interface UserDao {
 
     /**
      * إدخال مستخدم جديد أو استبدال مستخدم موجود.
+     * ملاحظة: REPLACE في SQLite يعني حذف الصف ثم إدراجه من جديد (إعادة كتابة الفهارس وإبطال المراقبين)،
+     * لذلك تستخدم مسارات المزامنة upsertUser بدلاً منه.
      * @param user كائن المستخدم.
      * @return Completable للإشارة إلى نجاح أو فشل العملية.
      */
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     Completable insertUser(User user);
 
+    /**
+     * إدخال مستخدم جديد أو تحديث المستخدم الموجود في مكانه (Upsert) بدون حذف الصف.
+     * @param user كائن المستخدم.
+     * @return Completable للإشارة إلى نجاح أو فشل العملية.
+     */
+    @Upsert
+    Completable upsertUser(User user);
+
     /**
      * تحديث بيانات مستخدم.
      * @param user الكائن المحدث.
@@ -37,6 +49,44 @@ public interface UserDao {
     @Update
     Completable updateUser(User user);
 
+    /**
+     * تحديث حقول الملف الشخصي التي أرسلها المستخدم فقط: كل معامل null يُبقي قيمة العمود الحالية،
+     * فلا تُمسح الحقول التي لم يرسلها التعديل (الصورة، الحالة، التواريخ...). لا يُدرج صفًا إذا لم يوجد المستخدم.
+     * @return Completable للإشارة إلى نجاح أو فشل العملية.
+     */
+    @Query("UPDATE users SET "
+            + "username = COALESCE(:username, username), "
+            + "email = COALESCE(:email, email), "
+            + "first_name = COALESCE(:firstName, first_name), "
+            + "last_name = COALESCE(:lastName, last_name), "
+            + "phone_number = COALESCE(:phoneNumber, phone_number), "
+            + "profile_picture_url = COALESCE(:profilePictureUrl, profile_picture_url), "
+            + "bio = COALESCE(:bio, bio), "
+            + "street_address = COALESCE(:streetAddress, street_address), "
+            + "city = COALESCE(:city, city), "
+            + "state_province = COALESCE(:stateProvince, state_province), "
+            + "zip_postal_code = COALESCE(:zipPostalCode, zip_postal_code), "
+            + "country = COALESCE(:country, country), "
+            + "locale = COALESCE(:locale, locale) "
+            + "WHERE id = :userId")
+    Completable updateProfileColumns(String userId, String username, String email, String firstName,
+                                     String lastName, String phoneNumber, String profilePictureUrl, String bio,
+                                     String streetAddress, String city, String stateProvince, String zipPostalCode,
+                                     String country, String locale);
+
+    /**
+     * تحديث جزئي للمستخدم userId من بيانات تعديل الملف الشخصي (انظر updateProfileColumns).
+     * @param userId معرف المستخدم.
+     * @param profile الحقول المعدلة؛ الحقول null لا تتغير.
+     * @return Completable للإشارة إلى نجاح أو فشل العملية.
+     */
+    default Completable updateProfile(String userId, User profile) {
+        return updateProfileColumns(userId, profile.getUsername(), profile.getEmail(), profile.getFirstName(),
+                profile.getLastName(), profile.getPhoneNumber(), profile.getProfilePictureUrl(), profile.getBio(),
+                profile.getStreetAddress(), profile.getCity(), profile.getStateProvince(), profile.getZipPostalCode(),
+                profile.getCountry(), profile.getLocale());
+    }
+
     /**
      * حذف مستخدم.
      * @param user المستخدم المراد حذفه.
@@ -60,6 +110,15 @@ public interface UserDao {
     @Query("SELECT * FROM users WHERE id = :userId LIMIT 1")
     Single<User> getUserById(String userId);
 
+    /**
+     * مراقبة مستخدم محدد حسب الـ ID.
+     * يُصدر Room القيمة الجديدة عند أي تغيير في جدول users، ولا يُصدر شيئًا إذا لم يوجد المستخدم.
+     * @param userId معرف المستخدم.
+     * @return Flowable يُصدر المستخدم عند كل تغيير.
+     */
+    @Query("SELECT * FROM users WHERE id = :userId LIMIT 1")
+    Flowable<User> observeUserById(String userId);
+
     /**
      * حذف جميع المستخدمين من الجدول.
      * @return Completable عند الانتهاء.
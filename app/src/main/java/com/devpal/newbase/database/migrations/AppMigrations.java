@@ -0,0 +1,114 @@
+package com.devpal.newbase.database.migrations;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * AppMigrations: جميع عمليات الترحيل (Migrations) لقاعدة بيانات Room.
+ * بدلاً من حذف قاعدة البيانات عند كل تحديث (fallbackToDestructiveMigration)،
+ * يتم ترقية الهيكل خطوة بخطوة مع الحفاظ على البيانات المخزنة محليًا.
+ *
+ * عند زيادة version في AppDatabase يجب إضافة Migration جديد هنا وإضافته إلى ALL،
+ * ويقوم Room بتصدير المخطط الجديد إلى مجلد app/schemas لمراجعته.
+ */
+public final class AppMigrations {
+
+    /**
+     * 2 -> 3: إضافة فهارس جدولي notifications و users.
+     * لا يتغير هيكل الأعمدة، لذلك تبقى جميع البيانات كما هي.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_user_id_sent_at` ON `notifications` (`user_id`, `sent_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_read_status_sent_at` ON `notifications` (`read_status`, `sent_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_sent_at_id` ON `notifications` (`sent_at`, `id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_category` ON `notifications` (`category`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_priority` ON `notifications` (`priority`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_email` ON `users` (`email`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_username` ON `users` (`username`)");
+        }
+    };
+
+    /**
+     * 3 -> 4: فهرس (read_status, category) لاستعلامات عدد الإشعارات (الشارات) بدون قراءة الصفوف.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_read_status_category` ON `notifications` (`read_status`, `category`)");
+        }
+    };
+
+    /**
+     * 4 -> 5: جدول notification_read_outbox لعمليات "مقروء" المعلقة التي ترسل كدفعة واحدة.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `notification_read_outbox` (`notification_id` TEXT NOT NULL, "
+                    + "`queued_at` INTEGER NOT NULL, PRIMARY KEY(`notification_id`))");
+        }
+    };
+
+    /**
+     * 5 -> 6: جدول upload_tasks لحفظ تقدم عمليات رفع الملفات المجزأة.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `upload_tasks` (`id` TEXT NOT NULL, `file_path` TEXT, "
+                    + "`mime_type` TEXT, `purpose` TEXT, `total_bytes` INTEGER NOT NULL, `chunk_size` INTEGER NOT NULL, "
+                    + "`next_chunk_index` INTEGER NOT NULL, `remote_upload_id` TEXT, `status` TEXT, `result_url` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_upload_tasks_status` ON `upload_tasks` (`status`)");
+        }
+    };
+
+    /**
+     * 6 -> 7: جعل sent_at في جدول notifications NOT NULL (افتراضيًا 0).
+     * الصفوف التي يكون فيها sent_at = NULL لا تطابق شرط الترقيم بالمفتاح (sent_at < ?)، فلا يمكن الوصول إليها.
+     * SQLite لا يسمح بتعديل قيود عمود موجود، لذلك يُعاد بناء الجدول مع نسخ الصفوف (NULL يصبح 0) وإعادة إنشاء الفهارس.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `notifications_new` (`id` TEXT NOT NULL, `user_id` TEXT, "
+                    + "`type` TEXT, `category` TEXT, `title` TEXT, `body` TEXT, `short_description` TEXT, "
+                    + "`image_url` TEXT, `action_type` TEXT, `action_value` TEXT, `payload` TEXT, "
+                    + "`read_status` TEXT, `priority` TEXT, `delivery_channel` TEXT, `sent_at` INTEGER NOT NULL DEFAULT 0, "
+                    + "`delivered_at` INTEGER, `created_at` INTEGER, `updated_at` INTEGER, PRIMARY KEY(`id`))");
+            db.execSQL("INSERT INTO `notifications_new` (`id`, `user_id`, `type`, `category`, `title`, `body`, "
+                    + "`short_description`, `image_url`, `action_type`, `action_value`, `payload`, `read_status`, "
+                    + "`priority`, `delivery_channel`, `sent_at`, `delivered_at`, `created_at`, `updated_at`) "
+                    + "SELECT `id`, `user_id`, `type`, `category`, `title`, `body`, `short_description`, `image_url`, "
+                    + "`action_type`, `action_value`, `payload`, `read_status`, `priority`, `delivery_channel`, "
+                    + "IFNULL(`sent_at`, 0), `delivered_at`, `created_at`, `updated_at` FROM `notifications`");
+            db.execSQL("DROP TABLE `notifications`");
+            db.execSQL("ALTER TABLE `notifications_new` RENAME TO `notifications`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_user_id_sent_at` ON `notifications` (`user_id`, `sent_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_read_status_sent_at` ON `notifications` (`read_status`, `sent_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_read_status_category` ON `notifications` (`read_status`, `category`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_sent_at_id` ON `notifications` (`sent_at`, `id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_category` ON `notifications` (`category`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_priority` ON `notifications` (`priority`)");
+        }
+    };
+
+    /**
+     * جميع عمليات الترحيل بالترتيب، لتمريرها إلى Room.databaseBuilder().addMigrations().
+     */
+    public static final Migration[] ALL = {
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7
+    };
+
+    // بناء كلاس AppMigrations لا يمكن إنشاء مثيل منه (Non-instantiable)
+    private AppMigrations() {
+        // منع إنشاء كائنات من هذا الكلاس
+    }
+}
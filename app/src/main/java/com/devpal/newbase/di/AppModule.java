@@ -3,18 +3,47 @@ package com.devpal.newbase.di;
 import android.content.Context;
 
 import androidx.room.Room; // استيراد Room
+import androidx.room.RoomDatabase;
+import androidx.work.WorkManager; // استيراد WorkManager
 
+import com.devpal.newbase.BuildConfig;
 import com.devpal.newbase.Network.ApiHelper;
 import com.devpal.newbase.Network.ApiService;
 import com.devpal.newbase.Network.ApiClient;
+import com.devpal.newbase.Network.adapters.AppGson;
+import com.devpal.newbase.Network.auth.AuthApi;
+import com.devpal.newbase.Network.auth.AuthInterceptor;
+import com.devpal.newbase.Network.auth.TokenAuthenticator;
+import com.devpal.newbase.Network.interceptors.NetworkTraceInterceptor;
+import com.devpal.newbase.Network.interceptors.PayloadSizeTracker;
+import com.devpal.newbase.Network.priority.PriorityCallFactory;
+import com.devpal.newbase.Network.resilience.CircuitBreakerRegistry;
+import com.devpal.newbase.Network.resilience.RetryPolicy;
 import com.devpal.newbase.database.AppDatabase;
 import com.devpal.newbase.database.dao.UserDao;
 import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.database.dao.NotificationOutboxDao;
+import com.devpal.newbase.database.dao.UploadDao;
+import com.devpal.newbase.database.migrations.AppMigrations;
+import com.devpal.newbase.managers.ConnectivityMonitor;
 import com.devpal.newbase.utils.SessionManager; // استيراد SessionManager
 import com.devpal.newbase.utils.AppLogger; // استيراد AppLogger
+import com.devpal.newbase.utils.debug.MainThreadIoDetector;
+import com.devpal.newbase.utils.schedulers.AppSchedulerProvider;
+import com.devpal.newbase.utils.schedulers.SchedulerMetricsRegistry;
+import com.devpal.newbase.utils.schedulers.SchedulerNames;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
+import com.google.gson.Gson;
+
+import javax.inject.Named;
 import javax.inject.Singleton;
 
+import io.reactivex.Scheduler;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
@@ -39,21 +68,133 @@ public class AppModule {
         return context;
     }
 
+    // يوفر Cache الـ HTTP على القرص المشترك بين جميع العملاء؛ يُمسح عند تسجيل الخروج (UserRepository.logoutUser)
+    @Provides
+    @Singleton
+    public Cache provideHttpCache(@ApplicationContext Context context) {
+        return ApiClient.createHttpCache(context.getCacheDir());
+    }
+
+    // يوفر OkHttpClient المشترك (Cache على القرص، ConnectionPool و Dispatcher محددان، HTTP/2)
+    // أي عميل آخر (مثل Glide) يجب أن يبني عليه عبر newBuilder() لمشاركة نفس الاتصالات
+    @Provides
+    @Singleton
+    @Named(ApiClient.UNAUTHENTICATED_CLIENT)
+    public OkHttpClient provideUnauthenticatedOkHttpClient(Cache httpCache,
+                                                           NetworkTraceInterceptor traceInterceptor,
+                                                           PayloadSizeTracker payloadSizeTracker) {
+        AppLogger.d(TAG, "Providing OkHttpClient.");
+        return ApiClient.createOkHttpClient(httpCache, traceInterceptor, payloadSizeTracker);
+    }
+
+    // العميل الموثق المشترك: نفس العميل الأساسي مع AuthInterceptor و TokenAuthenticator
+    @Provides
+    @Singleton
+    public OkHttpClient provideOkHttpClient(@Named(ApiClient.UNAUTHENTICATED_CLIENT) OkHttpClient baseClient,
+                                            AuthInterceptor authInterceptor,
+                                            TokenAuthenticator tokenAuthenticator) {
+        return ApiClient.createAuthenticatedClient(baseClient, authInterceptor, tokenAuthenticator);
+    }
+
+    // AuthApi مبني على العميل غير الموثق، فلا يمر طلب تجديد الرمز عبر AuthInterceptor أو TokenAuthenticator
+    @Provides
+    @Singleton
+    public AuthApi provideAuthApi(@Named(ApiClient.UNAUTHENTICATED_CLIENT) OkHttpClient baseClient, Gson gson) {
+        return ApiClient.createRetrofit(baseClient, gson).create(AuthApi.class);
+    }
+
+    // يوفر مثيل Gson الوحيد مع محولات User و Notification و ApiResponse المكتوبة يدويًا
+    @Provides
+    @Singleton
+    public Gson provideGson() {
+        return AppGson.shared();
+    }
+
+    // يوفر مثيل Retrofit المبني على OkHttpClient المشترك عبر PriorityCallFactory
+    @Provides
+    @Singleton
+    public Retrofit provideRetrofit(PriorityCallFactory priorityCallFactory, Gson gson) {
+        AppLogger.d(TAG, "Providing Retrofit.");
+        return ApiClient.createRetrofit(priorityCallFactory, gson);
+    }
+
+    // يوجه طلبات ApiService إلى Dispatcher حسب أولويتها (INTERACTIVE / PREFETCH / BACKGROUND)
+    @Provides
+    @Singleton
+    public PriorityCallFactory providePriorityCallFactory(OkHttpClient okHttpClient) {
+        return new PriorityCallFactory(okHttpClient);
+    }
+
     // يوفر مثيل ApiService (Retrofit)
     @Provides
     @Singleton
-    public ApiService provideApiService() {
+    public ApiService provideApiService(Retrofit retrofit) {
         AppLogger.d(TAG, "Providing ApiService.");
-        return ApiClient.getClient().create(ApiService.class);
+        return retrofit.create(ApiService.class);
     }
 
     // يوفر مثيل ApiHelper
-    // Hilt سيعرف كيف يوفر ApiService و Context لأننا قمنا بتعريفهم أعلاه.
+    // Hilt سيعرف كيف يوفر ApiService لأننا قمنا بتعريفه أعلاه، و ConnectivityMonitor عبر @Inject.
     @Provides
     @Singleton
-    public ApiHelper provideApiHelper(ApiService apiService, @ApplicationContext Context context) {
+    public ApiHelper provideApiHelper(ApiService apiService, ConnectivityMonitor connectivityMonitor,
+                                      RetryPolicy retryPolicy, CircuitBreakerRegistry circuitBreakers,
+                                      Gson gson, SchedulerProvider schedulers) {
         AppLogger.d(TAG, "Providing ApiHelper.");
-        return new ApiHelper(apiService, context);
+        return new ApiHelper(apiService, connectivityMonitor, retryPolicy, circuitBreakers, gson, schedulers);
+    }
+
+    // يوفر Schedulers الخاصة بـ RxJava (io للقراءة، dbWrite للكتابة، network، upload، computation، ui لطبقة العرض فقط)
+    // المقاييس تُجمع في SchedulerMetricsRegistry بعد تركيب خطافه في BaseApplication
+    @Provides
+    @Singleton
+    public SchedulerProvider provideSchedulerProvider(SchedulerMetricsRegistry schedulerMetrics) {
+        return new AppSchedulerProvider(schedulerMetrics);
+    }
+
+    // الـ Schedulers المسماة للحقن المباشر بـ @Named (مثلاً في Workers)
+    @Provides
+    @Named(SchedulerNames.DB_WRITE)
+    public Scheduler provideDbWriteScheduler(SchedulerProvider schedulers) {
+        return schedulers.dbWrite();
+    }
+
+    @Provides
+    @Named(SchedulerNames.NETWORK)
+    public Scheduler provideNetworkScheduler(SchedulerProvider schedulers) {
+        return schedulers.network();
+    }
+
+    @Provides
+    @Named(SchedulerNames.UPLOAD)
+    public Scheduler provideUploadScheduler(SchedulerProvider schedulers) {
+        return schedulers.upload();
+    }
+
+    @Provides
+    @Named(SchedulerNames.COMPUTATION)
+    public Scheduler provideComputationScheduler(SchedulerProvider schedulers) {
+        return schedulers.computation();
+    }
+
+    @Provides
+    @Named(SchedulerNames.IO)
+    public Scheduler provideIoScheduler(SchedulerProvider schedulers) {
+        return schedulers.io();
+    }
+
+    // يوفر سياسة إعادة المحاولة لطلبات GET (Jittered Exponential Backoff مع احترام Retry-After)
+    @Provides
+    @Singleton
+    public RetryPolicy provideRetryPolicy() {
+        return RetryPolicy.defaultPolicy();
+    }
+
+    // يوفر سجل الـ Circuit Breakers: يفتح بعد 5 أخطاء متتالية ويبقى مفتوحًا 30 ثانية
+    @Provides
+    @Singleton
+    public CircuitBreakerRegistry provideCircuitBreakerRegistry() {
+        return new CircuitBreakerRegistry(5, 30_000);
     }
 
     // يوفر مثيل قاعدة البيانات Room
@@ -62,13 +203,18 @@ public class AppModule {
     public AppDatabase provideAppDatabase(@ApplicationContext Context context) {
         AppLogger.d(TAG, "Providing AppDatabase.");
         // بناء قاعدة البيانات
-        return Room.databaseBuilder(
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(
                         context,
                         AppDatabase.class,
                         "devpal_app_database" // اسم قاعدة البيانات
                 )
-                .fallbackToDestructiveMigration() // استراتيجية الترحيل (لأغراض التطوير، تُحذف البيانات عند التغيير)
-                .build();
+                .addMigrations(AppMigrations.ALL) // ترحيل الهيكل مع الحفاظ على البيانات المخزنة
+                .fallbackToDestructiveMigrationFrom(1); // الإصدار 1 سابق لتصدير المخطط ولا يوجد ترحيل منه
+        if (BuildConfig.DEBUG) {
+            // تنبيه عند تنفيذ أي استعلام على الخيط الرئيسي (Debug فقط، لأن QueryCallback يغلف كل استعلام)
+            MainThreadIoDetector.attach(builder);
+        }
+        return builder.build();
     }
 
     // يوفر مثيل UserDao من قاعدة البيانات
@@ -87,12 +233,36 @@ public class AppModule {
         return appDatabase.notificationDao();
     }
 
+    // يوفر مثيل NotificationOutboxDao من قاعدة البيانات
+    @Provides
+    @Singleton
+    public NotificationOutboxDao provideNotificationOutboxDao(AppDatabase appDatabase) {
+        AppLogger.d(TAG, "Providing NotificationOutboxDao.");
+        return appDatabase.notificationOutboxDao();
+    }
+
+    // يوفر مثيل UploadDao من قاعدة البيانات
+    @Provides
+    @Singleton
+    public UploadDao provideUploadDao(AppDatabase appDatabase) {
+        AppLogger.d(TAG, "Providing UploadDao.");
+        return appDatabase.uploadDao();
+    }
+
+    // يوفر مثيل WorkManager (يُهيأ عند الطلب باستخدام إعدادات BaseApplication و HiltWorkerFactory)
+    @Provides
+    @Singleton
+    public WorkManager provideWorkManager(@ApplicationContext Context context) {
+        AppLogger.d(TAG, "Providing WorkManager.");
+        return WorkManager.getInstance(context);
+    }
+
     // يوفر مثيل SessionManager
     @Provides
     @Singleton
-    public SessionManager provideSessionManager(@ApplicationContext Context context) {
+    public SessionManager provideSessionManager(@ApplicationContext Context context, Gson gson) {
         AppLogger.d(TAG, "Providing SessionManager.");
-        return new SessionManager(context);
+        return new SessionManager(context, gson);
     }
 
     // يمكنك إضافة المزيد من دوال @Provides هنا لتبعيات أخرى
@@ -0,0 +1,23 @@
+package com.devpal.newbase.exceptions;
+
+/**
+ * CircuitOpenException: يُرمى بدون إرسال أي طلب عندما يكون Circuit Breaker الخاص بنقطة النهاية مفتوحًا،
+ * أي أن الخادم فشل عدة مرات متتالية مؤخرًا. الـ Repositories تتعامل معه كأي خطأ شبكة
+ * وتعرض النسخة المحلية من Room.
+ */
+public class CircuitOpenException extends ApiException {
+
+    private final String endpoint;
+
+    /**
+     * @param endpoint نقطة النهاية التي تم رفض الطلب لها.
+     */
+    public CircuitOpenException(String endpoint) {
+        super("الخدمة غير متاحة مؤقتًا. يرجى المحاولة لاحقًا.");
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -1,6 +1,7 @@
 package com.devpal.newbase.managers;
 
 import android.content.Context;
+import android.content.SharedPreferences;
 import com.devpal.newbase.utils.AppLogger;
 
 import java.io.File;
@@ -17,9 +18,17 @@ public class CacheManager {
 
     private static final String TAG = "CacheManager";
     private static final String CACHE_DIR_NAME = "app_cache"; // اسم مجلد التخزين المؤقت
+    private static final String PREF_FETCH_TIMESTAMPS = "CacheFetchTimestamps"; // أوقات آخر جلب من الشبكة
+    private static final String PREF_SYNC_WATERMARKS = "SyncWatermarks"; // العلامات المائية للمزامنة التزايدية
+
+    // مفاتيح أوقات آخر جلب (تستخدمها CachePolicy لحساب عمر النسخة المحلية)
+    public static final String KEY_USER_PROFILE = "user_profile";
+    public static final String KEY_NOTIFICATIONS = "notifications";
 
     private final Context context;
     private final File cacheDir;
+    private final SharedPreferences fetchTimestamps;
+    private final SharedPreferences syncWatermarks;
 
     /**
      * مُنشئ (Constructor) يقوم بحقن السياق (Context) بواسطة Dagger Hilt.
@@ -30,6 +39,8 @@ public class CacheManager {
         this.context = context;
         // إنشاء مجلد التخزين المؤقت الخاص بالتطبيق
         this.cacheDir = new File(context.getCacheDir(), CACHE_DIR_NAME);
+        this.fetchTimestamps = context.getSharedPreferences(PREF_FETCH_TIMESTAMPS, Context.MODE_PRIVATE);
+        this.syncWatermarks = context.getSharedPreferences(PREF_SYNC_WATERMARKS, Context.MODE_PRIVATE);
         if (!cacheDir.exists()) {
             cacheDir.mkdirs(); // إنشاء المجلدات إذا لم تكن موجودة
             AppLogger.d(TAG, "Cache directory created: " + cacheDir.getAbsolutePath());
@@ -103,6 +114,57 @@ public class CacheManager {
         return false;
     }
 
+    /**
+     * يحصل على وقت آخر جلب ناجح من الشبكة لمورد معين.
+     * @param key مفتاح المورد (مثل KEY_USER_PROFILE).
+     * @return الوقت بالمللي ثانية، أو 0 إذا لم يتم الجلب مطلقًا.
+     */
+    public long getLastFetchedAt(String key) {
+        return fetchTimestamps.getLong(key, 0);
+    }
+
+    /**
+     * يسجل وقت آخر جلب ناجح من الشبكة لمورد معين (الآن).
+     * @param key مفتاح المورد.
+     */
+    public void markFetched(String key) {
+        fetchTimestamps.edit().putLong(key, System.currentTimeMillis()).apply();
+    }
+
+    /**
+     * يمسح أوقات الجلب، فتُعتبر جميع النسخ المحلية قديمة (مثلاً عند تسجيل الخروج).
+     */
+    public void clearFetchTimestamps() {
+        fetchTimestamps.edit().clear().apply();
+    }
+
+    /**
+     * يحصل على العلامة المائية للمزامنة التزايدية لمورد معين (قيمة since التالية).
+     * لا تُشتق من محتوى الجداول المحلية، لأن RemoteMediator والتحميل التدفقي والتجهيز بعد تسجيل الدخول
+     * يكتبون مجموعات جزئية من الصفوف في نفس الجدول.
+     * @param key مفتاح المورد (مثل KEY_NOTIFICATIONS).
+     * @return العلامة المائية، أو 0 إذا لم تكتمل مزامنة كاملة بعد (يجب إجراء تحميل كامل).
+     */
+    public long getSyncWatermark(String key) {
+        return syncWatermarks.getLong(key, 0);
+    }
+
+    /**
+     * يحفظ العلامة المائية للمزامنة. يُستدعى فقط بعد أن يُحفظ في Room تحميل كامل أو آخر دفعة من المزامنة التزايدية.
+     * @param key مفتاح المورد.
+     * @param watermark قيمة since التالية.
+     */
+    public void setSyncWatermark(String key, long watermark) {
+        syncWatermarks.edit().putLong(key, watermark).apply();
+    }
+
+    /**
+     * يمسح العلامات المائية، فتبدأ المزامنة التالية بتحميل كامل (مثلاً عند تسجيل الخروج).
+     */
+    public void clearSyncWatermarks() {
+        syncWatermarks.edit().clear().apply();
+    }
+
     /**
      * يمسح جميع الملفات من مجلد التخزين المؤقت.
      */
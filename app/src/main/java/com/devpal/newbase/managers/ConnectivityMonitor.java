@@ -0,0 +1,246 @@
+package com.devpal.newbase.managers;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.reactivex.Observable;
+import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.Subject;
+
+/**
+ * ConnectivityMonitor: يراقب حالة الشبكة عبر NetworkCallback يُسجل مرة واحدة عند إنشاء المثيل،
+ * ويحتفظ بآخر حالة في حقل volatile.
+ * التحقق من الاتصال (isConnected) يقرأ هذا الحقل فقط، بدون استدعاء ConnectivityManager
+ * (استدعاء Binder متزامن) عند كل طلب.
+ *
+ * - API 24+: registerDefaultNetworkCallback، فتتبع الحالة الشبكة الافتراضية التي تستخدمها الطلبات فعليًا.
+ * - API 21-23: registerNetworkCallback لشبكات الإنترنت، مع إعادة قراءة الشبكة النشطة عند كل تغيير.
+ *
+ * @Singleton: يجب أن يبقى مثيل واحد فقط، لأن كل مثيل يسجل Callback خاصًا به لدى النظام.
+ */
+@Singleton
+public class ConnectivityMonitor {
+
+    private static final String TAG = "ConnectivityMonitor";
+
+    /**
+     * حالة الشبكة في لحظة معينة (Immutable).
+     */
+    public static final class State {
+
+        public static final State DISCONNECTED = new State(false, false);
+
+        private final boolean connected;
+        private final boolean metered; // بيانات الجوال أو نقطة اتصال محدودة
+
+        State(boolean connected, boolean metered) {
+            this.connected = connected;
+            this.metered = connected && metered;
+        }
+
+        public boolean isConnected() {
+            return connected;
+        }
+
+        public boolean isMetered() {
+            return metered;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof State)) return false;
+            State state = (State) o;
+            return connected == state.connected && metered == state.metered;
+        }
+
+        @Override
+        public int hashCode() {
+            return (connected ? 2 : 0) + (metered ? 1 : 0);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return connected ? (metered ? "CONNECTED_METERED" : "CONNECTED_UNMETERED") : "DISCONNECTED";
+        }
+    }
+
+    @Nullable
+    private final ConnectivityManager connectivityManager;
+    private final Subject<State> states;
+    private volatile State state;
+
+    /**
+     * مُنشئ (Constructor) يقوم بحقن السياق (Context) بواسطة Dagger Hilt، ويقرأ الحالة الحالية
+     * ثم يسجل NetworkCallback لتحديثها.
+     * @param context سياق التطبيق (Application Context) المحقون بواسطة Hilt.
+     */
+    @Inject
+    public ConnectivityMonitor(Context context) {
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.state = readActiveState();
+        this.states = BehaviorSubject.createDefault(state).toSerialized();
+        registerCallback();
+        AppLogger.d(TAG, "ConnectivityMonitor initialized. State: " + state);
+    }
+
+    /**
+     * @return true إذا كان هناك اتصال بالإنترنت حسب آخر حالة معروفة (بدون استدعاء النظام).
+     */
+    public boolean isConnected() {
+        return state.isConnected();
+    }
+
+    /**
+     * @return true إذا كانت الشبكة الحالية محدودة (Metered)، مثل بيانات الجوال.
+     */
+    public boolean isMetered() {
+        return state.isMetered();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return Observable يبدأ بالحالة الحالية ثم يصدر كل تغيير فعلي فقط.
+     * الأحداث تصدر على خيط ConnectivityManager؛ استخدم observeOn عند تحديث الواجهة.
+     */
+    public Observable<State> observe() {
+        return states.distinctUntilChanged();
+    }
+
+    /**
+     * @return Observable يصدر عند كل عودة للاتصال بعد انقطاعه (لا يصدر للحالة الأولية).
+     */
+    public Observable<State> observeReconnects() {
+        return observe()
+                .buffer(2, 1)
+                .filter(pair -> pair.size() == 2 && !pair.get(0).isConnected() && pair.get(1).isConnected())
+                .map(pair -> pair.get(1));
+    }
+
+    private synchronized void update(State newState) {
+        if (newState.equals(state)) {
+            return;
+        }
+        AppLogger.d(TAG, "Connectivity changed: " + state + " -> " + newState);
+        state = newState;
+        states.onNext(newState);
+    }
+
+    private void registerCallback() {
+        if (connectivityManager == null) {
+            AppLogger.w(TAG, "ConnectivityManager is null, connectivity will not be monitored.");
+            return;
+        }
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                connectivityManager.registerDefaultNetworkCallback(new DefaultNetworkCallback());
+            } else {
+                NetworkRequest request = new NetworkRequest.Builder()
+                        .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                        .build();
+                connectivityManager.registerNetworkCallback(request, new LegacyNetworkCallback());
+            }
+        } catch (RuntimeException e) {
+            // مثلاً SecurityException على بعض أجهزة Android 11 عند التسجيل المبكر
+            AppLogger.e(TAG, "Failed to register network callback.", e);
+        }
+    }
+
+    /**
+     * يقرأ حالة الشبكة النشطة مباشرة من النظام؛ يُستدعى عند الإنشاء، وعند كل تغيير على API 21-23 فقط.
+     */
+    @SuppressWarnings("deprecation")
+    private State readActiveState() {
+        if (connectivityManager == null) {
+            return State.DISCONNECTED;
+        }
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                Network network = connectivityManager.getActiveNetwork();
+                return fromCapabilities(network != null ? connectivityManager.getNetworkCapabilities(network) : null);
+            }
+            NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
+            boolean connected = activeNetwork != null && activeNetwork.isConnectedOrConnecting();
+            return new State(connected, connectivityManager.isActiveNetworkMetered());
+        } catch (RuntimeException e) {
+            AppLogger.e(TAG, "Failed to read active network state.", e);
+            return State.DISCONNECTED;
+        }
+    }
+
+    private static State fromCapabilities(@Nullable NetworkCapabilities capabilities) {
+        if (capabilities == null || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+            return State.DISCONNECTED;
+        }
+        boolean metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        return new State(true, metered);
+    }
+
+    /**
+     * API 24+: يتتبع الشبكة الافتراضية؛ الحالة تُشتق من onCapabilitiesChanged الذي يحمل حالة metered الحالية مباشرة.
+     * استدعاء getNetworkCapabilities داخل onAvailable غير موثوق (قد يُرجع null لحظة ظهور الشبكة)،
+     * فيُنشر DISCONNECTED خاطئ يليه إعادة اتصال وهمية في BaseApplication.
+     */
+    private final class DefaultNetworkCallback extends ConnectivityManager.NetworkCallback {
+
+        @Override
+        public void onAvailable(@NonNull Network network) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                return; // API 26+: onCapabilitiesChanged يتبع onAvailable دائمًا
+            }
+            // API 24-25: لا يتبعه onCapabilitiesChanged بالضرورة؛ null تعني أن الشبكة لم تجهز بعد وليست انقطاعًا
+            NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(network);
+            if (capabilities != null) {
+                update(fromCapabilities(capabilities));
+            }
+        }
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+            update(fromCapabilities(capabilities));
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            update(State.DISCONNECTED);
+        }
+    }
+
+    /**
+     * API 21-23: قد تكون عدة شبكات متاحة، لذلك تُقرأ الشبكة النشطة من جديد عند كل حدث.
+     */
+    private final class LegacyNetworkCallback extends ConnectivityManager.NetworkCallback {
+
+        @Override
+        public void onAvailable(@NonNull Network network) {
+            update(readActiveState());
+        }
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+            update(readActiveState());
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            update(readActiveState());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.devpal.newbase.managers;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.Network.priority.RequestPriority;
+import com.devpal.newbase.R;
+import com.devpal.newbase.repository.NotificationRepository;
+import com.devpal.newbase.repository.UserRepository;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.Constants;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.reactivex.Completable;
+
+/**
+ * PostLoginWarmUp: مرحلة تجهيز البيانات بعد نجاح تسجيل الدخول وقبل فتح MainActivity.
+ *
+ * تُنفذ بالتوازي، وكل خطوة تكتب نتيجتها في Room قبل اكتمالها، فتقرؤها الشاشات مباشرة:
+ * - الملف الشخصي (UserRepository.refreshUserProfile بأولوية INTERACTIVE لأن المستخدم ينتظر).
+ * - الصفحة الأولى من الإشعارات (NotificationRepository.prefetchFirstPage)، ثم عدد غير المقروءة منها.
+ * - فك ترميز صورة المستخدم إلى Glide Memory Cache بحجم R.dimen.avatar_size، بدون حجز أي خيط
+ *   (الاكتمال من RequestListener).
+ * الصفحة الأولى لا تغير علامة المزامنة، فالمزامنة الأولى في SyncWorker تبقى تحميلاً كاملاً.
+ *
+ * المرحلة كلها محدودة بـ POST_LOGIN_WARM_UP_TIMEOUT_MILLIS، ولا تفشل أبدًا: فشل أي خطوة أو انتهاء المهلة
+ * يعني فقط أن الشاشة ستجلب تلك البيانات بنفسها كالمعتاد (SyncWorker و RemoteMediator).
+ */
+@Singleton
+public class PostLoginWarmUp {
+
+    private static final String TAG = "PostLoginWarmUp";
+
+    private final Context context;
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+
+    @Inject
+    public PostLoginWarmUp(Context context, UserRepository userRepository,
+                           NotificationRepository notificationRepository) {
+        this.context = context;
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * خيارات Glide لصورة المستخدم؛ يجب أن تستخدمها الشاشات أيضًا حتى تطابق مفتاح الصورة المجهزة في الذاكرة.
+     */
+    public static RequestOptions avatarOptions(Context context) {
+        int size = context.getResources().getDimensionPixelSize(R.dimen.avatar_size);
+        return RequestOptions.centerCropTransform().override(size);
+    }
+
+    /**
+     * @param user المستخدم كما أرجعه تسجيل الدخول (لرابط الصورة).
+     * @return Completable يكتمل عند انتهاء جميع الخطوات أو انتهاء المهلة، ولا يُصدر خطأ.
+     */
+    public Completable warmUp(User user) {
+        long startedAt = System.currentTimeMillis();
+        Completable profile = step("profile", userRepository.refreshUserProfile(RequestPriority.INTERACTIVE));
+        Completable notifications = step("notifications", notificationRepository.prefetchFirstPage()
+                .andThen(notificationRepository.getUnreadCount())
+                .doOnSuccess(count -> AppLogger.d(TAG, "Unread notifications after warm-up: " + count))
+                .ignoreElement());
+        Completable avatar = step("avatar", preloadAvatar(user != null ? user.getProfilePictureUrl() : null));
+
+        // timeout على Scheduler الحساب الافتراضي لـ RxJava (انظر SchedulerMetricsRegistry)
+        return Completable.merge(Arrays.asList(profile, notifications, avatar))
+                .timeout(Constants.POST_LOGIN_WARM_UP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .doOnComplete(() -> AppLogger.d(TAG, "Warm-up finished in "
+                        + (System.currentTimeMillis() - startedAt) + "ms."))
+                // الخطوات لا تُصدر أخطاء، فالخطأ الوحيد الممكن هنا هو TimeoutException
+                .doOnError(throwable -> AppLogger.w(TAG, "Warm-up exceeded " + Constants.POST_LOGIN_WARM_UP_TIMEOUT_MILLIS
+                        + "ms, continuing with partial data."))
+                .onErrorComplete();
+    }
+
+    /**
+     * يبدأ تنزيل وفك ترميز الصورة في خيوط Glide عبر preload()، ويكتمل من RequestListener،
+     * فلا يُحجز أي خيط من خيوط SchedulerProvider أثناء التنزيل.
+     * PreloadTarget يحرر الصورة بعد جاهزيتها فتنتقل إلى Memory Cache. عند انتهاء المهلة يُلغى الطلب
+     * (Glide لا يسمح بإلغاء الطلب من داخل callbacks الخاصة به، لذلك لا يُلغى بعد اكتماله).
+     */
+    private Completable preloadAvatar(@Nullable String url) {
+        if (url == null || url.isEmpty()) {
+            return Completable.complete();
+        }
+        return Completable.create(emitter -> {
+                    AtomicBoolean finished = new AtomicBoolean();
+                    int size = context.getResources().getDimensionPixelSize(R.dimen.avatar_size);
+                    Target<Drawable> target = Glide.with(context)
+                            .load(url)
+                            .apply(avatarOptions(context))
+                            .listener(new RequestListener<Drawable>() {
+                                @Override
+                                public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                                            @NonNull Target<Drawable> target, boolean isFirstResource) {
+                                    finished.set(true);
+                                    emitter.tryOnError(e != null ? e : new GlideException("Avatar load failed."));
+                                    return false;
+                                }
+
+                                @Override
+                                public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                                               Target<Drawable> target, @NonNull DataSource dataSource,
+                                                               boolean isFirstResource) {
+                                    finished.set(true);
+                                    emitter.onComplete();
+                                    return false;
+                                }
+                            })
+                            .preload(size, size);
+                    emitter.setCancellable(() -> {
+                        if (!finished.get()) {
+                            Glide.with(context).clear(target);
+                        }
+                    });
+                });
+    }
+
+    private static Completable step(String name, Completable work) {
+        return work
+                .doOnError(throwable -> AppLogger.w(TAG, "Warm-up step '" + name + "' failed: " + throwable.getMessage()))
+                .onErrorComplete();
+    }
+}
@@ -0,0 +1,119 @@
+package com.devpal.newbase.repository;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+/**
+ * CachePolicy: يحدد كيف يجمع الـ Repository بين النسخة المحلية (Room) والشبكة.
+ *
+ * - NETWORK_FIRST: الشبكة أولاً، والرجوع إلى النسخة المحلية فقط عند الفشل (السلوك السابق).
+ * - CACHE_FIRST: النسخة المحلية فقط إذا كان عمرها أقل من maxAge، وإلا الشبكة.
+ * - STALE_WHILE_REVALIDATE: إصدار النسخة المحلية فورًا (ولو كانت قديمة)، ثم إذا تجاوز عمرها maxAge
+ *   يتم جلب الشبكة وإصدار النتيجة الجديدة كقيمة ثانية. فشل الشبكة بعد إصدار النسخة المحلية لا يُعتبر خطأ.
+ *
+ * عمر النسخة المحلية يُحسب من وقت آخر جلب ناجح من الشبكة (CacheManager.getLastFetchedAt).
+ */
+public final class CachePolicy {
+
+    private static final String TAG = "CachePolicy";
+
+    public enum Mode {
+        NETWORK_FIRST,
+        CACHE_FIRST,
+        STALE_WHILE_REVALIDATE
+    }
+
+    public static final long DEFAULT_MAX_AGE_MILLIS = 5 * 60 * 1000; // 5 دقائق
+
+    private final Mode mode;
+    private final long maxAgeMillis;
+
+    private CachePolicy(Mode mode, long maxAgeMillis) {
+        this.mode = mode;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public static CachePolicy networkFirst() {
+        return new CachePolicy(Mode.NETWORK_FIRST, 0);
+    }
+
+    public static CachePolicy cacheFirst(long maxAgeMillis) {
+        return new CachePolicy(Mode.CACHE_FIRST, maxAgeMillis);
+    }
+
+    public static CachePolicy staleWhileRevalidate(long maxAgeMillis) {
+        return new CachePolicy(Mode.STALE_WHILE_REVALIDATE, maxAgeMillis);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    /**
+     * @param lastFetchedAt وقت آخر جلب ناجح من الشبكة (0 إذا لم يتم الجلب مطلقًا).
+     * @param nowMillis الوقت الحالي.
+     * @return true إذا كان عمر النسخة المحلية لا يتجاوز maxAge؛ النسخة التي لم تُجلب مطلقًا قديمة دائمًا.
+     */
+    boolean isFresh(long lastFetchedAt, long nowMillis) {
+        return lastFetchedAt > 0 && nowMillis - lastFetchedAt <= maxAgeMillis;
+    }
+
+    /**
+     * يطبق السياسة على مصدرين.
+     * الحداثة (isFresh) تُحسب مرة واحدة عند استدعاء apply() وليس عند الاشتراك، مثل lastFetchedAt
+     * الذي يقرؤه المستدعي في نفس اللحظة.
+     * @param local النسخة المحلية (فارغة إذا لم يكن هناك بيانات مخزنة).
+     * @param network الجلب من الشبكة، ويجب أن يحفظ النتيجة محليًا ويحدث وقت آخر جلب قبل إصدارها.
+     * @param lastFetchedAt وقت آخر جلب ناجح من الشبكة (0 إذا لم يتم الجلب مطلقًا).
+     * @return Observable يُصدر قيمة أو قيمتين (المحلية ثم الشبكة) حسب السياسة.
+     */
+    public <T> Observable<T> apply(Maybe<T> local, Single<T> network, long lastFetchedAt) {
+        boolean fresh = isFresh(lastFetchedAt, System.currentTimeMillis());
+        switch (mode) {
+            case CACHE_FIRST:
+                if (fresh) {
+                    return local.switchIfEmpty(network).toObservable();
+                }
+                return networkWithFallback(local, network);
+            case STALE_WHILE_REVALIDATE:
+                return local
+                        .map(cached -> fresh
+                                ? Observable.just(cached)
+                                : Observable.just(cached).concatWith(network.toObservable()
+                                        .onErrorResumeNext(throwable -> {
+                                            // تم عرض النسخة المحلية بالفعل؛ يكفي تسجيل فشل التحديث
+                                            AppLogger.w(TAG, "Revalidation failed, keeping cached value: " + throwable.getMessage());
+                                            return Observable.empty();
+                                        })))
+                        .switchIfEmpty(Single.fromCallable(network::toObservable))
+                        .flatMapObservable(observable -> observable);
+            case NETWORK_FIRST:
+            default:
+                return networkWithFallback(local, network);
+        }
+    }
+
+    /**
+     * الشبكة أولاً؛ عند الفشل تُستخدم النسخة المحلية إن وجدت، وإلا يُعاد خطأ الشبكة الأصلي.
+     */
+    private static <T> Observable<T> networkWithFallback(Maybe<T> local, Single<T> network) {
+        return network
+                .onErrorResumeNext(throwable -> {
+                    AppLogger.w(TAG, "Network failed, trying local copy: " + throwable.getMessage());
+                    return local.switchIfEmpty(Single.error(throwable));
+                })
+                .toObservable();
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy{" + mode + ", maxAgeMillis=" + maxAgeMillis + '}';
+    }
+}
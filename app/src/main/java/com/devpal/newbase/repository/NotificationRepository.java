@@ -1,20 +1,45 @@
 package com.devpal.newbase.repository;
 
 import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.NotificationCount;
+import com.devpal.newbase.Models.NotificationListItem;
+import com.devpal.newbase.Models.NotificationReadOutbox;
 import com.devpal.newbase.Network.ApiHelper;
+import com.devpal.newbase.database.AppDatabase;
 import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.database.dao.NotificationOutboxDao;
+import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.managers.CacheManager;
+import com.devpal.newbase.repository.paging.NotificationPageKey;
+import com.devpal.newbase.repository.paging.NotificationPagingSource;
+import com.devpal.newbase.repository.paging.NotificationRemoteMediator;
 import com.devpal.newbase.response.ApiResponse;
 import com.devpal.newbase.response.BaseResponse;
+import com.devpal.newbase.response.NotificationDeltaResponse;
+import com.devpal.newbase.services.BackgroundSyncService;
 import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import androidx.annotation.OptIn;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.rxjava2.PagingRx;
+
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers; // تأكد من استيراد Schedulers الصحيح
 
 /**
  * NotificationRepository: كلاس مسؤول عن إدارة بيانات الإشعارات.
@@ -26,59 +51,344 @@ import io.reactivex.schedulers.Schedulers; // تأكد من استيراد Sched
 public class NotificationRepository {
 
     private static final String TAG = "NotificationRepository";
+    private static final int PAGE_SIZE = 30; // عدد الإشعارات في كل صفحة
+    private static final int PREFETCH_DISTANCE = 10; // عدد العناصر المتبقية قبل طلب الصفحة التالية
+    private static final int STREAM_BATCH_SIZE = 500; // عدد الإشعارات في كل Transaction أثناء التحميل التدفقي
+    private static final int OUTBOX_BATCH_SIZE = 10_000; // الحد الأقصى للمعرفات في طلب "مقروء" مجمع واحد
+
     private final ApiHelper apiHelper;
     private final NotificationDao notificationDao;
+    private final NotificationOutboxDao outboxDao;
+    private final AppDatabase appDatabase;
+    private final BackgroundSyncService backgroundSyncService;
+    private final CacheManager cacheManager;
+    private final SchedulerProvider schedulers; // io() فقط؛ الانتقال إلى الخيط الرئيسي مسؤولية طبقة العرض
+
+    // عدادات مشتركة ومخزنة مؤقتًا: استعلام Room واحد لجميع المشتركين (الشارة والشاشات)،
+    // يُعاد تنفيذه فقط عند تغير جدول الإشعارات، ويحتفظ بآخر قيمة للمشترك الجديد.
+    private final Flowable<Integer> unreadCount;
+    private final Flowable<List<NotificationCount>> notificationCounts;
 
     /**
      * مُنشئ يقوم بحقن التبعيات.
      * @param apiHelper مساعد API للتعامل مع الشبكة.
      * @param notificationDao كائن DAO للوصول إلى بيانات الإشعارات في قاعدة البيانات المحلية.
+     * @param outboxDao كائن DAO لعمليات "مقروء" المعلقة.
+     * @param appDatabase قاعدة البيانات، تُستخدم لمراقبة تغييرات جدول الإشعارات وتنفيذ Transactions.
+     * @param backgroundSyncService لجدولة إرسال العمليات المعلقة في الخلفية.
+     * @param cacheManager لتسجيل وقراءة أوقات آخر جلب من الشبكة.
+     * @param schedulers مصدر Schedulers الخاصة بـ RxJava.
      */
     @Inject
-    public NotificationRepository(ApiHelper apiHelper, NotificationDao notificationDao) {
+    public NotificationRepository(ApiHelper apiHelper, NotificationDao notificationDao,
+                                  NotificationOutboxDao outboxDao, AppDatabase appDatabase,
+                                  BackgroundSyncService backgroundSyncService, CacheManager cacheManager,
+                                  SchedulerProvider schedulers) {
         this.apiHelper = apiHelper;
         this.notificationDao = notificationDao;
+        this.outboxDao = outboxDao;
+        this.appDatabase = appDatabase;
+        this.backgroundSyncService = backgroundSyncService;
+        this.cacheManager = cacheManager;
+        this.schedulers = schedulers;
+        this.unreadCount = notificationDao.observeUnreadCount()
+                .distinctUntilChanged()
+                .subscribeOn(schedulers.io())
+                .replay(1)
+                .refCount();
+        this.notificationCounts = notificationDao.observeCountsByStatusAndCategory()
+                .distinctUntilChanged()
+                .subscribeOn(schedulers.io())
+                .replay(1)
+                .refCount();
         AppLogger.d(TAG, "NotificationRepository initialized.");
     }
 
     /**
-     * يحصل على قائمة الإشعارات. يحاول أولاً من API، ثم من قاعدة البيانات المحلية في حالة عدم توفر الإنترنت.
+     * يحصل على عناصر قائمة الإشعارات كصفحات (Paging 3) بدلاً من قائمة واحدة كاملة.
+     * الصفحات تُقرأ من Room بالمفتاح (sent_at, id)، و NotificationRemoteMediator
+     * يجلب الصفحات التالية من الـ API بمؤشر عند الوصول إلى نهاية البيانات المحلية.
+     * @return Flowable يُصدر PagingData جاهزة للعرض في PagingDataAdapter.
+     */
+    @OptIn(markerClass = ExperimentalPagingApi.class)
+    public Flowable<PagingData<NotificationListItem>> getPagedNotifications() {
+        Pager<NotificationPageKey, NotificationListItem> pager = new Pager<>(
+                new PagingConfig(PAGE_SIZE, PREFETCH_DISTANCE, false),
+                null,
+                new NotificationRemoteMediator(apiHelper, notificationDao, schedulers),
+                () -> new NotificationPagingSource(notificationDao, appDatabase, schedulers));
+        return PagingRx.getFlowable(pager);
+    }
+
+    /**
+     * يجلب الصفحة الأولى فقط (PAGE_SIZE إشعار، نفس صفحة REFRESH في NotificationRemoteMediator) ويخزنها في Room،
+     * فتفتح القائمة ببيانات جاهزة. لا يسجل وقت الجلب ولا علامة المزامنة (Watermark) لأن القائمة الكاملة
+     * لم تُجلب بعد، فتبقى المزامنة التالية في SyncWorker تحميلاً كاملاً ولا تفقد الإشعارات الأقدم.
+     * @return Completable يكتمل بعد التخزين المحلي.
+     */
+    public Completable prefetchFirstPage() {
+        return apiHelper.getNotificationsPage(null, null, PAGE_SIZE)
+                .flatMapCompletable(response -> {
+                    if (!response.isSuccess() || response.getData() == null) {
+                        return Completable.error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Failed to fetch notifications page."));
+                    }
+                    return notificationDao.upsertFromServer(response.getData())
+                            .subscribeOn(schedulers.dbWrite());
+                });
+    }
+
+    /**
+     * عدد الإشعارات غير المقروءة المخزنة محليًا، مرة واحدة.
+     * @return Single يحتوي على العدد.
+     */
+    public Single<Integer> getUnreadCount() {
+        return notificationDao.getUnreadCount()
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * يحصل على قائمة الإشعارات حسب سياسة التخزين المؤقت.
+     * مع STALE_WHILE_REVALIDATE تُصدر القائمة المخزنة في Room فورًا، ثم القائمة المحدثة من الشبكة
+     * إذا كانت المخزنة أقدم من maxAge. القائمة المحلية الفارغة تُعامل كعدم وجود نسخة مخزنة.
+     * @param policy سياسة التخزين المؤقت.
+     * @return Observable يُصدر القائمة مرة أو مرتين.
+     */
+    public Observable<List<Notification>> getNotifications(CachePolicy policy) {
+        Maybe<List<Notification>> local = notificationDao.getAllNotifications()
+                .filter(notifications -> !notifications.isEmpty());
+        Single<List<Notification>> network = fetchNotifications()
+                .flatMap(response -> {
+                    if (!response.isSuccess() || response.getData() == null) {
+                        return Single.<List<Notification>>error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Failed to fetch notifications."));
+                    }
+                    return Single.just(response.getData());
+                });
+        return policy.apply(local, network, cacheManager.getLastFetchedAt(CacheManager.KEY_NOTIFICATIONS))
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * يحصل على قائمة الإشعارات (CachePolicy.networkFirst). يحاول أولاً من API، ثم من قاعدة البيانات المحلية في حالة عدم توفر الإنترنت.
      * @return Single يحتوي على ApiResponse من نوع قائمة Notifications.
      */
     public Single<ApiResponse<List<Notification>>> getNotifications() {
+        Maybe<ApiResponse<List<Notification>>> local = notificationDao.getAllNotifications()
+                .map(notifications -> ApiResponse.success(notifications)) // تحويل القائمة إلى ApiResponse.success
+                .toMaybe()
+                .doOnError(throwable -> AppLogger.e(TAG, "Failed to fetch notifications from local DB.", throwable))
+                .onErrorComplete(); // عندها يُعاد خطأ API الأصلي
+        return CachePolicy.networkFirst()
+                .apply(local, fetchNotifications(), 0)
+                .firstOrError()
+                .subscribeOn(schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+    }
+
+    /**
+     * الجلب من API، وعند النجاح تخزين الإشعارات في Room وتسجيل علامة المزامنة ووقت الجلب قبل إرجاع الاستجابة.
+     * الاستجابة غير الناجحة تُرجع كما هي.
+     */
+    private Single<ApiResponse<List<Notification>>> fetchNotifications() {
         return apiHelper.getNotifications()
                 .flatMap(response -> {
                     if (response.isSuccess() && response.getData() != null) {
-                        // تخزين الإشعارات في قاعدة البيانات المحلية بعد الجلب الناجح من API
-                        return notificationDao.insertAllNotifications(response.getData())
+                        return notificationDao.upsertFromServer(response.getData())
+                                .subscribeOn(schedulers.dbWrite())
+                                .doOnComplete(() -> onFullSyncCommitted(maxUpdatedAt(response.getData())))
                                 .andThen(Single.just(response)); // ثم إرجاع استجابة API الأصلية
-                    } else {
-                        // في حالة فشل الجلب من API، أرجع استجابة API الأصلية
-                        return Single.just(response);
                     }
+                    return Single.just(response);
+                });
+    }
+
+    /**
+     * تحميل كامل للإشعارات مع تحليل تدفقي (Streaming): تُقرأ مصفوفة data عنصرًا بعنصر من الشبكة
+     * على computation()، وتُكتب في Room على دفعات (STREAM_BATCH_SIZE إشعار لكل Transaction) على خيط
+     * الكتابة الموحد dbWrite(). التحليل ينتظر حفظ كل دفعة قبل قراءة التالية، فيبقى استهلاك الذاكرة
+     * ثابتًا مهما كان عدد الإشعارات. يُفضل على getNotifications() للقوائم الكبيرة.
+     *
+     * الدفعات تُحفظ أثناء القراءة، لكن التدفق غير مرتب حسب updated_at، فإذا انقطع في المنتصف
+     * (خطأ شبكة أو إلغاء) تكون الصفوف المحفوظة عينة جزئية. لذلك لا تُحفظ العلامة المائية
+     * (أكبر updated_at بين الإشعارات المقروءة من التدفق) ولا وقت الجلب إلا بعد اكتمال التدفق بالكامل،
+     * وتعيد المزامنة التالية التحميل الكامل حتى ذلك الحين.
+     * @return Single بعدد الإشعارات التي تم حفظها.
+     */
+    public Single<Integer> downloadAllNotifications() {
+        return Single.defer(() -> {
+            AtomicLong streamedMaxUpdatedAt = new AtomicLong(); // لهذا التحميل فقط
+            return apiHelper.streamNotifications(STREAM_BATCH_SIZE, batch -> {
+                        // مثل بقية الكتابات: بالتسلسل على dbWrite() وليس على خيط التحليل
+                        Completable.fromAction(() -> notificationDao.upsertFromServerSync(batch))
+                                .subscribeOn(schedulers.dbWrite())
+                                .blockingAwait();
+                        long batchMax = maxUpdatedAt(batch); // الدفعات تُسلم بالتتابع على خيط واحد
+                        if (batchMax > streamedMaxUpdatedAt.get()) {
+                            streamedMaxUpdatedAt.set(batchMax);
+                        }
+                    })
+                    .flatMap(response -> {
+                        if (!response.isSuccess()) {
+                            return Single.<Integer>error(new ApiException(
+                                    response.getMessage() != null ? response.getMessage() : "Failed to download notifications."));
+                        }
+                        int count = response.getData() != null ? response.getData() : 0;
+                        AppLogger.d(TAG, "Downloaded " + count + " notifications in batches of " + STREAM_BATCH_SIZE);
+                        // اكتمل التدفق وحُفظت جميع الدفعات: الآن فقط تصبح النسخة المحلية كاملة
+                        onFullSyncCommitted(streamedMaxUpdatedAt.get());
+                        return Single.just(count);
+                    });
+        });
+    }
+
+    /**
+     * مزامنة تزايدية (Delta Sync) للإشعارات.
+     * يرسل العلامة المائية المحفوظة في CacheManager (since)، ويطبق فقط الإشعارات
+     * التي تغيرت ومعرفات الإشعارات المحذوفة في Transaction واحدة، بدلاً من إعادة تنزيل القائمة كاملة.
+     * العلامة المائية لا تُحسب من جدول notifications، لأنه قد يحتوي على صفوف جزئية
+     * (صفحات RemoteMediator، تحميل تدفقي لم يكتمل، الصفحة الأولى بعد تسجيل الدخول).
+     * إذا لم تكتمل مزامنة كاملة بعد (العلامة المائية 0)، يتم تنفيذ تحميل كامل عبر downloadAllNotifications().
+     * @return Completable يكتمل عند انتهاء المزامنة.
+     */
+    public Completable syncNotifications() {
+        return Completable.defer(() -> {
+                    long since = cacheManager.getSyncWatermark(CacheManager.KEY_NOTIFICATIONS);
+                    if (since == 0L) {
+                        AppLogger.d(TAG, "No completed full sync yet, downloading all notifications.");
+                        return downloadAllNotifications().ignoreElement();
+                    }
+                    return syncNotificationsSince(since);
                 })
-                .onErrorResumeNext(throwable -> {
-                    // إذا فشل طلب API (ربما بسبب عدم توفر الإنترنت)، حاول من قاعدة البيانات المحلية
-                    AppLogger.w(TAG, "Failed to fetch notifications from API, trying local DB: " + throwable.getMessage());
-                    return notificationDao.getAllNotifications()
-                            .map(notifications -> ApiResponse.success(notifications)) // تحويل القائمة إلى ApiResponse.success
-                            .onErrorResumeNext(dbThrowable -> {
-                                // إذا فشل حتى من قاعدة البيانات المحلية، أرجع خطأ API الأصلي
-                                AppLogger.e(TAG, "Failed to fetch notifications from local DB as well.", dbThrowable);
-                                return Single.error(throwable); // أرجع الخطأ الأصلي من API
-                            });
-                })
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * يطلب دفعة التغييرات منذ since ويطبقها، ثم يكمل بالدفعة التالية إذا أشار الخادم إلى وجود المزيد.
+     */
+    private Completable syncNotificationsSince(long since) {
+        return apiHelper.getNotificationsDelta(since)
+                .flatMapCompletable(response -> {
+                    if (!response.isSuccess() || response.getData() == null) {
+                        return Completable.error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Notifications delta sync failed."));
+                    }
+                    NotificationDeltaResponse delta = response.getData();
+                    AppLogger.d(TAG, "Applying notifications delta since " + since + ": " + delta);
+
+                    Completable apply = Completable.fromAction(() ->
+                                    notificationDao.applyDelta(delta.getUpdated(), delta.getDeletedIds()))
+                            .subscribeOn(schedulers.dbWrite());
+
+                    Long nextSince = delta.getNextSince();
+                    if (delta.hasMore() && nextSince != null && nextSince > since) {
+                        return apply.andThen(Completable.defer(() -> syncNotificationsSince(nextSince)));
+                    }
+                    // آخر دفعة: النسخة المحلية أصبحت محدثة بالكامل، وتتقدم العلامة المائية بعد حفظها فقط
+                    long watermark = nextSince != null ? nextSince : Math.max(since, maxUpdatedAt(delta.getUpdated()));
+                    return apply.doOnComplete(() -> onFullSyncCommitted(watermark));
+                });
+    }
+
+    /**
+     * يُستدعى بعد حفظ نسخة كاملة من الإشعارات في Room (تحميل كامل أو آخر دفعة تزايدية):
+     * يحفظ العلامة المائية للمزامنة التالية ويسجل وقت الجلب لسياسات التخزين المؤقت.
+     */
+    private void onFullSyncCommitted(long watermark) {
+        if (watermark > 0) {
+            cacheManager.setSyncWatermark(CacheManager.KEY_NOTIFICATIONS, watermark);
+        }
+        cacheManager.markFetched(CacheManager.KEY_NOTIFICATIONS);
+    }
+
+    private static long maxUpdatedAt(List<Notification> notifications) {
+        long max = 0;
+        for (Notification notification : notifications) {
+            Long updatedAt = notification.getUpdatedAt();
+            if (updatedAt != null && updatedAt > max) {
+                max = updatedAt;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * يعلّم مجموعة إشعارات كمقروءة (Local-first).
+     * يتم تحديث read_status في Room فورًا وإضافة المعرفات إلى الـ Outbox في Transaction واحدة،
+     * ثم يرسل SyncWorker جميع المعرفات المعلقة في طلب مجمع واحد عند توفر الشبكة.
+     * @param notificationIds معرفات الإشعارات.
+     * @return Completable يكتمل بعد التحديث المحلي (بدون انتظار الشبكة).
+     */
+    public Completable markNotificationsAsRead(List<String> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return Completable.complete();
+        }
+        return Completable.fromAction(() -> appDatabase.runInTransaction(() -> {
+                    long now = System.currentTimeMillis();
+                    List<NotificationReadOutbox> entries = new ArrayList<>(notificationIds.size());
+                    for (String id : notificationIds) {
+                        entries.add(new NotificationReadOutbox(id, now));
+                    }
+                    outboxDao.enqueueSync(entries);
+                    for (int start = 0; start < notificationIds.size(); start += NotificationDao.MAX_SQL_VARIABLES) {
+                        int end = Math.min(start + NotificationDao.MAX_SQL_VARIABLES, notificationIds.size());
+                        notificationDao.markAsReadSync(notificationIds.subList(start, end));
+                    }
+                }))
+                .subscribeOn(schedulers.dbWrite())
+                .doOnComplete(backgroundSyncService::requestReadOutboxFlush);
+    }
+
+    /**
+     * يعلّم جميع الإشعارات غير المقروءة كمقروءة (Local-first).
+     * تحديث واحد في Room، ثم طلب شبكة واحد فقط مهما كان عدد الإشعارات.
+     * @return Completable يكتمل بعد التحديث المحلي (بدون انتظار الشبكة).
+     */
+    public Completable markAllNotificationsAsRead() {
+        return Completable.fromAction(() -> appDatabase.runInTransaction(() -> {
+                    outboxDao.enqueueAllUnreadSync(System.currentTimeMillis());
+                    notificationDao.markAllAsReadSync();
+                }))
+                .subscribeOn(schedulers.dbWrite())
+                .doOnComplete(backgroundSyncService::requestReadOutboxFlush);
+    }
+
+    /**
+     * يرسل جميع عمليات "مقروء" المعلقة في الـ Outbox إلى الخادم في طلبات مجمعة (حتى OUTBOX_BATCH_SIZE لكل طلب)،
+     * ويحذف من الـ Outbox فقط المعرفات التي قبلها الخادم. يتكرر حتى يصبح الـ Outbox فارغًا.
+     * يُستدعى من SyncWorker.
+     * @return Completable يكتمل عند إرسال جميع العمليات المعلقة.
+     */
+    public Completable flushReadOutbox() {
+        return outboxDao.getPendingIds(OUTBOX_BATCH_SIZE)
+                .subscribeOn(schedulers.io())
+                .flatMapCompletable(ids -> {
+                    if (ids.isEmpty()) {
+                        return Completable.complete();
+                    }
+                    AppLogger.d(TAG, "Flushing " + ids.size() + " pending read marks.");
+                    return apiHelper.markNotificationsAsRead(ids)
+                            .flatMapCompletable(response -> {
+                                if (!response.isSuccess()) {
+                                    return Completable.error(new ApiException(
+                                            response.getMessage() != null ? response.getMessage() : "Batch mark as read failed."));
+                                }
+                                return Completable.fromAction(() -> outboxDao.removeAll(ids))
+                                        .subscribeOn(schedulers.dbWrite());
+                            })
+                            .andThen(Completable.defer(this::flushReadOutbox));
+                });
     }
 
     /**
      * يضع علامة "مقروء" على إشعار معين عبر API.
+     * ملاحظة: يرسل طلبًا لكل إشعار ولا يحدّث قاعدة البيانات المحلية؛
+     * يُفضل استخدام markNotificationsAsRead للتحديث المحلي الفوري والإرسال المجمع.
      * @param notificationId معرف الإشعار.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> markNotificationAsRead(String notificationId) {
         return apiHelper.markNotificationAsRead(notificationId)
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+                .subscribeOn(schedulers.io()); // ضمان تنفيذ العمليات في IO thread
     }
 
     // --- عمليات قاعدة البيانات المحلية (Local Database Operations) ---
@@ -89,7 +399,57 @@ public class NotificationRepository {
      */
     public Single<List<Notification>> getLocalNotifications() {
         return notificationDao.getAllNotifications()
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * مراقبة أحدث عناصر قائمة الإشعارات من قاعدة البيانات المحلية.
+     * تُصدر قائمة جديدة فقط عندما يتغير محتواها فعليًا (distinctUntilChanged)،
+     * فلا حاجة لإعادة الاستعلام عند كل تحديث للشاشة.
+     * @param limit الحد الأقصى لعدد العناصر.
+     * @return Flowable بقائمة NotificationListItem.
+     */
+    public Flowable<List<NotificationListItem>> observeLatestNotifications(int limit) {
+        return notificationDao.observeLatestNotificationListItems(limit)
+                .distinctUntilChanged()
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * مراقبة عدد الإشعارات غير المقروءة (مثلاً لشارة Bottom Navigation).
+     * يعتمد على استعلام COUNT(*) مفهرس ولا يحمّل أي صف، وجميع المشتركين يتشاركون نفس الاستعلام.
+     * @return Flowable يُصدر العدد فقط عند تغيره.
+     */
+    public Flowable<Integer> observeUnreadCount() {
+        return unreadCount;
+    }
+
+    /**
+     * مراقبة عدد الإشعارات مجمعة حسب حالة القراءة والفئة.
+     * @return Flowable بقائمة NotificationCount يُصدر فقط عند تغير الأعداد.
+     */
+    public Flowable<List<NotificationCount>> observeNotificationCounts() {
+        return notificationCounts;
+    }
+
+    /**
+     * يحصل على عناصر قائمة الإشعارات المخزنة محليًا (الأعمدة المعروضة فقط).
+     * @return Single يحتوي على قائمة من كائنات NotificationListItem.
+     */
+    public Single<List<NotificationListItem>> getLocalNotificationListItems() {
+        return notificationDao.getAllNotificationListItems()
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * يحمّل الإشعار الكامل (body, payload, action...) عند فتحه فقط.
+     * القائمة تعتمد على NotificationListItem ولا تحتاج هذه الحقول.
+     * @param notificationId معرف الإشعار.
+     * @return Single يحتوي على كائن Notification الكامل.
+     */
+    public Single<Notification> getNotificationDetails(String notificationId) {
+        return notificationDao.getNotificationById(notificationId)
+                .subscribeOn(schedulers.io());
     }
 
     /**
@@ -98,8 +458,8 @@ public class NotificationRepository {
      * @return Completable للإشارة إلى اكتمال العملية.
      */
     public Completable saveNotificationLocally(Notification notification) {
-        return notificationDao.insertNotification(notification)
-                .subscribeOn(Schedulers.io());
+        return notificationDao.upsertFromServer(Collections.singletonList(notification))
+                .subscribeOn(schedulers.dbWrite());
     }
 
     /**
@@ -108,7 +468,7 @@ public class NotificationRepository {
      * @return Completable للإشارة إلى اكتمال العملية.
      */
     public Completable saveAllNotificationsLocally(List<Notification> notifications) {
-        return notificationDao.insertAllNotifications(notifications)
-                .subscribeOn(Schedulers.io());
+        return notificationDao.upsertFromServer(notifications)
+                .subscribeOn(schedulers.dbWrite());
     }
 }
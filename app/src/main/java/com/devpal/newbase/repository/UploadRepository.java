@@ -0,0 +1,226 @@
+package com.devpal.newbase.repository;
+
+import com.devpal.newbase.Models.UploadTask;
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.Network.ApiHelper;
+import com.devpal.newbase.Network.FileChunkRequestBody;
+import com.devpal.newbase.database.dao.UploadDao;
+import com.devpal.newbase.database.dao.UserDao;
+import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.request.UploadInitRequest;
+import com.devpal.newbase.response.UploadSessionResponse;
+import com.devpal.newbase.services.BackgroundSyncService;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.Constants;
+import com.devpal.newbase.utils.SessionManager;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import okhttp3.MediaType;
+
+/**
+ * UploadRepository: كلاس مسؤول عن رفع الملفات (صورة الملف الشخصي والمرفقات) على أجزاء.
+ * يتم حفظ كل عملية رفع في Room (upload_tasks) وتنفيذها في الخلفية عبر UploadWorker،
+ * ويتم حفظ التقدم بعد كل جزء حتى تستأنف العملية المتقطعة من آخر جزء مقبول.
+ * @Singleton: يضمن وجود مثيل واحد فقط من هذا الكلاس طوال دورة حياة التطبيق.
+ */
+@Singleton
+public class UploadRepository {
+
+    private static final String TAG = "UploadRepository";
+
+    private final ApiHelper apiHelper;
+    private final UploadDao uploadDao;
+    private final UserDao userDao;
+    private final SessionManager sessionManager;
+    private final BackgroundSyncService backgroundSyncService;
+    private final SchedulerProvider schedulers;
+
+    /**
+     * مُنشئ يقوم بحقن التبعيات.
+     * @param apiHelper مساعد API للتعامل مع الشبكة.
+     * @param uploadDao كائن DAO لحفظ عمليات الرفع وتقدمها.
+     * @param userDao لتحديث رابط صورة الملف الشخصي بعد اكتمال الرفع.
+     * @param sessionManager لتحديث بيانات المستخدم الحالي في الجلسة.
+     * @param backgroundSyncService لجدولة UploadWorker.
+     * @param schedulers مصدر Schedulers الخاصة بـ RxJava.
+     */
+    @Inject
+    public UploadRepository(ApiHelper apiHelper, UploadDao uploadDao, UserDao userDao,
+                            SessionManager sessionManager, BackgroundSyncService backgroundSyncService,
+                            SchedulerProvider schedulers) {
+        this.apiHelper = apiHelper;
+        this.uploadDao = uploadDao;
+        this.userDao = userDao;
+        this.sessionManager = sessionManager;
+        this.backgroundSyncService = backgroundSyncService;
+        this.schedulers = schedulers;
+        AppLogger.d(TAG, "UploadRepository initialized.");
+    }
+
+    /**
+     * يضيف عملية رفع جديدة إلى قاعدة البيانات ويجدولها في الخلفية.
+     * @param file الملف على القرص (يجب أن يبقى موجودًا حتى اكتمال الرفع).
+     * @param mimeType نوع الملف (مثل image/jpeg).
+     * @param purpose الغرض من الرفع (UploadTask.PURPOSE_PROFILE_PICTURE أو PURPOSE_ATTACHMENT).
+     * @return Single بمعرف عملية الرفع، لاستخدامه مع observeUpload().
+     */
+    public Single<String> enqueueUpload(File file, String mimeType, String purpose) {
+        return Single.fromCallable(() -> {
+                    if (!file.isFile()) {
+                        throw new FileNotFoundException(file.getAbsolutePath());
+                    }
+                    return new UploadTask(UUID.randomUUID().toString(), file.getAbsolutePath(), mimeType, purpose,
+                            file.length(), Constants.UPLOAD_CHUNK_SIZE_BYTES, System.currentTimeMillis());
+                })
+                .flatMap(task -> uploadDao.insertUploadTask(task)
+                        .subscribeOn(schedulers.dbWrite())
+                        .andThen(Single.just(task.getId())))
+                .doOnSuccess(backgroundSyncService::requestUpload)
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * مراقبة حالة وتقدم عملية رفع من قاعدة البيانات المحلية.
+     * @param taskId معرف عملية الرفع.
+     * @return Flowable يُصدر UploadTask عند كل تحديث للتقدم أو الحالة.
+     */
+    public Flowable<UploadTask> observeUpload(String taskId) {
+        return uploadDao.observeUploadTask(taskId)
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * ينفذ (أو يستأنف) عملية الرفع. يُستدعى من UploadWorker فقط.
+     * الأجزاء ترسل بالتتابع بدءًا من next_chunk_index، وكل جزء يُقرأ من القرص مباشرة أثناء الإرسال.
+     * @param taskId معرف عملية الرفع.
+     * @return Completable يكتمل عند اكتمال الرفع وحفظ رابط الملف.
+     */
+    public Completable upload(String taskId) {
+        return uploadDao.getUploadTaskById(taskId)
+                .subscribeOn(schedulers.io())
+                .flatMapCompletable(task -> {
+                    if (UploadTask.STATUS_COMPLETED.equals(task.getStatus())) {
+                        return Completable.complete();
+                    }
+                    File file = new File(task.getFilePath());
+                    if (!file.isFile() || file.length() != task.getTotalBytes()) {
+                        // الملف حُذف أو تغير: لا يمكن الاستئناف بنفس حدود الأجزاء
+                        return Completable.error(new FileNotFoundException(task.getFilePath()));
+                    }
+                    return ensureSession(task, file)
+                            .flatMapCompletable(resumed -> uploadRemainingChunks(resumed, file)
+                                    .andThen(complete(resumed)));
+                });
+    }
+
+    /**
+     * يعلّم عملية الرفع كفاشلة نهائيًا (بعد استنفاد محاولات UploadWorker).
+     */
+    public Completable markUploadFailed(String taskId) {
+        return uploadDao.markFailed(taskId, System.currentTimeMillis())
+                .subscribeOn(schedulers.dbWrite());
+    }
+
+    /**
+     * يبدأ جلسة رفع على الخادم إذا لم تكن موجودة، أو يستأنفها.
+     * client_upload_id يسمح للخادم بإرجاع نفس الجلسة، و received_chunks يصحح التقدم المحلي
+     * إذا كان الخادم قد استلم أجزاء أكثر مما تم حفظه (مثلاً انقطع التطبيق قبل حفظ التقدم).
+     */
+    private Single<UploadTask> ensureSession(UploadTask task, File file) {
+        if (task.getRemoteUploadId() != null) {
+            return Single.just(task);
+        }
+        UploadInitRequest request = new UploadInitRequest(task.getId(), file.getName(), task.getMimeType(),
+                task.getPurpose(), task.getTotalBytes(), task.getChunkSize());
+        return apiHelper.initUpload(request)
+                .flatMap(response -> {
+                    UploadSessionResponse session = response.getData();
+                    if (!response.isSuccess() || session == null || session.getUploadId() == null) {
+                        return Single.error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Failed to start upload."));
+                    }
+                    int nextChunkIndex = Math.max(task.getNextChunkIndex(), session.getReceivedChunks());
+                    task.setRemoteUploadId(session.getUploadId());
+                    task.setNextChunkIndex(nextChunkIndex);
+                    task.setStatus(UploadTask.STATUS_UPLOADING);
+                    return uploadDao.setRemoteUploadId(task.getId(), session.getUploadId(), nextChunkIndex,
+                                    System.currentTimeMillis())
+                            .subscribeOn(schedulers.dbWrite())
+                            .andThen(Single.just(task));
+                });
+    }
+
+    /**
+     * يرسل الأجزاء المتبقية بالتتابع (concatMap) ويحفظ التقدم بعد قبول كل جزء.
+     */
+    private Completable uploadRemainingChunks(UploadTask task, File file) {
+        int totalChunks = task.getTotalChunks();
+        int firstChunk = task.getNextChunkIndex();
+        if (firstChunk >= totalChunks) {
+            return Completable.complete();
+        }
+        MediaType mediaType = task.getMimeType() != null ? MediaType.parse(task.getMimeType()) : null;
+        AppLogger.d(TAG, "Uploading " + task.getId() + " from chunk " + firstChunk + "/" + totalChunks);
+
+        return Observable.range(firstChunk, totalChunks - firstChunk)
+                .concatMapCompletable(index -> {
+                    long offset = (long) index * task.getChunkSize();
+                    long length = Math.min(task.getChunkSize(), task.getTotalBytes() - offset);
+                    FileChunkRequestBody body = new FileChunkRequestBody(file, offset, length, mediaType);
+                    return apiHelper.uploadChunk(task.getRemoteUploadId(), index, body)
+                            .flatMapCompletable(response -> {
+                                if (!response.isSuccess()) {
+                                    return Completable.error(new ApiException(response.getMessage() != null
+                                            ? response.getMessage() : "Failed to upload chunk " + index + "."));
+                                }
+                                return uploadDao.updateProgress(task.getId(), index + 1, System.currentTimeMillis())
+                                        .subscribeOn(schedulers.dbWrite());
+                            });
+                });
+    }
+
+    /**
+     * ينهي الجلسة على الخادم ويحفظ رابط الملف. عند رفع صورة الملف الشخصي
+     * يتم تحديث رابط الصورة في Room و SessionManager فتتحدث الشاشات تلقائيًا.
+     */
+    private Completable complete(UploadTask task) {
+        return apiHelper.completeUpload(task.getRemoteUploadId())
+                .flatMapCompletable(response -> {
+                    UploadSessionResponse session = response.getData();
+                    if (!response.isSuccess() || session == null) {
+                        return Completable.error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Failed to complete upload."));
+                    }
+                    String fileUrl = session.getFileUrl();
+                    AppLogger.i(TAG, "Upload " + task.getId() + " completed: " + fileUrl);
+                    Completable markCompleted = uploadDao.markCompleted(task.getId(), fileUrl, System.currentTimeMillis());
+                    if (UploadTask.PURPOSE_PROFILE_PICTURE.equals(task.getPurpose())) {
+                        markCompleted = markCompleted.andThen(updateProfilePicture(fileUrl));
+                    }
+                    return markCompleted.subscribeOn(schedulers.dbWrite());
+                });
+    }
+
+    private Completable updateProfilePicture(String fileUrl) {
+        return Completable.defer(() -> {
+            User currentUser = sessionManager.getCurrentUser();
+            if (currentUser == null) {
+                return Completable.complete();
+            }
+            currentUser.setProfilePictureUrl(fileUrl);
+            return userDao.upsertUser(currentUser)
+                    .doOnComplete(() -> sessionManager.updateCurrentUser(currentUser));
+        });
+    }
+}
@@ -2,18 +2,29 @@ package com.devpal.newbase.repository;
 
 import com.devpal.newbase.Models.User;
 import com.devpal.newbase.Network.ApiHelper;
+import com.devpal.newbase.Network.priority.RequestPriority;
+import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.database.dao.NotificationOutboxDao;
+import com.devpal.newbase.database.dao.UploadDao;
 import com.devpal.newbase.database.dao.UserDao;
+import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.managers.CacheManager;
 import com.devpal.newbase.response.ApiResponse;
 import com.devpal.newbase.response.BaseResponse;
+import com.devpal.newbase.services.BackgroundSyncService;
 import com.devpal.newbase.utils.AppLogger;
 import com.devpal.newbase.utils.SessionManager;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers; // تأكد من استيراد Schedulers الصحيح
+import okhttp3.Cache;
 
 /**
  * UserRepository: كلاس مسؤول عن إدارة بيانات المستخدم.
@@ -27,19 +38,44 @@ public class UserRepository {
     private static final String TAG = "UserRepository";
     private final ApiHelper apiHelper;
     private final UserDao userDao;
+    // بيانات المستخدم الأخرى التي تُحذف عند تسجيل الخروج
+    private final NotificationDao notificationDao;
+    private final NotificationOutboxDao notificationOutboxDao;
+    private final UploadDao uploadDao;
+    private final BackgroundSyncService backgroundSyncService; // إلغاء المزامنة والرفع عند تسجيل الخروج
     private final SessionManager sessionManager; // لإدارة جلسة المستخدم
+    private final CacheManager cacheManager; // أوقات آخر جلب لسياسات التخزين المؤقت
+    private final Cache httpCache; // Cache الـ HTTP المشترك؛ يُمسح عند تسجيل الخروج
+    private final SchedulerProvider schedulers; // io() فقط؛ الانتقال إلى الخيط الرئيسي مسؤولية طبقة العرض
 
     /**
      * مُنشئ يقوم بحقن التبعيات.
      * @param apiHelper مساعد API للتعامل مع الشبكة.
      * @param userDao كائن DAO للوصول إلى بيانات المستخدم في قاعدة البيانات المحلية.
+     * @param notificationDao كائن DAO للإشعارات المخزنة محليًا.
+     * @param notificationOutboxDao كائن DAO لعمليات "مقروء" المعلقة.
+     * @param uploadDao كائن DAO لعمليات الرفع.
+     * @param backgroundSyncService لإلغاء أعمال المزامنة والرفع في الخلفية.
      * @param sessionManager لإدارة جلسة المستخدم (Auth Token, بيانات المستخدم).
+     * @param cacheManager لتسجيل وقراءة أوقات آخر جلب من الشبكة.
+     * @param httpCache Cache الـ HTTP على القرص (الاستجابات الموثقة مخزنة حسب الرابط فقط).
+     * @param schedulers مصدر Schedulers الخاصة بـ RxJava.
      */
     @Inject
-    public UserRepository(ApiHelper apiHelper, UserDao userDao, SessionManager sessionManager) {
+    public UserRepository(ApiHelper apiHelper, UserDao userDao, NotificationDao notificationDao,
+                          NotificationOutboxDao notificationOutboxDao, UploadDao uploadDao,
+                          BackgroundSyncService backgroundSyncService, SessionManager sessionManager,
+                          CacheManager cacheManager, Cache httpCache, SchedulerProvider schedulers) {
         this.apiHelper = apiHelper;
         this.userDao = userDao;
+        this.notificationDao = notificationDao;
+        this.notificationOutboxDao = notificationOutboxDao;
+        this.uploadDao = uploadDao;
+        this.backgroundSyncService = backgroundSyncService;
         this.sessionManager = sessionManager;
+        this.cacheManager = cacheManager;
+        this.httpCache = httpCache;
+        this.schedulers = schedulers;
         AppLogger.d(TAG, "UserRepository initialized.");
     }
 
@@ -59,15 +95,16 @@ public class UserRepository {
                     if (response.isSuccess() && response.getData() != null) {
                         // تخزين بيانات المستخدم ورمز المصادقة بعد تسجيل الدخول الناجح
                         sessionManager.loginUser(response.getData().getToken(), response.getData());
-                        // إدراج المستخدم في قاعدة البيانات المحلية
-                        return userDao.insertUser(response.getData())
+                        // إدراج أو تحديث المستخدم في قاعدة البيانات المحلية (Upsert بدلاً من REPLACE)
+                        return userDao.upsertUser(response.getData())
+                                .subscribeOn(schedulers.dbWrite())
                                 .andThen(Single.just(response)); // ثم إرجاع استجابة API الأصلية
                     } else {
                         // في حالة فشل تسجيل الدخول من API
                         return Single.just(response);
                     }
                 })
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+                .subscribeOn(schedulers.io()); // ضمان تنفيذ العمليات في IO thread
     }
 
     /**
@@ -77,7 +114,7 @@ public class UserRepository {
      */
     public Single<ApiResponse<BaseResponse>> registerUser(User registerRequest) {
         return apiHelper.registerUser(registerRequest)
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+                .subscribeOn(schedulers.io()); // ضمان تنفيذ العمليات في IO thread
     }
 
     /**
@@ -87,60 +124,141 @@ public class UserRepository {
      */
     public Single<ApiResponse<BaseResponse>> forgotPassword(String email) {
         return apiHelper.forgotPassword(email)
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+                .subscribeOn(schedulers.io()); // ضمان تنفيذ العمليات في IO thread
     }
 
     /**
-     * تسجيل خروج المستخدم من التطبيق.
-     * يقوم بمسح بيانات الجلسة من SessionManager وحذف بيانات المستخدم من قاعدة البيانات المحلية.
+     * تسجيل خروج المستخدم من التطبيق؛ المسار الوحيد لتسجيل الخروج (تستدعيه MainActivity).
+     * يلغي أولاً أعمال المزامنة والرفع حتى لا تكتب بيانات بعد الحذف، ثم يمسح الجلسة وأوقات الجلب
+     * وعلامة المزامنة والطلبات المحفوظة في ApiHelper، ثم يحذف المستخدمين والإشعارات وعمليات "مقروء"
+     * المعلقة وعمليات الرفع من قاعدة البيانات المحلية، وأخيرًا يمسح Cache الـ HTTP حتى لا يحصل المستخدم
+     * التالي على استجابات /user والإشعارات المخزنة للمستخدم السابق.
      * @return Completable للإشارة إلى اكتمال عملية تسجيل الخروج.
      */
     public Completable logoutUser() {
-        sessionManager.logoutUser(); // مسح بيانات الجلسة من SharedPreferences
-        return userDao.deleteAllUsers() // حذف المستخدمين من قاعدة البيانات المحلية
-                .subscribeOn(Schedulers.io()); // ضمان تنفيذ العمليات في IO thread
+        return Completable.fromAction(() -> {
+                    backgroundSyncService.cancelAllSync(); // لا مزامنة أو رفع في الخلفية بدون مستخدم مسجل
+                    sessionManager.logoutUser(); // مسح بيانات الجلسة من SharedPreferences
+                    cacheManager.clearFetchTimestamps(); // النسخ المحلية لا تخص المستخدم التالي
+                    cacheManager.clearSyncWatermarks(); // المستخدم التالي يبدأ بمزامنة كاملة
+                    apiHelper.clearSharedCalls(); // النتائج المحفوظة طُلبت برمز المستخدم السابق
+                })
+                .andThen(userDao.deleteAllUsers()) // حذف المستخدمين من قاعدة البيانات المحلية
+                .andThen(notificationDao.deleteAllNotifications())
+                .andThen(notificationOutboxDao.clearAll()) // عمليات "مقروء" المعلقة تخص المستخدم السابق
+                .andThen(uploadDao.deleteAllUploadTasks())
+                .subscribeOn(schedulers.dbWrite()) // الكتابات على خيط الكتابة الموحد
+                .andThen(Completable.fromAction(httpCache::evictAll)
+                        .subscribeOn(schedulers.io()));
     }
 
     // --- عمليات ملف تعريف المستخدم (User Profile Operations) ---
 
     /**
-     * يحصل على ملف تعريف المستخدم. يحاول أولاً من API، ثم من قاعدة البيانات المحلية في حالة عدم توفر الإنترنت.
+     * يحصل على ملف تعريف المستخدم (CachePolicy.networkFirst). يحاول أولاً من API، ثم من قاعدة البيانات المحلية في حالة عدم توفر الإنترنت.
+     * إذا لم توجد نسخة محلية يُعاد خطأ API الأصلي.
      * @return Single يحتوي على ApiResponse من نوع User.
      */
     public Single<ApiResponse<User>> getUserProfile() {
-        return apiHelper.getUserProfile()
-                .onErrorResumeNext(throwable -> {
-                    // إذا فشل طلب API (ربما بسبب عدم توفر الإنترنت)، حاول من قاعدة البيانات المحلية
-                    AppLogger.w(TAG, "Failed to fetch user profile from API, trying local DB: " + throwable.getMessage());
-                    return userDao.getUserById(sessionManager.getCurrentUser().getId()) // افترض أن ID المستخدم متاح في SessionManager
-                            .map(user -> ApiResponse.success(user)) // تحويل المستخدم إلى ApiResponse.success
-                            .onErrorResumeNext(dbThrowable -> {
-                                // إذا فشل حتى من قاعدة البيانات المحلية، أرجع خطأ API الأصلي
-                                AppLogger.e(TAG, "Failed to fetch user profile from local DB as well.", dbThrowable);
-                                return Single.error(throwable); // أرجع الخطأ الأصلي من API
-                            });
+        return CachePolicy.networkFirst()
+                .apply(localCurrentUser().map(user -> ApiResponse.success(user)), apiHelper.getUserProfile(), 0)
+                .firstOrError()
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * يحصل على ملف تعريف المستخدم حسب سياسة التخزين المؤقت.
+     * مع STALE_WHILE_REVALIDATE تُصدر النسخة المخزنة في Room فورًا (أول عرض بدون انتظار الشبكة)،
+     * ثم النسخة المحدثة من الشبكة إذا كانت المخزنة أقدم من maxAge.
+     * @param policy سياسة التخزين المؤقت.
+     * @return Observable يُصدر User مرة أو مرتين.
+     */
+    public Observable<User> getUserProfile(CachePolicy policy) {
+        return policy.apply(localCurrentUser(), fetchUserProfile(RequestPriority.INTERACTIVE), cacheManager.getLastFetchedAt(CacheManager.KEY_USER_PROFILE))
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * المستخدم الحالي من Room؛ فارغ إذا لم يكن هناك مستخدم مسجل أو صف محلي (EmptyResultSetException).
+     */
+    private Maybe<User> localCurrentUser() {
+        return Maybe.defer(() -> {
+            User currentUser = sessionManager.getCurrentUser();
+            if (currentUser == null) {
+                return Maybe.<User>empty();
+            }
+            return userDao.getUserById(currentUser.getId())
+                    .toMaybe()
+                    .doOnError(throwable -> AppLogger.w(TAG, "No local user profile: " + throwable.getMessage()))
+                    .onErrorComplete();
+        });
+    }
+
+    /**
+     * يجلب ملف تعريف المستخدم من API ويخزنه في Room و SessionManager.
+     * يُستدعى من SyncWorker في الخلفية (بأولوية BACKGROUND)، والشاشات تقرأ النتيجة عبر observeCurrentUser().
+     * @return Completable يكتمل بعد التخزين المحلي، أو فورًا إذا لم يكن هناك مستخدم مسجل للدخول.
+     */
+    public Completable refreshUserProfile() {
+        return refreshUserProfile(RequestPriority.BACKGROUND);
+    }
+
+    /**
+     * مثل refreshUserProfile() بالأولوية المحددة (مثلاً INTERACTIVE أثناء PostLoginWarmUp، حيث ينتظر المستخدم).
+     * @param priority أولوية الطلب.
+     */
+    public Completable refreshUserProfile(RequestPriority priority) {
+        if (!sessionManager.isLoggedIn()) {
+            return Completable.complete();
+        }
+        return fetchUserProfile(priority).ignoreElement();
+    }
+
+    /**
+     * الجلب من API ثم الحفظ في Room و SessionManager وتسجيل وقت الجلب، ثم إصدار المستخدم.
+     */
+    private Single<User> fetchUserProfile(RequestPriority priority) {
+        return apiHelper.getUserProfile(priority)
+                .flatMap(response -> {
+                    if (!response.isSuccess() || response.getData() == null) {
+                        return Single.<User>error(new ApiException(
+                                response.getMessage() != null ? response.getMessage() : "Failed to refresh user profile."));
+                    }
+                    User user = response.getData();
+                    return userDao.upsertUser(user)
+                            .subscribeOn(schedulers.dbWrite())
+                            .doOnComplete(() -> {
+                                sessionManager.updateCurrentUser(user);
+                                cacheManager.markFetched(CacheManager.KEY_USER_PROFILE);
+                            })
+                            .andThen(Single.just(user));
                 })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.io());
     }
 
     /**
      * يقوم بتحديث ملف تعريف المستخدم عبر API.
-     * عند النجاح، يحدث بيانات المستخدم في SessionManager وقاعدة البيانات المحلية.
+     * عند النجاح، تُحدث في قاعدة البيانات المحلية الأعمدة التي أرسلها التعديل فقط (UserDao.updateProfile)،
+     * لأن userProfile جزئي: الحقول التي لم يرسلها المستدعي (null) تبقى كما هي ولا يُدرج صف جديد.
      * @param userProfile كائن User يحتوي على البيانات المحدثة.
      * @return Single يحتوي على ApiResponse من نوع BaseResponse.
      */
     public Single<ApiResponse<BaseResponse>> updateUserProfile(User userProfile) {
         return apiHelper.updateUserProfile(userProfile)
                 .flatMap(response -> {
-                    if (response.isSuccess()) {
+                    User currentUser = sessionManager.getCurrentUser();
+                    String userId = userProfile.getId() != null ? userProfile.getId()
+                            : currentUser != null ? currentUser.getId() : null;
+                    if (response.isSuccess() && userId != null) {
                         // تحديث المستخدم في قاعدة البيانات المحلية بعد التحديث الناجح في API
-                        return userDao.updateUser(userProfile)
+                        return userDao.updateProfile(userId, userProfile)
+                                .subscribeOn(schedulers.dbWrite())
                                 .andThen(Single.just(response)); // ثم إرجاع استجابة API الأصلية
                     } else {
                         return Single.just(response);
                     }
                 })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.io());
     }
 
     // --- عمليات قاعدة البيانات المحلية (Local Database Operations) ---
@@ -151,7 +269,26 @@ public class UserRepository {
      */
     public Single<User> getLocalUserProfile() {
         return userDao.getUserById(sessionManager.getCurrentUser().getId())
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(schedulers.io());
+    }
+
+    /**
+     * مراقبة بيانات المستخدم الحالي من قاعدة البيانات المحلية.
+     * تُصدر قيمة جديدة فقط عندما تتغير بيانات المستخدم المخزنة فعليًا (distinctUntilChanged).
+     * @return Flowable بكائن User، أو Flowable فارغ إذا لم يكن هناك مستخدم مسجل للدخول.
+     */
+    public Flowable<User> observeCurrentUser() {
+        // defer: المستخدم الحالي يُقرأ عند الاشتراك وليس عند بناء الـ Flowable (قد يُبنى قبل تسجيل الدخول)
+        return Flowable.defer(() -> {
+                    User currentUser = sessionManager.getCurrentUser();
+                    if (currentUser == null) {
+                        AppLogger.w(TAG, "No logged in user to observe.");
+                        return Flowable.<User>empty();
+                    }
+                    return userDao.observeUserById(currentUser.getId())
+                            .distinctUntilChanged();
+                })
+                .subscribeOn(schedulers.io());
     }
 
     /**
@@ -160,7 +297,7 @@ public class UserRepository {
      * @return Completable للإشارة إلى اكتمال العملية.
      */
     public Completable saveUserLocally(User user) {
-        return userDao.insertUser(user)
-                .subscribeOn(Schedulers.io());
+        return userDao.upsertUser(user)
+                .subscribeOn(schedulers.dbWrite());
     }
 }
@@ -0,0 +1,61 @@
+package com.devpal.newbase.repository.paging;
+
+import androidx.annotation.NonNull;
+
+import com.devpal.newbase.Models.NotificationListItem;
+
+/**
+ * NotificationPageKey: مفتاح الصفحة في ترقيم الإشعارات بالمفتاح (Keyset Pagination).
+ * يمثل موضع إشعار معين بالزوج (sent_at, id). معناه يحدده نوع التحميل في NotificationPagingSource:
+ * APPEND يبدأ بعده، PREPEND يبدأ قبله، و REFRESH يبدأ منه (لاستعادة موضع التمرير).
+ */
+public final class NotificationPageKey {
+
+    private final long sentAt;
+    @NonNull
+    private final String id;
+
+    public NotificationPageKey(long sentAt, @NonNull String id) {
+        this.sentAt = sentAt;
+        this.id = id;
+    }
+
+    /**
+     * ينشئ مفتاحًا يشير إلى موضع عنصر معين في قائمة الإشعارات.
+     * @param item العنصر (آخر عنصر في الصفحة، أو أولها، أو العنصر الأقرب لموضع التمرير).
+     * @return مفتاح بموضع العنصر.
+     */
+    public static NotificationPageKey of(@NonNull NotificationListItem item) {
+        return new NotificationPageKey(item.getSentAt(), item.getId());
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NotificationPageKey)) return false;
+        NotificationPageKey that = (NotificationPageKey) o;
+        return sentAt == that.sentAt && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(sentAt) + id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationPageKey{" +
+                "sentAt=" + sentAt +
+                ", id='" + id + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.devpal.newbase.repository.paging;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PagingState;
+import androidx.paging.rxjava2.RxPagingSource;
+import androidx.room.InvalidationTracker;
+
+import com.devpal.newbase.Models.NotificationListItem;
+import com.devpal.newbase.database.AppDatabase;
+import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import io.reactivex.Single;
+
+/**
+ * NotificationPagingSource: مصدر صفحات (Paging 3) يقرأ عناصر قائمة الإشعارات من Room بالمفتاح (sent_at, id).
+ * كل صفحة هي استعلام LIMIT مستقل يبدأ من آخر مفتاح، فلا يتم تحميل الجدول كاملاً في الذاكرة،
+ * ولا تتباطأ الصفحات البعيدة كما يحدث مع OFFSET.
+ *
+ * يراقب جدول notifications عبر InvalidationTracker، ويُبطل نفسه عند أي تغيير
+ * ليقوم Pager بإنشاء مصدر جديد وإعادة التحميل من موضع التمرير الحالي (getRefreshKey)،
+ * ثم تُحمّل العناصر الأحدث بالاتجاه المعاكس (PREPEND).
+ */
+public class NotificationPagingSource extends RxPagingSource<NotificationPageKey, NotificationListItem> {
+
+    private static final String TAG = "NotificationPagingSource";
+
+    private final NotificationDao notificationDao;
+    private final SchedulerProvider schedulers;
+
+    public NotificationPagingSource(NotificationDao notificationDao, AppDatabase appDatabase,
+                                    SchedulerProvider schedulers) {
+        this.notificationDao = notificationDao;
+        this.schedulers = schedulers;
+
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("notifications") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        };
+        appDatabase.getInvalidationTracker().addObserver(observer);
+        registerInvalidatedCallback(() -> {
+            appDatabase.getInvalidationTracker().removeObserver(observer);
+            return kotlin.Unit.INSTANCE;
+        });
+    }
+
+    @NonNull
+    @Override
+    public Single<LoadResult<NotificationPageKey, NotificationListItem>> loadSingle(@NonNull LoadParams<NotificationPageKey> params) {
+        NotificationPageKey key = params.getKey();
+        int limit = params.getLoadSize();
+
+        Single<LoadResult<NotificationPageKey, NotificationListItem>> result;
+        if (key == null) {
+            result = notificationDao.getNotificationsFirstPage(limit)
+                    .map(notifications -> toLoadResult(notifications, limit, false));
+        } else if (params instanceof LoadParams.Prepend) {
+            result = notificationDao.getNotificationsPageBefore(key.getSentAt(), key.getId(), limit)
+                    .map(notifications -> toPrependResult(notifications, limit));
+        } else if (params instanceof LoadParams.Append) {
+            // Paging يستخدم prevKey للصفحة الأولى المحملة فقط، فلا حاجة له في صفحات APPEND
+            result = notificationDao.getNotificationsPageAfter(key.getSentAt(), key.getId(), limit)
+                    .map(notifications -> toLoadResult(notifications, limit, false));
+        } else {
+            // REFRESH بمفتاح (بعد الإبطال): نبدأ من العنصر الأقرب لموضع التمرير، والعناصر الأحدث تُحمّل عبر PREPEND
+            result = notificationDao.getNotificationsPageFrom(key.getSentAt(), key.getId(), limit)
+                    .map(notifications -> toLoadResult(notifications, limit, true));
+        }
+
+        return result
+                .subscribeOn(schedulers.io())
+                .onErrorReturn(throwable -> {
+                    AppLogger.e(TAG, "Failed to load notifications page from local DB.", throwable);
+                    return new LoadResult.Error<>(throwable);
+                });
+    }
+
+    /**
+     * @param hasPrevious هل قد توجد عناصر أحدث قبل هذه الصفحة (أي أنها لا تبدأ من أعلى القائمة).
+     */
+    private LoadResult<NotificationPageKey, NotificationListItem> toLoadResult(List<NotificationListItem> notifications,
+                                                                            int limit, boolean hasPrevious) {
+        // إذا كانت الصفحة أقصر من المطلوب فقد وصلنا إلى نهاية البيانات المحلية
+        NotificationPageKey nextKey = notifications.size() < limit
+                ? null
+                : NotificationPageKey.of(notifications.get(notifications.size() - 1));
+        NotificationPageKey prevKey = hasPrevious && !notifications.isEmpty()
+                ? NotificationPageKey.of(notifications.get(0))
+                : null;
+        return new LoadResult.Page<>(notifications, prevKey, nextKey);
+    }
+
+    private LoadResult<NotificationPageKey, NotificationListItem> toPrependResult(List<NotificationListItem> ascending, int limit) {
+        List<NotificationListItem> notifications = new ArrayList<>(ascending);
+        Collections.reverse(notifications); // الاستعلام تصاعدي، والقائمة تعرض الأحدث أولاً
+        // إذا كانت الصفحة أقصر من المطلوب فقد وصلنا إلى أعلى القائمة
+        NotificationPageKey prevKey = notifications.size() < limit ? null : NotificationPageKey.of(notifications.get(0));
+        NotificationPageKey nextKey = notifications.isEmpty()
+                ? null
+                : NotificationPageKey.of(notifications.get(notifications.size() - 1));
+        return new LoadResult.Page<>(notifications, prevKey, nextKey);
+    }
+
+    /**
+     * الجدول يتغير (ويُبطل المصدر) مع كل صفحة يكتبها NotificationRemoteMediator، لذلك نعيد التحميل
+     * من العنصر الأقرب لموضع التمرير بدلاً من أعلى القائمة، فلا يفقد المستخدم موضعه.
+     */
+    @Nullable
+    @Override
+    public NotificationPageKey getRefreshKey(@NonNull PagingState<NotificationPageKey, NotificationListItem> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        NotificationListItem anchorItem = state.closestItemToPosition(anchorPosition);
+        return anchorItem != null ? NotificationPageKey.of(anchorItem) : null;
+    }
+}
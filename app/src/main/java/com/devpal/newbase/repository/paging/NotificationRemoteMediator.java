@@ -0,0 +1,86 @@
+package com.devpal.newbase.repository.paging;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.rxjava2.RxRemoteMediator;
+
+import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.NotificationListItem;
+import com.devpal.newbase.Network.ApiHelper;
+import com.devpal.newbase.database.dao.NotificationDao;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.schedulers.SchedulerProvider;
+
+import java.util.List;
+
+import io.reactivex.Single;
+
+/**
+ * NotificationRemoteMediator: يجلب صفحات الإشعارات من الـ API عند نفاد البيانات المحلية
+ * ويخزنها في Room، بينما يقرأ NotificationPagingSource من Room فقط.
+ * كل طلب يحمل مؤشر (before_sent_at, before_id) لآخر إشعار معروض بدلاً من جلب القائمة كاملة.
+ */
+@ExperimentalPagingApi
+public class NotificationRemoteMediator extends RxRemoteMediator<NotificationPageKey, NotificationListItem> {
+
+    private static final String TAG = "NotificationRemoteMediator";
+
+    private final ApiHelper apiHelper;
+    private final NotificationDao notificationDao;
+    private final SchedulerProvider schedulers;
+
+    public NotificationRemoteMediator(ApiHelper apiHelper, NotificationDao notificationDao,
+                                      SchedulerProvider schedulers) {
+        this.apiHelper = apiHelper;
+        this.notificationDao = notificationDao;
+        this.schedulers = schedulers;
+    }
+
+    @NonNull
+    @Override
+    public Single<MediatorResult> loadSingle(@NonNull LoadType loadType,
+                                             @NonNull PagingState<NotificationPageKey, NotificationListItem> state) {
+        int pageSize = state.getConfig().pageSize;
+        Long beforeSentAt;
+        String beforeId;
+
+        switch (loadType) {
+            case REFRESH:
+                beforeSentAt = null;
+                beforeId = null;
+                break;
+            case PREPEND:
+                // القائمة مرتبة من الأحدث إلى الأقدم، والتحديث من الأعلى يتم عبر REFRESH فقط
+                return Single.just(new MediatorResult.Success(true));
+            case APPEND:
+            default:
+                NotificationListItem lastItem = state.lastItemOrNull();
+                if (lastItem == null) {
+                    // لا توجد بيانات محلية بعد، وسيتولى REFRESH جلب الصفحة الأولى
+                    return Single.just(new MediatorResult.Success(false));
+                }
+                beforeSentAt = lastItem.getSentAt();
+                beforeId = lastItem.getId();
+                break;
+        }
+
+        return apiHelper.getNotificationsPage(beforeSentAt, beforeId, pageSize)
+                .flatMap(response -> {
+                    if (!response.isSuccess() || response.getData() == null) {
+                        return Single.<MediatorResult>just(new MediatorResult.Error(
+                                new IllegalStateException("Notifications page request failed: " + response.getMessage())));
+                    }
+                    List<Notification> page = response.getData();
+                    boolean endReached = page.size() < pageSize;
+                    return notificationDao.upsertFromServer(page)
+                            .subscribeOn(schedulers.dbWrite())
+                            .andThen(Single.<MediatorResult>just(new MediatorResult.Success(endReached)));
+                })
+                .onErrorReturn(throwable -> {
+                    AppLogger.e(TAG, "Failed to load notifications page from API (" + loadType + ").", throwable);
+                    return new MediatorResult.Error(throwable);
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.devpal.newbase.request;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * MarkNotificationsReadRequest: جسم طلب تعليم عدة إشعارات كمقروءة في طلب واحد.
+ */
+public class MarkNotificationsReadRequest {
+
+    @SerializedName("ids")
+    private final List<String> ids; // معرفات الإشعارات المراد تعليمها كمقروءة
+
+    public MarkNotificationsReadRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    @Override
+    public String toString() {
+        return "MarkNotificationsReadRequest{" +
+                "ids=" + ids.size() +
+                '}';
+    }
+}
@@ -0,0 +1,25 @@
+package com.devpal.newbase.request;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * RefreshTokenRequest: جسم طلب تجديد رمز الوصول (Access Token).
+ */
+public class RefreshTokenRequest {
+
+    @SerializedName("refresh_token")
+    private final String refreshToken;
+
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequest{refreshToken=***}"; // لا نسجل الرمز نفسه
+    }
+}
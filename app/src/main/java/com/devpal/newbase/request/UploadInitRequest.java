@@ -0,0 +1,62 @@
+package com.devpal.newbase.request;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * UploadInitRequest: جسم طلب بدء جلسة رفع ملف مجزأ.
+ * يرسل العميل الحجم الكلي وحجم الجزء، فيعرف الخادم عدد الأجزاء المتوقعة.
+ */
+public class UploadInitRequest {
+
+    @SerializedName("client_upload_id")
+    private final String clientUploadId; // المعرف المحلي، يسمح للخادم بإرجاع نفس الجلسة عند إعادة المحاولة
+
+    @SerializedName("file_name")
+    private final String fileName;
+
+    @SerializedName("mime_type")
+    private final String mimeType;
+
+    @SerializedName("purpose")
+    private final String purpose;
+
+    @SerializedName("total_bytes")
+    private final long totalBytes;
+
+    @SerializedName("chunk_size")
+    private final int chunkSize;
+
+    public UploadInitRequest(String clientUploadId, String fileName, String mimeType, String purpose,
+                             long totalBytes, int chunkSize) {
+        this.clientUploadId = clientUploadId;
+        this.fileName = fileName;
+        this.mimeType = mimeType;
+        this.purpose = purpose;
+        this.totalBytes = totalBytes;
+        this.chunkSize = chunkSize;
+    }
+
+    public String getClientUploadId() {
+        return clientUploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+}
@@ -0,0 +1,72 @@
+package com.devpal.newbase.response;
+
+import com.devpal.newbase.Models.Notification;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NotificationDeltaResponse: استجابة المزامنة التزايدية (Delta Sync) للإشعارات.
+ * تحتوي فقط على الإشعارات التي تغيرت منذ العلامة المائية (since) المرسلة،
+ * ومعرفات الإشعارات المحذوفة على الخادم (Tombstones) لحذفها محليًا.
+ */
+public class NotificationDeltaResponse {
+
+    @SerializedName("updated")
+    private List<Notification> updated; // الإشعارات الجديدة أو المعدلة منذ since
+
+    @SerializedName("deleted_ids")
+    private List<String> deletedIds; // معرفات الإشعارات المحذوفة على الخادم
+
+    @SerializedName("has_more")
+    private boolean hasMore; // true إذا كانت هناك تغييرات أخرى لم تُرسل في هذه الدفعة
+
+    @SerializedName("next_since")
+    private Long nextSince; // العلامة المائية التي يجب استخدامها لطلب الدفعة التالية
+
+    // مُنشئ فارغ مطلوب لـ Gson
+    public NotificationDeltaResponse() {
+    }
+
+    public NotificationDeltaResponse(List<Notification> updated, List<String> deletedIds, boolean hasMore, Long nextSince) {
+        this.updated = updated;
+        this.deletedIds = deletedIds;
+        this.hasMore = hasMore;
+        this.nextSince = nextSince;
+    }
+
+    // --- Getters ---
+
+    /**
+     * @return الإشعارات المعدلة، أو قائمة فارغة إذا لم يرسلها الخادم.
+     */
+    public List<Notification> getUpdated() {
+        return updated != null ? updated : Collections.emptyList();
+    }
+
+    /**
+     * @return معرفات الإشعارات المحذوفة، أو قائمة فارغة إذا لم يرسلها الخادم.
+     */
+    public List<String> getDeletedIds() {
+        return deletedIds != null ? deletedIds : Collections.emptyList();
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public Long getNextSince() {
+        return nextSince;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationDeltaResponse{" +
+                "updated=" + getUpdated().size() +
+                ", deletedIds=" + getDeletedIds().size() +
+                ", hasMore=" + hasMore +
+                ", nextSince=" + nextSince +
+                '}';
+    }
+}
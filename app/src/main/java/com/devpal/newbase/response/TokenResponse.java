@@ -0,0 +1,50 @@
+package com.devpal.newbase.response;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * TokenResponse: استجابة تجديد رمز الوصول.
+ * refresh_token اختياري: إذا لم يرسله الخادم يبقى الرمز السابق صالحًا.
+ * expires_in: مدة صلاحية رمز الوصول بالثواني (null إذا لم يحددها الخادم).
+ */
+public class TokenResponse {
+
+    @SerializedName("token")
+    private String token;
+
+    @SerializedName("refresh_token")
+    private String refreshToken;
+
+    @SerializedName("expires_in")
+    private Long expiresIn;
+
+    // مُنشئ فارغ مطلوب لـ Gson
+    public TokenResponse() {
+    }
+
+    public TokenResponse(String token, String refreshToken, Long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenResponse{" +
+                "expiresIn=" + expiresIn +
+                ", hasRefreshToken=" + (refreshToken != null) +
+                '}';
+    }
+}
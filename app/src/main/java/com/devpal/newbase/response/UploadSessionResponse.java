@@ -0,0 +1,51 @@
+package com.devpal.newbase.response;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * UploadSessionResponse: استجابة بدء أو إنهاء جلسة رفع ملف مجزأ.
+ * received_chunks: عدد الأجزاء المتتالية التي استلمها الخادم بالفعل، لاستئناف الرفع
+ * حتى لو فقد التطبيق تقدمه المحلي. file_url: رابط الملف النهائي بعد الإنهاء.
+ */
+public class UploadSessionResponse {
+
+    @SerializedName("upload_id")
+    private String uploadId; // معرف جلسة الرفع على الخادم
+
+    @SerializedName("received_chunks")
+    private int receivedChunks; // عدد الأجزاء المستلمة مسبقًا (0 لجلسة جديدة)
+
+    @SerializedName("file_url")
+    private String fileUrl; // رابط الملف بعد اكتمال الرفع (null قبل الإنهاء)
+
+    // مُنشئ فارغ مطلوب لـ Gson
+    public UploadSessionResponse() {
+    }
+
+    public UploadSessionResponse(String uploadId, int receivedChunks, String fileUrl) {
+        this.uploadId = uploadId;
+        this.receivedChunks = receivedChunks;
+        this.fileUrl = fileUrl;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public int getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public String getFileUrl() {
+        return fileUrl;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadSessionResponse{" +
+                "uploadId='" + uploadId + '\'' +
+                ", receivedChunks=" + receivedChunks +
+                ", fileUrl='" + fileUrl + '\'' +
+                '}';
+    }
+}
@@ -1,4 +1,148 @@
 package com.devpal.newbase.services;
 
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OutOfQuotaPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.work.SyncWorker;
+import com.devpal.newbase.work.UploadWorker;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * BackgroundSyncService: نقطة الدخول الوحيدة لجدولة أعمال المزامنة في الخلفية عبر WorkManager.
+ * الأعمال نفسها تنفذ داخل SyncWorker، وهذا الكلاس مسؤول فقط عن القيود (Constraints)
+ * وسياسة إعادة المحاولة (Backoff) ومنع تكرار نفس العمل (Unique Work).
+ */
+@Singleton
 public class BackgroundSyncService {
+
+    private static final String TAG = "BackgroundSyncService";
+
+    // أسماء الأعمال الفريدة (Unique Work) لمنع جدولة نفس العمل أكثر من مرة
+    static final String WORK_PERIODIC_SYNC = "periodic_sync";
+    static final String WORK_IMMEDIATE_SYNC = "immediate_sync";
+    static final String WORK_FLUSH_READ_OUTBOX = "flush_notification_read_outbox";
+    static final String WORK_UPLOAD_PREFIX = "upload_"; // + معرف عملية الرفع
+    static final String TAG_UPLOADS = "uploads";
+    // الحد الأدنى الذي يسمح به WorkManager للأعمال الدورية هو 15 دقيقة
+    private static final long PERIODIC_SYNC_INTERVAL_MINUTES = 15;
+    // مهلة قصيرة قبل الإرسال لتجميع عدة نقرات متتالية في طلب واحد
+    private static final long OUTBOX_FLUSH_DELAY_SECONDS = 2;
+    private static final long BACKOFF_DELAY_SECONDS = 30;
+
+    private final WorkManager workManager;
+
+    @Inject
+    public BackgroundSyncService(WorkManager workManager) {
+        this.workManager = workManager;
+        AppLogger.d(TAG, "BackgroundSyncService initialized.");
+    }
+
+    /**
+     * يجدول المزامنة الدورية الكاملة (الملف الشخصي + الإشعارات) كل 15 دقيقة،
+     * فقط عند توفر الشبكة وعدم انخفاض البطارية.
+     * KEEP: استدعاء هذه الدالة عند كل تشغيل للتطبيق لا يعيد ضبط الجدول الزمني الحالي.
+     */
+    public void schedulePeriodicSync() {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                SyncWorker.class, PERIODIC_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
+                .setInputData(fullSyncInput())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .setRequiresBatteryNotLow(true)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+                .build();
+        workManager.enqueueUniquePeriodicWork(WORK_PERIODIC_SYNC, ExistingPeriodicWorkPolicy.KEEP, request);
+        AppLogger.d(TAG, "Periodic sync scheduled.");
+    }
+
+    /**
+     * يطلب مزامنة كاملة فورية (Expedited)، مثلاً عند فتح التطبيق أو السحب للتحديث.
+     * إذا نفدت حصة الأعمال المستعجلة يُنفذ كعمل عادي. إذا كانت هناك مزامنة فورية
+     * قيد الانتظار أو التنفيذ يتم الاحتفاظ بها (KEEP) بدلاً من تكرارها.
+     */
+    public void requestImmediateSync() {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SyncWorker.class)
+                .setInputData(fullSyncInput())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+                .build();
+        workManager.enqueueUniqueWork(WORK_IMMEDIATE_SYNC, ExistingWorkPolicy.KEEP, request);
+        AppLogger.d(TAG, "Immediate sync requested.");
+    }
+
+    /**
+     * يلغي جميع أعمال المزامنة وعمليات الرفع (المعلّمة بـ TAG_UPLOADS) (مثلاً عند تسجيل الخروج).
+     */
+    public void cancelAllSync() {
+        workManager.cancelUniqueWork(WORK_PERIODIC_SYNC);
+        workManager.cancelUniqueWork(WORK_IMMEDIATE_SYNC);
+        workManager.cancelUniqueWork(WORK_FLUSH_READ_OUTBOX);
+        workManager.cancelAllWorkByTag(TAG_UPLOADS); // عمليات الرفع تستخدم جلسة المستخدم الحالي
+        AppLogger.d(TAG, "All sync and upload work cancelled.");
+    }
+
+    private static Data fullSyncInput() {
+        return new Data.Builder()
+                .putString(SyncWorker.KEY_MODE, SyncWorker.MODE_FULL)
+                .build();
+    }
+
+    /**
+     * يطلب إرسال عمليات "مقروء" المعلقة في الـ Outbox عند توفر الشبكة.
+     * يُضاف الطلب بعد الطلب الحالي (APPEND_OR_REPLACE) بدلاً من KEEP: الطلب الذي بدأ التنفيذ قرأ
+     * المعرفات بالفعل، فالعمليات المضافة أثناءه كانت ستنتظر حتى المزامنة التالية. كل طلب يقرأ جميع
+     * المعرفات الموجودة عند تنفيذه، فالطلب الملحق الذي لا يجد شيئًا ينتهي دون طلب شبكة،
+     * و REPLACE (بدل APPEND) يمنع فشل طلب سابق من إلغاء الطلبات التالية في السلسلة.
+     */
+    public void requestReadOutboxFlush() {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SyncWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(SyncWorker.KEY_MODE, SyncWorker.MODE_FLUSH_READ_OUTBOX)
+                        .build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setInitialDelay(OUTBOX_FLUSH_DELAY_SECONDS, TimeUnit.SECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+                .build();
+        workManager.enqueueUniqueWork(WORK_FLUSH_READ_OUTBOX, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+        AppLogger.d(TAG, "Read outbox flush requested.");
+    }
+
+    /**
+     * يجدول رفع ملف محفوظ في upload_tasks عند توفر الشبكة.
+     * عمل فريد لكل عملية رفع (KEEP)، فطلب نفس العملية مرتين لا يرفعها مرتين.
+     * @param uploadTaskId معرف عملية الرفع.
+     */
+    public void requestUpload(String uploadTaskId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(UploadWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(UploadWorker.KEY_UPLOAD_TASK_ID, uploadTaskId)
+                        .build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+                .addTag(TAG_UPLOADS)
+                .build();
+        workManager.enqueueUniqueWork(WORK_UPLOAD_PREFIX + uploadTaskId, ExistingWorkPolicy.KEEP, request);
+        AppLogger.d(TAG, "Upload requested: " + uploadTaskId);
+    }
 }
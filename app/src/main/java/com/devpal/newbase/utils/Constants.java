@@ -36,6 +36,23 @@ public final class Constants {
     // --- قيم افتراضية أو عامة أخرى ---
     public static final long SPLASH_DISPLAY_LENGTH = 2000; // مدة شاشة البداية بالمللي ثانية
 
+    // --- رفع الملفات (Uploads) ---
+    public static final int UPLOAD_CHUNK_SIZE_BYTES = 1024 * 1024; // حجم كل جزء يرسل في طلب واحد (1 ميجابايت)
+    public static final int UPLOAD_MAX_PARALLEL = 3; // الحد الأقصى لعمليات الرفع المتزامنة
+
+    // --- حدود أحجام الاستجابات على الشبكة (Payload Budgets، انظر PayloadSizeTracker) ---
+    public static final long PAYLOAD_BUDGET_DEFAULT_BYTES = 64 * 1024; // الحد الافتراضي لأي نقطة نهاية
+    public static final long PAYLOAD_BUDGET_NOTIFICATIONS_BYTES = 256 * 1024; // قوائم الإشعارات وتغييراتها
+
+    // --- Schedulers الخاصة بـ RxJava (انظر AppSchedulerProvider و SchedulerMetricsRegistry) ---
+    public static final int NETWORK_SCHEDULER_THREADS = 4; // حد خيوط معالجة استجابات الشبكة
+    public static final long SCHEDULER_IDLE_KEEP_ALIVE_SECONDS = 30; // مدة بقاء الخيط الخامل قبل إنهائه
+    public static final long SCHEDULER_SLOW_START_MILLIS = 100; // انتظار أطول من هذا قبل بدء المهمة يعتبر تشبعًا
+
+    // --- المصادقة (انظر AuthInterceptor و TokenRefresher) ---
+    public static final long AUTH_REFRESH_LEEWAY_MILLIS = 60 * 1000; // تجديد الرمز في الخلفية قبل انتهائه بهذه المدة
+    public static final long POST_LOGIN_WARM_UP_TIMEOUT_MILLIS = 3000; // الحد الأقصى لانتظار تجهيز البيانات بعد تسجيل الدخول
+
     // بناء كلاس Constants لا يمكن إنشاء مثيل منه (Non-instantiable)
     private Constants() {
         // منع إنشاء كائنات من هذا الكلاس
@@ -3,10 +3,10 @@ package com.devpal.newbase.utils;
 import android.content.Context;
 import android.widget.Toast;
 
+import com.devpal.newbase.Network.adapters.AppGson;
 import com.devpal.newbase.exceptions.ApiException;
 import com.devpal.newbase.exceptions.NoInternetException;
 import com.devpal.newbase.response.ErrorResponse; // استيراد ErrorResponse
-import com.google.gson.Gson; // لاستخدام Gson
 import com.google.gson.JsonSyntaxException; // لمعالجة أخطاء تحليل JSON
 
 /**
@@ -43,8 +43,7 @@ public final class ErrorHandler {
             // حاول تحليل errorBody إذا كان موجودًا
             if (apiException.getErrorBody() != null && !apiException.getErrorBody().isEmpty()) {
                 try {
-                    Gson gson = new Gson();
-                    ErrorResponse errorResponse = gson.fromJson(apiException.getErrorBody(), ErrorResponse.class);
+                    ErrorResponse errorResponse = AppGson.shared().fromJson(apiException.getErrorBody(), ErrorResponse.class);
                     if (errorResponse != null && errorResponse.getMessage() != null && !errorResponse.getMessage().isEmpty()) {
                         return errorResponse.getMessage(); // استخدم رسالة الخطأ من جسم الاستجابة
                     }
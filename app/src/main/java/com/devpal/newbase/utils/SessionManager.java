@@ -4,13 +4,20 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import com.devpal.newbase.Models.User; // سنستخدم كائن User الذي أنشأناه
+import com.devpal.newbase.Network.auth.AuthTokens;
 import com.google.gson.Gson; // لتبسيط تخزين الكائنات كـ JSON
 import javax.inject.Inject; // for Dagger Hilt injection
 import javax.inject.Singleton; // for Dagger Hilt singleton scope
 
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
 /**
  * SessionManager: كلاس لإدارة جلسة المستخدم (تسجيل الدخول، تسجيل الخروج، تخزين بيانات المستخدم).
  * يستخدم SharedPreferences لتخزين البيانات بشكل محلي.
+ * رموز المصادقة تُقرأ من SharedPreferences مرة واحدة فقط، ثم من لقطة AuthTokens في الذاكرة (volatile)
+ * يقرؤها AuthInterceptor مع كل طلب.
  *
  * @Singleton: يضمن وجود مثيل واحد فقط من هذا الكلاس طوال دورة حياة التطبيق.
  */
@@ -21,10 +28,14 @@ public class SessionManager {
     private static final String KEY_IS_LOGGED_IN = "isLoggedIn"; // مفتاح لتخزين حالة تسجيل الدخول
     private static final String KEY_AUTH_TOKEN = "authToken"; // مفتاح لتخزين رمز المصادقة (Auth Token)
     private static final String KEY_USER_DATA = "userData"; // مفتاح لتخزين بيانات المستخدم كـ JSON
+    private static final String KEY_REFRESH_TOKEN = "refreshToken"; // رمز تجديد رمز الوصول
+    private static final String KEY_TOKEN_EXPIRES_AT = "tokenExpiresAt"; // وقت انتهاء رمز الوصول (0 = غير معروف)
 
     private final SharedPreferences pref;
     private final SharedPreferences.Editor editor;
     private final Gson gson; // لإدارة تحويل كائنات Java إلى JSON والعكس
+    private volatile AuthTokens authTokens; // null حتى أول قراءة من SharedPreferences
+    private final Subject<Long> sessionExpirations = PublishSubject.<Long>create().toSerialized();
 
     private static final String TAG = "SessionManager";
 
@@ -32,13 +43,14 @@ public class SessionManager {
      * مُنشئ (Constructor) يقوم بحقن السياق (Context) بواسطة Dagger Hilt
      * ويُهيئ SharedPreferences.
      * @param context سياق التطبيق (Application Context) المحقون بواسطة Hilt.
+     * @param gson مثيل Gson المشترك (AppGson) مع محول User المكتوب يدويًا.
      */
     @Inject
-    public SessionManager(Context context) {
+    public SessionManager(Context context, Gson gson) {
         // تهيئة SharedPreferences مع وضع الخصوصية Private (فقط لهذا التطبيق)
         this.pref = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
         this.editor = pref.edit(); // للحصول على مُحرر للتعديل على SharedPreferences
-        this.gson = new Gson(); // تهيئة Gson
+        this.gson = gson; // Gson المشترك بدلاً من مثيل جديد لكل SessionManager
         AppLogger.d(TAG, "SessionManager initialized.");
     }
 
@@ -49,23 +61,59 @@ public class SessionManager {
      * @param user كائن User الذي يحتوي على بيانات المستخدم.
      */
     public void loginUser(String authToken, User user) {
-        editor.putBoolean(KEY_IS_LOGGED_IN, true);
-        editor.putString(KEY_AUTH_TOKEN, authToken);
-        editor.putString(KEY_USER_DATA, gson.toJson(user)); // تحويل كائن User إلى JSON String
-        editor.apply(); // تطبيق التغييرات بشكل غير متزامن
-        AppLogger.d(TAG, "User logged in. Token stored: " + authToken);
+        AuthTokens tokens = AuthTokens.fromExpiresIn(authToken, user.getRefreshToken(), user.getExpiresIn(),
+                System.currentTimeMillis());
+        synchronized (this) {
+            editor.putBoolean(KEY_IS_LOGGED_IN, true);
+            putAuthTokens(tokens);
+            editor.putString(KEY_USER_DATA, gson.toJson(user)); // تحويل كائن User إلى JSON String
+            editor.apply(); // تطبيق التغييرات بشكل غير متزامن
+            authTokens = tokens;
+        }
+        AppLogger.d(TAG, "User logged in. " + tokens);
     }
 
     /**
      * تسجيل خروج المستخدم.
      * يمسح جميع بيانات الجلسة المخزنة.
      */
-    public void logoutUser() {
+    public synchronized void logoutUser() {
         editor.clear(); // يمسح جميع البيانات من SharedPreferences
         editor.apply(); // تطبيق التغييرات
+        authTokens = AuthTokens.NONE;
         AppLogger.d(TAG, "User logged out. Session cleared.");
     }
 
+    /**
+     * ينهي الجلسة لأن الخادم رفض رمز التجديد نهائيًا (مثلاً أُلغي أو انتهت صلاحيته)، فلا فائدة
+     * من إرسال أي طلب آخر بهذه الرموز. يمسح الجلسة مثل logoutUser() فقط إذا كانت الرموز الحالية
+     * ما زالت expected (لم يسجل المستخدم دخوله من جديد أثناء التجديد)، ثم يصدر حدثًا في observeSessionExpired().
+     * @param expected الرموز التي رُفض تجديدها.
+     * @return true إذا تم إنهاء الجلسة.
+     */
+    public boolean expireSession(AuthTokens expected) {
+        synchronized (this) {
+            if (getAuthTokens() != expected) {
+                return false;
+            }
+            editor.clear();
+            editor.apply();
+            authTokens = AuthTokens.NONE;
+        }
+        AppLogger.w(TAG, "Session expired, refresh token rejected by the server.");
+        sessionExpirations.onNext(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * @return Observable يصدر وقت انتهاء الجلسة في كل مرة يتم فيها استدعاء expireSession() بنجاح.
+     * BaseApplication يشترك فيه طوال عمر التطبيق لحذف البيانات المحلية، والشاشات لتوجيه المستخدم إلى
+     * شاشة تسجيل الدخول فقط. يصدر على خيط OkHttp؛ استخدم observeOn عند تحديث الواجهة.
+     */
+    public Observable<Long> observeSessionExpired() {
+        return sessionExpirations;
+    }
+
     /**
      * يتحقق مما إذا كان المستخدم مسجلاً للدخول حاليًا.
      * @return true إذا كان المستخدم مسجلاً للدخول، false بخلاف ذلك.
@@ -79,7 +127,46 @@ public class SessionManager {
      * @return رمز المصادقة، أو null إذا لم يكن موجودًا.
      */
     public String getAuthToken() {
-        return pref.getString(KEY_AUTH_TOKEN, null);
+        return getAuthTokens().getAccessToken();
+    }
+
+    /**
+     * @return لقطة الرموز الحالية من الذاكرة؛ تُحمّل من SharedPreferences عند أول استدعاء فقط.
+     */
+    public AuthTokens getAuthTokens() {
+        AuthTokens tokens = authTokens;
+        if (tokens == null) {
+            synchronized (this) {
+                tokens = authTokens;
+                if (tokens == null) {
+                    tokens = new AuthTokens(pref.getString(KEY_AUTH_TOKEN, null),
+                            pref.getString(KEY_REFRESH_TOKEN, null), pref.getLong(KEY_TOKEN_EXPIRES_AT, 0));
+                    authTokens = tokens;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * يستبدل الرموز بعد تجديدها، فقط إذا كانت الرموز الحالية ما زالت expected
+     * (لم يسجل المستخدم خروجه أو دخوله بحساب آخر أثناء التجديد).
+     * @return true إذا تم الاستبدال.
+     */
+    public synchronized boolean replaceAuthTokens(AuthTokens expected, AuthTokens updated) {
+        if (getAuthTokens() != expected) {
+            return false;
+        }
+        putAuthTokens(updated);
+        editor.apply();
+        authTokens = updated;
+        return true;
+    }
+
+    private void putAuthTokens(AuthTokens tokens) {
+        editor.putString(KEY_AUTH_TOKEN, tokens.getAccessToken());
+        editor.putString(KEY_REFRESH_TOKEN, tokens.getRefreshToken());
+        editor.putLong(KEY_TOKEN_EXPIRES_AT, tokens.getExpiresAtMillis());
     }
 
     /**
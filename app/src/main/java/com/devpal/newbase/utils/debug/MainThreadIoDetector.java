@@ -0,0 +1,102 @@
+package com.devpal.newbase.utils.debug;
+
+import android.os.Looper;
+import android.os.StrictMode;
+
+import androidx.room.RoomDatabase;
+
+import com.devpal.newbase.utils.AppLogger;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * MainThreadIoDetector: كاشف لعمليات Room والقرص التي تُنفذ على الخيط الرئيسي (Main Looper)،
+ * يُفعل في بنيات التطوير (Debug) والاختبارات فقط.
+ *
+ * - Room: يُسجل QueryCallback على قاعدة البيانات بمنفذ مباشر (Direct Executor)، فيعمل الفحص
+ *   على نفس الخيط الذي ينفذ الاستعلام. يغطي ما لا يغطيه فحص Room الافتراضي
+ *   (مثل allowMainThreadQueries في الاختبارات، أو استعلامات InvalidationTracker).
+ * - القرص: StrictMode يسجل القراءة والكتابة على الخيط الرئيسي في Logcat.
+ *
+ * العقوبة الافتراضية LOG (تسجيل خطأ مع Stack Trace)؛ الاختبارات تضبط THROW لتفشل عند أول مخالفة.
+ */
+public final class MainThreadIoDetector {
+
+    private static final String TAG = "MainThreadIoDetector";
+
+    public enum Penalty {
+        LOG,
+        THROW
+    }
+
+    /**
+     * يُرمى عند تنفيذ عملية I/O على الخيط الرئيسي والعقوبة THROW.
+     */
+    public static final class MainThreadIoException extends IllegalStateException {
+        MainThreadIoException(String message) {
+            super(message);
+        }
+    }
+
+    // ينفذ QueryCallback على خيط الاستعلام نفسه، حتى يمكن معرفة إن كان الخيط الرئيسي
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private static volatile Penalty penalty = Penalty.LOG;
+
+    private MainThreadIoDetector() {
+    }
+
+    public static void setPenalty(Penalty newPenalty) {
+        penalty = newPenalty;
+    }
+
+    /**
+     * يفعل StrictMode للخيط الرئيسي (قراءة وكتابة القرص) مع تسجيل المخالفات في Logcat.
+     * يجب استدعاؤه من الخيط الرئيسي (مثلاً في Application.onCreate) وفي بنيات Debug فقط.
+     */
+    public static void installStrictMode() {
+        StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .penaltyLog()
+                .build());
+    }
+
+    /**
+     * يضيف فحص الخيط الرئيسي لكل استعلام تنفذه قاعدة البيانات.
+     * @param builder RoomDatabase.Builder قبل build().
+     * @return نفس الـ builder للمتابعة.
+     */
+    public static <T extends RoomDatabase> RoomDatabase.Builder<T> attach(RoomDatabase.Builder<T> builder) {
+        return builder.setQueryCallback(MainThreadIoDetector::onQuery, DIRECT_EXECUTOR);
+    }
+
+    /**
+     * للاستدعاء يدويًا قبل عمليات القرص الأخرى (ملفات، SharedPreferences.commit...).
+     * @param operation وصف العملية لرسالة الخطأ.
+     */
+    public static void checkNotMainThread(String operation) {
+        if (isMainThread()) {
+            report(operation + " on the main thread");
+        }
+    }
+
+    private static void onQuery(String sqlQuery, List<Object> bindArgs) {
+        if (isMainThread()) {
+            report("Room query on the main thread: " + sqlQuery);
+        }
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static void report(String message) {
+        MainThreadIoException violation = new MainThreadIoException(message);
+        if (penalty == Penalty.THROW) {
+            throw violation;
+        }
+        AppLogger.e(TAG, message, violation);
+    }
+}
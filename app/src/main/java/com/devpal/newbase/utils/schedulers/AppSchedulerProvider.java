@@ -0,0 +1,92 @@
+package com.devpal.newbase.utils.schedulers;
+
+import com.devpal.newbase.utils.Constants;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * AppSchedulerProvider: التنفيذ الافتراضي لـ SchedulerProvider في التطبيق، يوفره AppModule.
+ *
+ * dbWrite و network و upload و computation مبنية على ThreadPoolExecutor بخيوط مسماة "rx-<name>-N"
+ * وطابور غير محدود، ومسجلة في SchedulerMetricsRegistry لقياس الانتظار والتنفيذ وعمق الطابور.
+ * الخيوط الخاملة تنتهي بعد SCHEDULER_IDLE_KEEP_ALIVE_SECONDS.
+ */
+public final class AppSchedulerProvider implements SchedulerProvider {
+
+    private final Scheduler dbWrite;
+    private final Scheduler network;
+    private final Scheduler upload;
+    private final Scheduler computation;
+
+    public AppSchedulerProvider(SchedulerMetricsRegistry metrics) {
+        this.dbWrite = create(metrics, SchedulerNames.DB_WRITE, 1);
+        this.network = create(metrics, SchedulerNames.NETWORK, Constants.NETWORK_SCHEDULER_THREADS);
+        this.upload = create(metrics, SchedulerNames.UPLOAD, Constants.UPLOAD_MAX_PARALLEL);
+        this.computation = create(metrics, SchedulerNames.COMPUTATION,
+                Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public Scheduler io() {
+        return Schedulers.io();
+    }
+
+    @Override
+    public Scheduler dbWrite() {
+        return dbWrite;
+    }
+
+    @Override
+    public Scheduler network() {
+        return network;
+    }
+
+    @Override
+    public Scheduler upload() {
+        return upload;
+    }
+
+    @Override
+    public Scheduler computation() {
+        return computation;
+    }
+
+    @Override
+    public Scheduler ui() {
+        return AndroidSchedulers.mainThread();
+    }
+
+    private static Scheduler create(SchedulerMetricsRegistry metrics, String name, int threads) {
+        String threadNamePrefix = "rx-" + name + "-";
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                Constants.SCHEDULER_IDLE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        metrics.register(name, threadNamePrefix, executor);
+        return Schedulers.from(executor);
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
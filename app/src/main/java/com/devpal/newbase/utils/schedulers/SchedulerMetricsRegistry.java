@@ -0,0 +1,231 @@
+package com.devpal.newbase.utils.schedulers;
+
+import androidx.annotation.Nullable;
+
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.reactivex.functions.Function;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * SchedulerMetricsRegistry: يقيس لكل Scheduler في التطبيق زمن انتظار المهام قبل بدئها، وزمن تنفيذها،
+ * وعمق طابور الـ Executor، ليظهر التشبع (Saturation) في بيئة الإنتاج.
+ *
+ * install() يركب RxJavaPlugins.setScheduleHandler: كل مهمة تُجدول على أي Scheduler تُغلف بوقت جدولتها،
+ * وعند تنفيذها تُنسب إلى الـ Scheduler المسجل الذي يطابق اسم الخيط الحالي (مثلاً "rx-db-writer-1").
+ * المهام على خيوط غير مسجلة (مثل Schedulers.computation() الافتراضي لـ timer و retryWhen) لا تُقاس.
+ *
+ * ملاحظة: زمن الانتظار يشمل أي تأخير مطلوب صراحة (delay/timer)، لذلك لا تُمرر Schedulers
+ * المسجلة إلى هذه العوامل؛ تبقى على Schedulers.computation() الافتراضي.
+ */
+@Singleton
+public class SchedulerMetricsRegistry {
+
+    private static final String TAG = "SchedulerMetrics";
+
+    /**
+     * يُستدعى عندما تنتظر مهمة أطول من الحد قبل بدئها (مثلاً لإرسالها إلى أداة تحليلات).
+     */
+    public interface SaturationListener {
+        void onSlowStart(String scheduler, long waitMillis, int queueDepth);
+    }
+
+    private static final Entry UNTRACKED = new Entry("", "", null); // قيمة الخيوط غير المسجلة في الـ ThreadLocal
+
+    private final List<Entry> entries = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Entry> threadEntry = new ThreadLocal<>(); // الخيوط لا تغير أسماءها، فنبحث مرة واحدة لكل خيط
+    private final AtomicBoolean installed = new AtomicBoolean();
+    private volatile long slowStartNanos = TimeUnit.MILLISECONDS.toNanos(Constants.SCHEDULER_SLOW_START_MILLIS);
+    @Nullable
+    private volatile SaturationListener saturationListener;
+
+    @Inject
+    public SchedulerMetricsRegistry() {
+        register(SchedulerNames.IO, "RxCachedThreadScheduler", null); // خيوط Schedulers.io()
+    }
+
+    /**
+     * يسجل Scheduler ليتم قياسه.
+     * @param name اسم الـ Scheduler (من SchedulerNames).
+     * @param threadNamePrefix بادئة أسماء خيوطه.
+     * @param executor الـ Executor الذي يقرأ منه عمق الطابور، أو null إذا لم يكن له طابور خاص.
+     */
+    void register(String name, String threadNamePrefix, @Nullable ThreadPoolExecutor executor) {
+        entries.add(new Entry(name, threadNamePrefix, executor));
+    }
+
+    /**
+     * يركب خطاف RxJavaPlugins؛ يُستدعى مرة واحدة من BaseApplication.onCreate.
+     * أي معالج جدولة مركب مسبقًا يبقى فعالاً ويُغلف بعده.
+     */
+    public void install() {
+        if (!installed.compareAndSet(false, true)) {
+            return;
+        }
+        Function<? super Runnable, ? extends Runnable> previous = RxJavaPlugins.getScheduleHandler();
+        RxJavaPlugins.setScheduleHandler(run -> {
+            Runnable decorated = previous != null ? previous.apply(run) : run;
+            return new TimedRunnable(decorated, System.nanoTime());
+        });
+        AppLogger.d(TAG, "Scheduler metrics installed for " + entries.size() + " schedulers.");
+    }
+
+    public void setSlowStartThreshold(long threshold, TimeUnit unit) {
+        this.slowStartNanos = unit.toNanos(Math.max(0, threshold));
+    }
+
+    public void setSaturationListener(@Nullable SaturationListener listener) {
+        this.saturationListener = listener;
+    }
+
+    /**
+     * @return لقطة من مقاييس جميع الـ Schedulers المسجلة.
+     */
+    public List<SchedulerStats> snapshot() {
+        List<SchedulerStats> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * @return لقطة مقاييس Scheduler واحد، أو null إذا لم يكن مسجلاً.
+     */
+    @Nullable
+    public SchedulerStats statsFor(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry.snapshot();
+            }
+        }
+        return null;
+    }
+
+    public void logSnapshot() {
+        for (SchedulerStats stats : snapshot()) {
+            AppLogger.i(TAG, stats.toString());
+        }
+    }
+
+    @Nullable
+    private Entry entryForCurrentThread() {
+        Entry entry = threadEntry.get();
+        if (entry == null) {
+            entry = UNTRACKED;
+            String threadName = Thread.currentThread().getName();
+            for (Entry candidate : entries) {
+                if (threadName.startsWith(candidate.threadNamePrefix)) {
+                    entry = candidate;
+                    break;
+                }
+            }
+            threadEntry.set(entry);
+        }
+        return entry != UNTRACKED ? entry : null;
+    }
+
+    private void onSlowStart(Entry entry, long waitNanos, int queueDepth) {
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        AppLogger.w(TAG, "Task on " + entry.name + " waited " + waitMillis + "ms to start (queue=" + queueDepth + ").");
+        SaturationListener listener = saturationListener;
+        if (listener != null) {
+            listener.onSlowStart(entry.name, waitMillis, queueDepth);
+        }
+    }
+
+    /**
+     * يغلف المهمة المجدولة؛ المهام الدورية تُحسب بزمن انتظار صفر بعد تنفيذها الأول.
+     */
+    private final class TimedRunnable implements Runnable {
+        private final Runnable delegate;
+        private final long scheduledAtNanos;
+        // المهام الدورية قد تُنفذ كل مرة على خيط مختلف من نفس المجموعة
+        private volatile boolean started;
+
+        TimedRunnable(Runnable delegate, long scheduledAtNanos) {
+            this.delegate = delegate;
+            this.scheduledAtNanos = scheduledAtNanos;
+        }
+
+        @Override
+        public void run() {
+            Entry entry = entryForCurrentThread();
+            if (entry == null) {
+                delegate.run();
+                return;
+            }
+            long startNanos = System.nanoTime();
+            long waitNanos = started ? 0 : startNanos - scheduledAtNanos;
+            started = true;
+            int queueDepth = entry.queueDepth();
+            boolean slowStart = waitNanos > slowStartNanos;
+            if (slowStart) {
+                onSlowStart(entry, waitNanos, queueDepth);
+            }
+            try {
+                delegate.run();
+            } finally {
+                // الطابور يُقرأ مرة أخرى بعد التنفيذ، فيظهر تراكم المهام خلف مهمة طويلة
+                entry.record(waitNanos, System.nanoTime() - startNanos, Math.max(queueDepth, entry.queueDepth()),
+                        slowStart);
+            }
+        }
+    }
+
+    /**
+     * العدادات المتغيرة لـ Scheduler واحد؛ القراءة والكتابة تحت قفل الكائن نفسه.
+     */
+    private static final class Entry {
+        private final String name;
+        private final String threadNamePrefix;
+        @Nullable
+        private final ThreadPoolExecutor executor;
+        private long taskCount;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private long totalExecNanos;
+        private long maxExecNanos;
+        private int maxQueueDepth;
+        private long slowStartCount;
+
+        Entry(String name, String threadNamePrefix, @Nullable ThreadPoolExecutor executor) {
+            this.name = name;
+            this.threadNamePrefix = threadNamePrefix;
+            this.executor = executor;
+        }
+
+        int queueDepth() {
+            return executor != null ? executor.getQueue().size() : -1;
+        }
+
+        synchronized void record(long waitNanos, long execNanos, int queueDepth, boolean slowStart) {
+            taskCount++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+            totalExecNanos += execNanos;
+            maxExecNanos = Math.max(maxExecNanos, execNanos);
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+            if (slowStart) {
+                slowStartCount++;
+            }
+        }
+
+        synchronized SchedulerStats snapshot() {
+            int queueDepth = queueDepth();
+            return new SchedulerStats(name, taskCount, totalWaitNanos, maxWaitNanos, totalExecNanos, maxExecNanos,
+                    queueDepth, Math.max(maxQueueDepth, queueDepth), slowStartCount);
+        }
+    }
+}
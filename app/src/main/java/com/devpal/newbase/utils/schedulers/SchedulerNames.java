@@ -0,0 +1,17 @@
+package com.devpal.newbase.utils.schedulers;
+
+/**
+ * SchedulerNames: أسماء Schedulers التطبيق، تُستخدم مع @Named في Hilt ومفاتيحًا في SchedulerMetricsRegistry.
+ */
+public final class SchedulerNames {
+
+    public static final String DB_WRITE = "db-writer"; // خيط واحد لكل كتابات Room
+    public static final String NETWORK = "network"; // مجموعة محدودة لمعالجة استجابات الشبكة وقراءة الأجسام تدفقيًا
+    public static final String COMPUTATION = "computation"; // التحليل والعمليات الحسابية
+    public static final String UPLOAD = "upload"; // خيط لكل عملية رفع جارية (حتى UPLOAD_MAX_PARALLEL)
+    public static final String IO = "io"; // Schedulers.io() غير المحدود؛ لقراءات Room والملفات فقط
+
+    private SchedulerNames() {
+        // منع إنشاء مثيل
+    }
+}
@@ -0,0 +1,49 @@
+package com.devpal.newbase.utils.schedulers;
+
+import io.reactivex.Scheduler;
+
+/**
+ * SchedulerProvider: مصدر موحد لـ Schedulers الخاصة بـ RxJava، يُحقن بواسطة Hilt.
+ *
+ * القاعدة في التطبيق:
+ * - طبقة البيانات (ApiHelper والـ Repositories) لا تنتقل أبدًا إلى ui()، فتبقى كتابات Room
+ *   وتحويل JSON في خيوط الخلفية حتى نهاية السلسلة:
+ *   قراءات Room على io()، كتابات Room على dbWrite()، ومتابعة استجابات الشبكة على network().
+ * - طبقة العرض (Activities و Fragments) هي الوحيدة التي تستدعي observeOn(ui()) قبل subscribe.
+ *
+ * في الاختبارات يمكن استبداله بتنفيذ يعيد Schedulers.trampoline() لتنفيذ متزامن.
+ */
+public interface SchedulerProvider {
+
+    /**
+     * @return Scheduler غير محدود لعمليات القراءة (Room، الملفات).
+     */
+    Scheduler io();
+
+    /**
+     * @return Scheduler بخيط واحد لكتابات Room؛ الكتابات تُنفذ بالتسلسل بدل أن تحجز خيوط io()
+     * أثناء انتظار قفل الكتابة. لا يُستخدم لعمليات تحجب بانتظار كتابة أخرى على نفس الـ Scheduler.
+     */
+    Scheduler dbWrite();
+
+    /**
+     * @return Scheduler محدود (NETWORK_SCHEDULER_THREADS) لمتابعة استجابات الشبكة وقراءة الأجسام تدفقيًا.
+     */
+    Scheduler network();
+
+    /**
+     * @return Scheduler محدود (UPLOAD_MAX_PARALLEL) لـ UploadWorker؛ كل عملية رفع تحجز خيطًا طوال مدتها،
+     * فيحدد عدد الخيوط الحد الأقصى لعمليات الرفع المتزامنة.
+     */
+    Scheduler upload();
+
+    /**
+     * @return Scheduler للتحليل والعمليات الحسابية (تحويل القوائم، الترتيب...) بدون حجب.
+     */
+    Scheduler computation();
+
+    /**
+     * @return Scheduler الخيط الرئيسي (Main Thread)؛ لطبقة العرض فقط.
+     */
+    Scheduler ui();
+}
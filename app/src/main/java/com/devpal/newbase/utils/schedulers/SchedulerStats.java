@@ -0,0 +1,96 @@
+package com.devpal.newbase.utils.schedulers;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchedulerStats: لقطة غير قابلة للتعديل (Immutable) لمقاييس Scheduler واحد.
+ * wait: الزمن بين جدولة المهمة وبدء تنفيذها (مؤشر التشبع: يرتفع عندما تنتظر المهام خيطًا متاحًا).
+ * exec: زمن تنفيذ المهمة نفسها.
+ * queueDepth: عدد المهام المنتظرة في طابور الـ Executor، أو -1 إذا كان الـ Scheduler بلا طابور خاص (io).
+ */
+public final class SchedulerStats {
+
+    private final String name;
+    private final long taskCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalExecNanos;
+    private final long maxExecNanos;
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long slowStartCount; // عدد المهام التي تجاوز انتظارها حد التنبيه
+
+    SchedulerStats(String name, long taskCount, long totalWaitNanos, long maxWaitNanos, long totalExecNanos,
+                   long maxExecNanos, int queueDepth, int maxQueueDepth, long slowStartCount) {
+        this.name = name;
+        this.taskCount = taskCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalExecNanos = totalExecNanos;
+        this.maxExecNanos = maxExecNanos;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.slowStartCount = slowStartCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getTotalExecNanos() {
+        return totalExecNanos;
+    }
+
+    public long getMaxExecNanos() {
+        return maxExecNanos;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getSlowStartCount() {
+        return slowStartCount;
+    }
+
+    /**
+     * @return متوسط زمن الانتظار بالمللي ثانية، أو 0 إذا لم تُنفذ مهام بعد.
+     */
+    public double getAverageWaitMillis() {
+        return taskCount > 0 ? (double) totalWaitNanos / taskCount / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    /**
+     * @return متوسط زمن التنفيذ بالمللي ثانية، أو 0 إذا لم تُنفذ مهام بعد.
+     */
+    public double getAverageExecMillis() {
+        return taskCount > 0 ? (double) totalExecNanos / taskCount / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return name + " tasks=" + taskCount
+                + " wait(avg=" + String.format(Locale.US, "%.2f", getAverageWaitMillis())
+                + "ms, max=" + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms, slow=" + slowStartCount + ")"
+                + " exec(avg=" + String.format(Locale.US, "%.2f", getAverageExecMillis())
+                + "ms, max=" + TimeUnit.NANOSECONDS.toMillis(maxExecNanos) + "ms)"
+                + (queueDepth >= 0 ? " queue(now=" + queueDepth + ", max=" + maxQueueDepth + ")" : "");
+    }
+}
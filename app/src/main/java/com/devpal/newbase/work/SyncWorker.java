@@ -1,4 +1,121 @@
 package com.devpal.newbase.work;
 
-public class SyncWorker {
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.hilt.work.HiltWorker;
+import androidx.work.ForegroundInfo;
+import androidx.work.RxWorker;
+import androidx.work.WorkerParameters;
+
+import com.devpal.newbase.R;
+import com.devpal.newbase.repository.NotificationRepository;
+import com.devpal.newbase.repository.UserRepository;
+import com.devpal.newbase.utils.AppLogger;
+
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+import io.reactivex.Completable;
+import io.reactivex.Single;
+
+/**
+ * SyncWorker: عامل WorkManager لتنفيذ أعمال المزامنة في الخلفية.
+ * تتم جدولته فقط عبر BackgroundSyncService، ويحدد KEY_MODE نوع العمل المطلوب:
+ * - MODE_FLUSH_READ_OUTBOX: إرسال عمليات "مقروء" المعلقة فقط.
+ * - MODE_FULL (الافتراضي): إرسال العمليات المعلقة أولاً، ثم تحديث ملف المستخدم والإشعارات (Delta) في Room.
+ * الشاشات لا تنتظر الشبكة؛ تقرأ من Room وتتحدث تلقائيًا عند انتهاء المزامنة.
+ *
+ * @HiltWorker: يسمح لـ Hilt بحقن التبعيات (مثل NotificationRepository) في الـ Worker.
+ */
+@HiltWorker
+public class SyncWorker extends RxWorker {
+
+    private static final String TAG = "SyncWorker";
+
+    public static final String KEY_MODE = "sync_mode";
+    public static final String MODE_FLUSH_READ_OUTBOX = "flush_read_outbox";
+    public static final String MODE_FULL = "full";
+
+    // بعد هذا العدد من المحاولات الفاشلة يتوقف العمل، وتبقى البيانات المحلية كما هي حتى المزامنة التالية
+    private static final int MAX_RUN_ATTEMPTS = 5;
+
+    // إشعار العمل في المقدمة (مطلوب للعمل المستعجل Expedited على Android أقدم من 12)
+    private static final String SYNC_CHANNEL_ID = "background_sync";
+    private static final int SYNC_NOTIFICATION_ID = 1001;
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+
+    @AssistedInject
+    public SyncWorker(@Assisted @NonNull Context context,
+                      @Assisted @NonNull WorkerParameters workerParams,
+                      NotificationRepository notificationRepository,
+                      UserRepository userRepository) {
+        super(context, workerParams);
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+    }
+
+    @NonNull
+    @Override
+    public Single<Result> createWork() {
+        String mode = getInputData().getString(KEY_MODE);
+        AppLogger.d(TAG, "Starting sync work, mode: " + mode + ", attempt: " + getRunAttemptCount());
+
+        Completable work;
+        if (MODE_FLUSH_READ_OUTBOX.equals(mode)) {
+            work = notificationRepository.flushReadOutbox();
+        } else if (mode == null || MODE_FULL.equals(mode)) {
+            work = fullSync();
+        } else {
+            AppLogger.w(TAG, "Unknown sync mode: " + mode);
+            return Single.just(Result.failure());
+        }
+
+        return work
+                .toSingleDefault(Result.success())
+                .onErrorReturn(this::onSyncError);
+    }
+
+    /**
+     * المزامنة الكاملة: إرسال العمليات المحلية المعلقة وتحديث الملف الشخصي والإشعارات بالتوازي.
+     * لا حاجة لإرسال الـ Outbox أولاً: كتابات المزامنة تعيد تطبيق عمليات "مقروء" المعلقة (upsertFromServer).
+     * mergeDelayError: فشل أحد المصادر (مثل الإرسال دون اتصال) لا يلغي الباقي، والخطأ يظهر بعد انتهائها.
+     */
+    private Completable fullSync() {
+        return Completable.mergeArrayDelayError(
+                notificationRepository.flushReadOutbox(),
+                userRepository.refreshUserProfile(),
+                notificationRepository.syncNotifications());
+    }
+
+    private Result onSyncError(Throwable throwable) {
+        AppLogger.e(TAG, "Sync work failed.", throwable);
+        return getRunAttemptCount() + 1 < MAX_RUN_ATTEMPTS ? Result.retry() : Result.failure();
+    }
+
+    /**
+     * مطلوب للعمل المستعجل (Expedited) على Android أقدم من 12، حيث يعمل كخدمة في المقدمة.
+     */
+    @NonNull
+    @Override
+    public Single<ForegroundInfo> getForegroundInfo() {
+        Context context = getApplicationContext();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationManager manager = context.getSystemService(NotificationManager.class);
+            manager.createNotificationChannel(new NotificationChannel(SYNC_CHANNEL_ID,
+                    context.getString(R.string.sync_channel_name), NotificationManager.IMPORTANCE_MIN));
+        }
+        android.app.Notification notification = new NotificationCompat.Builder(context, SYNC_CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notifications_black_24dp)
+                .setContentTitle(context.getString(R.string.sync_in_progress))
+                .setPriority(NotificationCompat.PRIORITY_MIN)
+                .setOngoing(true)
+                .build();
+        return Single.just(new ForegroundInfo(SYNC_NOTIFICATION_ID, notification));
+    }
 }
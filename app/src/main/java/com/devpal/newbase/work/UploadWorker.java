@@ -1,4 +1,123 @@
 package com.devpal.newbase.work;
 
-public class UploadWorker {
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorker;
+import androidx.work.RxWorker;
+import androidx.work.WorkerParameters;
+
+import com.devpal.newbase.repository.UploadRepository;
+import com.devpal.newbase.utils.AppLogger;
+import com.devpal.newbase.utils.schedulers.SchedulerNames;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+
+import javax.inject.Named;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * UploadWorker: عامل WorkManager لرفع ملف واحد على أجزاء عبر UploadRepository.
+ * تتم جدولته عبر BackgroundSyncService.requestUpload() كعمل فريد لكل عملية رفع.
+ *
+ * عدد عمليات الرفع المتزامنة محدود بـ Constants.UPLOAD_MAX_PARALLEL: كل عملية رفع تشغل
+ * خيطًا واحدًا من SchedulerProvider.upload() طوال مدتها، والعمليات الإضافية تنتظر خيطًا متاحًا.
+ * الـ Scheduler يملكه AppSchedulerProvider (Singleton) فخيوطه مسماة ومقاسة وتنتهي بعد فترة الخمول،
+ * وإيقاف العمل (onStopped) يلغي الرفع الجاري فيتحرر خيطه فورًا.
+ * عند الفشل يعاد المحاولة (Backoff) وتستأنف العملية من آخر جزء محفوظ في Room.
+ */
+@HiltWorker
+public class UploadWorker extends RxWorker {
+
+    private static final String TAG = "UploadWorker";
+
+    public static final String KEY_UPLOAD_TASK_ID = "upload_task_id";
+
+    private static final int MAX_RUN_ATTEMPTS = 10;
+
+    private final UploadRepository uploadRepository;
+    private final Scheduler uploadScheduler; // مشترك بين جميع عمليات الرفع لتحديد الحد الأقصى للتوازي
+
+    private volatile Future<Boolean> runningUpload;
+
+    @AssistedInject
+    public UploadWorker(@Assisted @NonNull Context context,
+                        @Assisted @NonNull WorkerParameters workerParams,
+                        UploadRepository uploadRepository,
+                        @Named(SchedulerNames.UPLOAD) Scheduler uploadScheduler) {
+        super(context, workerParams);
+        this.uploadRepository = uploadRepository;
+        this.uploadScheduler = uploadScheduler;
+    }
+
+    @NonNull
+    @Override
+    protected Scheduler getBackgroundScheduler() {
+        return uploadScheduler;
+    }
+
+    @NonNull
+    @Override
+    public Single<Result> createWork() {
+        String taskId = getInputData().getString(KEY_UPLOAD_TASK_ID);
+        if (taskId == null) {
+            AppLogger.w(TAG, "Upload work started without a task id.");
+            return Single.just(Result.failure());
+        }
+        AppLogger.d(TAG, "Starting upload " + taskId + ", attempt: " + getRunAttemptCount());
+
+        return Single.fromCallable(() -> {
+                    awaitUpload(taskId);
+                    return Result.success();
+                })
+                .onErrorResumeNext(throwable -> onUploadError(taskId, throwable));
+    }
+
+    /**
+     * ينتظر اكتمال الرفع على خيط uploadScheduler الحالي، فيبقى الخيط مشغولاً طوال مدة الرفع.
+     */
+    private void awaitUpload(String taskId) throws Exception {
+        Future<Boolean> future = uploadRepository.upload(taskId).toSingleDefault(true).toFuture();
+        runningUpload = future;
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        } finally {
+            runningUpload = null;
+        }
+    }
+
+    private Single<Result> onUploadError(String taskId, Throwable throwable) {
+        if (throwable instanceof CancellationException || isStopped()) {
+            // أوقف النظام العمل (فقدان الشبكة مثلاً): سيعاد تشغيله لاحقًا ويستأنف من آخر جزء
+            return Single.just(Result.retry());
+        }
+        AppLogger.e(TAG, "Upload " + taskId + " failed.", throwable);
+        boolean permanent = throwable instanceof FileNotFoundException;
+        if (!permanent && getRunAttemptCount() + 1 < MAX_RUN_ATTEMPTS) {
+            return Single.just(Result.retry());
+        }
+        return uploadRepository.markUploadFailed(taskId)
+                .toSingleDefault(Result.failure())
+                .onErrorReturnItem(Result.failure());
+    }
+
+    @Override
+    public void onStopped() {
+        super.onStopped();
+        // إلغاء الطلب الجاري (يلغي استدعاء OkHttp) وتحرير خيط الرفع
+        Future<Boolean> future = runningUpload;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
 }
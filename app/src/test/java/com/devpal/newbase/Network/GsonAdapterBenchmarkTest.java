@@ -0,0 +1,160 @@
+package com.devpal.newbase.Network;
+
+import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.Network.adapters.AppGson;
+import com.devpal.newbase.response.ApiResponse;
+import com.devpal.newbase.response.ErrorResponse;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Parse-time benchmark: reflective Gson versus the hand-written adapters registered on AppGson.
+ * "Cold" parses one profile with a fresh Gson instance (adapter lookup + first bind, as on app start);
+ * "warm" parses a 10k-notification page repeatedly with an already-primed instance.
+ * Both paths must produce equal objects. Timings are not asserted; they are carried in the
+ * assertion messages so a failure shows them.
+ */
+public class GsonAdapterBenchmarkTest {
+
+    private static final int NOTIFICATION_COUNT = 10_000;
+    private static final int COLD_ROUNDS = 50;
+    private static final int WARM_ROUNDS = 10;
+
+    private static final Type USER_RESPONSE = new TypeToken<ApiResponse<User>>() {}.getType();
+    private static final Type NOTIFICATIONS_RESPONSE = new TypeToken<ApiResponse<List<Notification>>>() {}.getType();
+
+    @Test
+    public void adaptersProduceSameObjectsAsReflection() {
+        String userJson = userResponseJson();
+        ApiResponse<User> reflective = new Gson().fromJson(userJson, USER_RESPONSE);
+        ApiResponse<User> adapted = AppGson.shared().fromJson(userJson, USER_RESPONSE);
+
+        assertEquals(reflective.getStatus(), adapted.getStatus());
+        assertEquals(reflective.getMessage(), adapted.getMessage());
+        assertEquals(reflective.getData(), adapted.getData());
+        assertEquals(reflective.getData().getToken(), adapted.getData().getToken());
+
+        String notificationsJson = notificationsResponseJson(3);
+        ApiResponse<List<Notification>> reflectiveList = new Gson().fromJson(notificationsJson, NOTIFICATIONS_RESPONSE);
+        ApiResponse<List<Notification>> adaptedList = AppGson.shared().fromJson(notificationsJson, NOTIFICATIONS_RESPONSE);
+        // Notification has no equals(); compare the reflective serialization of both results instead
+        assertEquals(new Gson().toJson(reflectiveList.getData()), new Gson().toJson(adaptedList.getData()));
+    }
+
+    @Test
+    public void userRoundTripsThroughAdapter() {
+        Gson gson = AppGson.shared();
+        User user = gson.fromJson(userJson(), User.class);
+        User copy = gson.fromJson(gson.toJson(user), User.class);
+        assertEquals(user, copy);
+        // Tokens are read from the login response but never written (SessionManager stores the user JSON)
+        assertEquals("token-1", user.getToken());
+        assertNull(copy.getToken());
+    }
+
+    @Test
+    public void errorResponseAcceptsSingleMessageErrors() {
+        String json = "{\"code\":1001,\"message\":\"invalid\",\"errors\":{\"email\":[\"required\"],\"name\":\"too short\"},\"extra\":true}";
+        ErrorResponse response = AppGson.shared().fromJson(json, ErrorResponse.class);
+        assertEquals(1001, response.getCode());
+        assertEquals("invalid", response.getMessage());
+        assertEquals(Arrays.asList("required"), response.getErrors().get("email"));
+        assertEquals(Arrays.asList("too short"), response.getErrors().get("name"));
+    }
+
+    @Test
+    public void nullDataIsKept() {
+        ApiResponse<User> response = AppGson.shared().fromJson(
+                "{\"status\":\"error\",\"message\":\"not found\",\"data\":null}", USER_RESPONSE);
+        assertEquals("error", response.getStatus());
+        assertNull(response.getData());
+    }
+
+    @Test
+    public void benchmarkParseTime() {
+        String userJson = userResponseJson();
+        String notificationsJson = notificationsResponseJson(NOTIFICATION_COUNT);
+
+        long reflectiveCold = timeCold(userJson, false);
+        long adaptedCold = timeCold(userJson, true);
+
+        long reflectiveWarm = timeWarm(new Gson(), notificationsJson);
+        long adaptedWarm = timeWarm(AppGson.newBuilder().create(), notificationsJson);
+
+        String report = "Cold ApiResponse<User> parse (fresh Gson, avg of " + COLD_ROUNDS + "): reflective="
+                + reflectiveCold / 1_000 + "us, adapters=" + adaptedCold / 1_000 + "us; "
+                + "warm ApiResponse<List<Notification>> parse of " + NOTIFICATION_COUNT
+                + " items (avg of " + WARM_ROUNDS + "): reflective=" + reflectiveWarm / 1_000_000
+                + "ms, adapters=" + adaptedWarm / 1_000_000 + "ms";
+
+        ApiResponse<User> reflective = new Gson().fromJson(userJson, USER_RESPONSE);
+        ApiResponse<User> adapted = AppGson.shared().fromJson(userJson, USER_RESPONSE);
+        assertEquals(report, reflective.getData(), adapted.getData());
+    }
+
+    private static long timeCold(String json, boolean adapters) {
+        long total = 0;
+        for (int i = 0; i < COLD_ROUNDS; i++) {
+            long start = System.nanoTime();
+            Gson gson = adapters ? AppGson.newBuilder().create() : new Gson();
+            ApiResponse<User> response = gson.fromJson(json, USER_RESPONSE);
+            total += System.nanoTime() - start;
+            assertEquals("u-1", response.getData().getId());
+        }
+        return total / COLD_ROUNDS;
+    }
+
+    private static long timeWarm(Gson gson, String json) {
+        gson.fromJson(json, NOTIFICATIONS_RESPONSE); // warm-up
+        long total = 0;
+        for (int i = 0; i < WARM_ROUNDS; i++) {
+            long start = System.nanoTime();
+            ApiResponse<List<Notification>> response = gson.fromJson(json, NOTIFICATIONS_RESPONSE);
+            total += System.nanoTime() - start;
+            assertEquals(NOTIFICATION_COUNT, response.getData().size());
+        }
+        return total / WARM_ROUNDS;
+    }
+
+    private static String userResponseJson() {
+        return "{\"status\":\"success\",\"message\":\"ok\",\"data\":" + userJson() + "}";
+    }
+
+    private static String userJson() {
+        return "{\"id\":\"u-1\",\"username\":\"devpal\",\"email\":\"dev@example.com\",\"password_hash\":null,"
+                + "\"first_name\":\"Dev\",\"last_name\":\"Pal\",\"phone_number\":\"+100000000\","
+                + "\"profile_picture_url\":\"https://example.com/a.png\",\"bio\":\"bio\","
+                + "\"street_address\":\"Main st\",\"city\":\"City\",\"state_province\":\"State\","
+                + "\"zip_postal_code\":\"12345\",\"country\":\"PS\",\"login_attempts\":2,\"locked_until\":null,"
+                + "\"account_status\":\"active\",\"is_email_verified\":true,\"email_verified_at\":1700000000000,"
+                + "\"is_phone_verified\":false,\"phone_verified_at\":null,\"two_factor_enabled\":true,"
+                + "\"two_factor_secret\":\"secret\",\"locale\":\"ar\",\"role_id\":3,\"last_login_at\":1700000001000,"
+                + "\"last_activity_at\":1700000002000,\"consent_to_terms\":true,\"consent_to_marketing\":false,"
+                + "\"created_by\":\"system\",\"metadata\":\"{}\",\"created_at\":1690000000000,"
+                + "\"updated_at\":1700000000000,\"deleted_at\":null,\"token\":\"token-1\",\"unknown_field\":[1,2]}";
+    }
+
+    private static String notificationsResponseJson(int count) {
+        List<String> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add("{\"id\":\"n-" + i + "\",\"user_id\":\"u-1\",\"type\":\"system\",\"category\":\"general\","
+                    + "\"title\":\"Title " + i + "\",\"body\":\"Body " + i + "\",\"short_description\":\"Short\","
+                    + "\"image_url\":null,\"action_type\":\"open\",\"action_value\":\"/home\",\"payload\":\"{}\","
+                    + "\"read_status\":\"unread\",\"priority\":\"normal\",\"delivery_channel\":\"push\","
+                    + "\"sent_at\":" + (1700000000000L + i) + ",\"delivered_at\":null,"
+                    + "\"created_at\":" + (1700000000000L + i) + ",\"updated_at\":" + (1700000000000L + i) + "}");
+        }
+        return "{\"status\":\"success\",\"message\":\"ok\",\"data\":[" + String.join(",", items) + "]}";
+    }
+}
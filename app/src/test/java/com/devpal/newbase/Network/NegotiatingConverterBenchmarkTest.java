@@ -0,0 +1,195 @@
+package com.devpal.newbase.Network;
+
+import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.Network.adapters.AppGson;
+import com.devpal.newbase.Network.converters.NegotiatingConverterFactory;
+import com.devpal.newbase.Network.converters.WireFormat;
+import com.devpal.newbase.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Content-negotiation test and benchmark for the notification list: the same 10k-item page is
+ * served as JSON or CBOR depending on the Accept header, and both are decoded through the
+ * Retrofit stack used by ApiClient. Only correctness and "CBOR is smaller" are asserted; payload
+ * sizes and decode times are carried in the size assertion's message.
+ */
+public class NegotiatingConverterBenchmarkTest {
+
+    private static final int NOTIFICATION_COUNT = 10_000;
+    private static final int ROUNDS = 5;
+
+    private final Gson gson = AppGson.shared();
+    private MockWebServer server;
+    private ApiService apiService;
+    private byte[] jsonBody;
+    private byte[] cborBody;
+    private volatile boolean serverSupportsCbor = true;
+
+    @Before
+    public void setUp() throws IOException {
+        JsonElement page = notificationsPage(NOTIFICATION_COUNT);
+        jsonBody = gson.toJson(page).getBytes("UTF-8");
+        cborBody = toCbor(page);
+
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String accept = request.getHeader("Accept");
+                boolean cbor = serverSupportsCbor && accept != null && accept.contains(WireFormat.MEDIA_TYPE_CBOR);
+                return new MockResponse()
+                        .setHeader("Content-Type", cbor ? WireFormat.MEDIA_TYPE_CBOR : WireFormat.MEDIA_TYPE_JSON + "; charset=utf-8")
+                        .setBody(new Buffer().write(cbor ? cborBody : jsonBody));
+            }
+        });
+        server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient())
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(NegotiatingConverterFactory.create(gson))
+                .build();
+        apiService = retrofit.create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void requestsCborAndDecodesSameItemsAsJson() throws Exception {
+        List<Notification> fromCbor = apiService.getNotifications().blockingGet().getData();
+        RecordedRequest request = server.takeRequest();
+        assertTrue(request.getHeader("Accept").startsWith(WireFormat.MEDIA_TYPE_CBOR));
+
+        serverSupportsCbor = false;
+        List<Notification> fromJson = apiService.getNotifications().blockingGet().getData();
+
+        assertEquals(NOTIFICATION_COUNT, fromCbor.size());
+        assertEquals(gson.toJson(fromJson), gson.toJson(fromCbor));
+    }
+
+    @Test
+    public void streamingEndpointStaysOnJson() throws Exception {
+        apiService.streamNotifications().blockingGet().close();
+        assertEquals(WireFormat.MEDIA_TYPE_JSON, server.takeRequest().getHeader("Accept"));
+    }
+
+    @Test
+    public void benchmarkPayloadSizeAndDecodeTime() {
+        serverSupportsCbor = true;
+        long cborNanos = timeDecode();
+        serverSupportsCbor = false;
+        long jsonNanos = timeDecode();
+
+        String report = "Notifications page of " + NOTIFICATION_COUNT + " items: JSON=" + jsonBody.length / 1024
+                + "KB, CBOR=" + cborBody.length / 1024 + "KB; decode via Retrofit (avg of " + ROUNDS + "): JSON="
+                + jsonNanos / 1_000_000 + "ms, CBOR=" + cborNanos / 1_000_000 + "ms";
+        assertTrue(report, cborBody.length < jsonBody.length);
+    }
+
+    private long timeDecode() {
+        apiService.getNotifications().blockingGet(); // warm-up
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            ApiResponse<List<Notification>> response = apiService.getNotifications().blockingGet();
+            total += System.nanoTime() - start;
+            assertEquals(NOTIFICATION_COUNT, response.getData().size());
+        }
+        return total / ROUNDS;
+    }
+
+    private JsonElement notificationsPage(int count) {
+        List<Notification> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Notification notification = new Notification();
+            notification.setId("n-" + i);
+            notification.setUserId("u-1");
+            notification.setType("system");
+            notification.setCategory("general");
+            notification.setTitle("Title " + i);
+            notification.setBody("Body " + i);
+            notification.setShortDescription("Short");
+            notification.setActionType("open");
+            notification.setActionValue("/home");
+            notification.setPayload("{}");
+            notification.setReadStatus("unread");
+            notification.setPriority("normal");
+            notification.setDeliveryChannel("push");
+            notification.setSentAt(1700000000000L + i);
+            notification.setCreatedAt(1700000000000L + i);
+            notification.setUpdatedAt(1700000000000L + i);
+            items.add(notification);
+        }
+        return gson.toJsonTree(ApiResponse.success(items),
+                new TypeToken<ApiResponse<List<Notification>>>() {}.getType());
+    }
+
+    private static byte[] toCbor(JsonElement element) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new CBORFactory().createGenerator(out)) {
+            writeCbor(generator, element);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeCbor(JsonGenerator generator, JsonElement element) throws IOException {
+        if (element.isJsonNull()) {
+            generator.writeNull();
+        } else if (element.isJsonObject()) {
+            generator.writeStartObject();
+            for (Map.Entry<String, JsonElement> entry : ((JsonObject) element).entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                writeCbor(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (element.isJsonArray()) {
+            generator.writeStartArray();
+            for (JsonElement item : (JsonArray) element) {
+                writeCbor(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                generator.writeBoolean(primitive.getAsBoolean());
+            } else if (primitive.isNumber()) {
+                generator.writeNumber(primitive.getAsLong());
+            } else {
+                generator.writeString(primitive.getAsString());
+            }
+        }
+    }
+}
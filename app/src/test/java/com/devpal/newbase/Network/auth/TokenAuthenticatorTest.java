@@ -0,0 +1,200 @@
+package com.devpal.newbase.Network.auth;
+
+import androidx.annotation.NonNull;
+
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.Network.adapters.AppGson;
+import com.devpal.newbase.utils.SessionManager;
+import com.devpal.newbase.utils.schedulers.AppSchedulerProvider;
+import com.devpal.newbase.utils.schedulers.SchedulerMetricsRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.observers.TestObserver;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the in-memory bearer token, the single-flight refresh on concurrent 401s,
+ * proactive refresh before expiry, and that a rejected refresh surfaces the 401 without looping:
+ * a definitive 4xx ends the session, a transient failure keeps it for the next attempt.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class TokenAuthenticatorTest {
+
+    private static final String REFRESHED_BODY =
+            "{\"status\":\"success\",\"data\":{\"token\":\"new-token\",\"refresh_token\":\"refresh-2\",\"expires_in\":3600}}";
+
+    private MockWebServer server;
+    private SessionManager sessionManager;
+    private OkHttpClient client;
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+    private final AtomicInteger apiCalls = new AtomicInteger();
+    private volatile boolean refreshSucceeds = true;
+    private volatile int refreshFailureCode = 401;
+    private volatile boolean acceptOldToken = false;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                if (request.getPath().endsWith("auth/refresh")) {
+                    refreshCalls.incrementAndGet();
+                    Thread.sleep(100); // keep the refresh in flight while the other 401s arrive
+                    return refreshSucceeds
+                            ? new MockResponse().setBody(REFRESHED_BODY)
+                            : new MockResponse().setResponseCode(refreshFailureCode).setBody("{\"status\":\"error\"}");
+                }
+                apiCalls.incrementAndGet();
+                String authorization = request.getHeader("Authorization");
+                boolean authorized = "Bearer new-token".equals(authorization)
+                        || (acceptOldToken && "Bearer old-token".equals(authorization));
+                return authorized ? new MockResponse().setBody("{}") : new MockResponse().setResponseCode(401);
+            }
+        });
+        server.start();
+
+        sessionManager = new SessionManager(RuntimeEnvironment.getApplication(), AppGson.shared());
+        sessionManager.logoutUser();
+
+        OkHttpClient baseClient = new OkHttpClient();
+        AuthApi authApi = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(AppGson.shared()))
+                .client(baseClient)
+                .build()
+                .create(AuthApi.class);
+        TokenRefresher refresher = new TokenRefresher(authApi, sessionManager,
+                new AppSchedulerProvider(new SchedulerMetricsRegistry()));
+        client = baseClient.newBuilder()
+                .addInterceptor(new AuthInterceptor(sessionManager, refresher))
+                .authenticator(new TokenAuthenticator(refresher))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentUnauthorizedCallsShareOneRefresh() throws Exception {
+        login(3600L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit((Callable<Integer>) this::get));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(200, (int) result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, refreshCalls.get());
+        assertEquals("new-token", sessionManager.getAuthToken());
+        assertEquals("refresh-2", sessionManager.getAuthTokens().getRefreshToken());
+    }
+
+    @Test
+    public void tokenNearExpiryIsRefreshedInBackground() throws Exception {
+        acceptOldToken = true;
+        login(10L); // inside AUTH_REFRESH_LEEWAY_MILLIS
+
+        assertEquals(200, get()); // sent with the current token, no 401 round trip
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"new-token".equals(sessionManager.getAuthToken()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("new-token", sessionManager.getAuthToken());
+        assertEquals(1, refreshCalls.get());
+        assertEquals(1, apiCalls.get());
+    }
+
+    @Test
+    public void rejectedRefreshEndsSessionWithoutLooping() throws Exception {
+        refreshSucceeds = false;
+        login(3600L);
+        TestObserver<Long> expirations = sessionManager.observeSessionExpired().test();
+
+        assertEquals(401, get());
+        assertEquals(1, refreshCalls.get());
+        assertEquals(1, apiCalls.get());
+        assertNull(sessionManager.getAuthToken());
+        assertFalse(sessionManager.isLoggedIn());
+        expirations.assertValueCount(1);
+
+        // The dead refresh token is not sent again
+        assertEquals(401, get());
+        assertEquals(1, refreshCalls.get());
+    }
+
+    @Test
+    public void transientRefreshFailureKeepsSession() throws Exception {
+        refreshSucceeds = false;
+        refreshFailureCode = 503;
+        login(3600L);
+        TestObserver<Long> expirations = sessionManager.observeSessionExpired().test();
+
+        assertEquals(401, get());
+        assertEquals(1, refreshCalls.get());
+        assertEquals("old-token", sessionManager.getAuthToken());
+        assertTrue(sessionManager.isLoggedIn());
+        expirations.assertNoValues();
+    }
+
+    @Test
+    public void requestsWithoutSessionCarryNoAuthorization() throws Exception {
+        assertEquals(401, get());
+        assertEquals(0, refreshCalls.get());
+        assertNull(server.takeRequest().getHeader("Authorization"));
+    }
+
+    private void login(Long expiresInSeconds) {
+        User user = new User();
+        user.setId("user-1");
+        user.setRefreshToken("refresh-1");
+        user.setExpiresIn(expiresInSeconds);
+        sessionManager.loginUser("old-token", user);
+    }
+
+    private int get() throws IOException {
+        Request request = new Request.Builder().url(server.url("/user/profile")).build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.devpal.newbase.Network.interceptors;
+
+import com.devpal.newbase.Network.Endpoints;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.brotli.BrotliInterceptor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the compression stack wired in ApiClient: wire vs decoded sizes per endpoint,
+ * the payload budget callback, and opt-in gzip request bodies.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class PayloadSizeTrackerTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private MockWebServer server;
+    private PayloadSizeTracker tracker;
+    private OkHttpClient client;
+    private HttpUrl baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        // نفس مسار BASE_URL، حتى تُحسب المفاتيح نسبيًا كما في التطبيق
+        baseUrl = server.url(HttpUrl.get(Endpoints.BASE_URL).encodedPath());
+
+        tracker = new PayloadSizeTracker();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(tracker.decodedInterceptor())
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .addInterceptor(new GzipRequestInterceptor())
+                .addNetworkInterceptor(tracker.wireInterceptor())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void recordsWireAndDecodedSizesAndFlagsBudget() throws Exception {
+        String json = repeatedJson(5_000);
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(gzip(json)));
+
+        List<String> flagged = new ArrayList<>();
+        tracker.setBudget(Endpoints.GET_NOTIFICATIONS, 1_000);
+        tracker.setBudgetListener((endpoint, wireBytes, budgetBytes) -> flagged.add(endpoint));
+
+        try (Response response = client.newCall(new Request.Builder()
+                .url(baseUrl.resolve(Endpoints.GET_NOTIFICATIONS)).build()).execute()) {
+            assertEquals(json, response.body().string());
+        }
+        assertTrue(server.takeRequest().getHeader("Accept-Encoding").contains("br"));
+
+        PayloadStats stats = tracker.snapshot().get(0);
+        assertEquals(Endpoints.GET_NOTIFICATIONS, stats.getEndpoint());
+        assertEquals(json.getBytes("UTF-8").length, stats.getLastDecodedBytes());
+        assertTrue(stats.getLastWireBytes() < stats.getLastDecodedBytes());
+        assertEquals(1, stats.getOverBudgetCount());
+        assertEquals(1, flagged.size());
+    }
+
+    @Test
+    public void gzipsOnlyMarkedRequestBodies() throws Exception {
+        String json = repeatedJson(200);
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        client.newCall(new Request.Builder()
+                .url(baseUrl.resolve(Endpoints.MARK_NOTIFICATIONS_AS_READ_BATCH))
+                .header("X-Gzip-Request", "true")
+                .post(RequestBody.create(json, JSON))
+                .build()).execute().close();
+        client.newCall(new Request.Builder()
+                .url(baseUrl.resolve(Endpoints.UPDATE_USER_PROFILE))
+                .post(RequestBody.create(json, JSON))
+                .build()).execute().close();
+
+        RecordedRequest compressed = server.takeRequest();
+        assertEquals("gzip", compressed.getHeader("Content-Encoding"));
+        assertNull(compressed.getHeader("X-Gzip-Request"));
+        assertEquals(json, Okio.buffer(new GzipSource(compressed.getBody())).readUtf8());
+
+        RecordedRequest plain = server.takeRequest();
+        assertNull(plain.getHeader("Content-Encoding"));
+        assertEquals(json, plain.getBody().readUtf8());
+    }
+
+    @Test
+    public void normalizesIdSegments() {
+        assertEquals("uploads/{id}/chunks/{id}",
+                tracker.endpointOf(baseUrl.resolve("uploads/a1b2c3/chunks/7")));
+        assertEquals(Endpoints.GET_NOTIFICATIONS_DELTA,
+                tracker.endpointOf(baseUrl.resolve(Endpoints.GET_NOTIFICATIONS_DELTA + "?since=10")));
+    }
+
+    private static String repeatedJson(int items) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":\"n-").append(i).append("\",\"read_status\":\"unread\"}");
+        }
+        return builder.append(']').toString();
+    }
+
+    private static Buffer gzip(String value) throws IOException {
+        Buffer buffer = new Buffer();
+        try (okio.BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(value);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,208 @@
+package com.devpal.newbase.Network.priority;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that interactive calls keep reserved capacity while background calls hold the server,
+ * that background dispatch is throttled only while interactive calls actually run, that a caller
+ * can choose the priority with a tag, and that background calls can be cancelled explicitly.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class PriorityCallFactoryTest {
+
+    private MockWebServer server;
+    private PriorityCallFactory factory;
+    private final CountDownLatch releaseBackground = new CountDownLatch(1);
+    private final CountDownLatch releaseInteractive = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith("/sync")) {
+                    releaseBackground.await(10, TimeUnit.SECONDS);
+                }
+                if (request.getPath().startsWith("/slow")) {
+                    releaseInteractive.await(10, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setBody("{}");
+            }
+        });
+        server.start();
+        factory = new PriorityCallFactory(new OkHttpClient());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        releaseBackground.countDown();
+        releaseInteractive.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void interactiveCallIsNotStarvedByBackgroundCalls() throws Exception {
+        CountingCallback background = new CountingCallback();
+        for (int i = 0; i < 10; i++) {
+            factory.newCall(request("/sync/" + i, RequestPriority.BACKGROUND_HEADER)).enqueue(background);
+        }
+        awaitRunning(RequestPriority.BACKGROUND, 2); // BACKGROUND_MAX_REQUESTS_PER_HOST
+        assertEquals(8, factory.dispatcherFor(RequestPriority.BACKGROUND).queuedCallsCount());
+
+        long start = System.nanoTime();
+        try (Response response = factory.newCall(request("/user/profile", RequestPriority.INTERACTIVE_HEADER)).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertEquals(0, background.completed.get());
+    }
+
+    @Test
+    public void priorityHeaderIsReplacedByTag() throws Exception {
+        Request request = request("/notifications", RequestPriority.PREFETCH_HEADER);
+        Call call = factory.newCall(request);
+
+        assertNull(call.request().header("X-Request-Priority"));
+        assertEquals(RequestPriority.PREFETCH, call.request().tag(RequestPriority.class));
+        assertEquals(RequestPriority.INTERACTIVE, RequestPriority.of(new Request.Builder().url(server.url("/")).build()));
+        call.execute().close();
+        assertNull(server.takeRequest().getHeader("X-Request-Priority"));
+    }
+
+    @Test
+    public void backgroundIsThrottledWhileInteractiveRunsAndResumedWhenIdle() throws Exception {
+        Call interactive = factory.newCall(request("/slow/profile", RequestPriority.INTERACTIVE_HEADER));
+        // Creating a call that has not started yet does not throttle anything
+        assertEquals(4, factory.dispatcherFor(RequestPriority.BACKGROUND).getMaxRequests());
+
+        CountingCallback callback = new CountingCallback();
+        interactive.enqueue(callback);
+        awaitRunning(RequestPriority.INTERACTIVE, 1);
+        awaitBackgroundMaxRequests(1);
+
+        // An idle check while the interactive call still runs keeps the throttle
+        factory.resumeBackground();
+        assertEquals(1, factory.dispatcherFor(RequestPriority.BACKGROUND).getMaxRequests());
+
+        releaseInteractive.countDown();
+        awaitBackgroundMaxRequests(4);
+        assertEquals(1, callback.completed.get());
+    }
+
+    @Test
+    public void taggedPriorityOverridesTheDefault() throws Exception {
+        Request request = new Request.Builder().url(server.url("/user/profile"))
+                .tag(RequestPriority.class, RequestPriority.BACKGROUND)
+                .build();
+        Call call = factory.newCall(request);
+
+        assertEquals(RequestPriority.BACKGROUND, call.request().tag(RequestPriority.class));
+        call.execute().close();
+        assertEquals(4, factory.dispatcherFor(RequestPriority.BACKGROUND).getMaxRequests()); // not treated as interactive
+    }
+
+    @Test
+    public void interactiveCallsDoNotCancelBackgroundCalls() throws Exception {
+        CountingCallback background = new CountingCallback();
+        for (int i = 0; i < 2; i++) {
+            factory.newCall(request("/sync/" + i, RequestPriority.BACKGROUND_HEADER)).enqueue(background);
+        }
+        awaitRunning(RequestPriority.BACKGROUND, 2);
+
+        for (int i = 0; i < 20; i++) { // more than the interactive capacity, so some of them queue
+            factory.newCall(request("/user/profile", RequestPriority.INTERACTIVE_HEADER)).enqueue(new CountingCallback());
+        }
+        releaseBackground.countDown();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (background.completed.get() + background.failed.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, background.completed.get());
+        assertEquals(0, background.failed.get());
+    }
+
+    @Test
+    public void cancelBackgroundCallsFailsRunningAndQueuedCalls() throws Exception {
+        CountingCallback background = new CountingCallback();
+        for (int i = 0; i < 6; i++) {
+            factory.newCall(request("/sync/" + i, RequestPriority.BACKGROUND_HEADER)).enqueue(background);
+        }
+        awaitRunning(RequestPriority.BACKGROUND, 2);
+
+        factory.cancelBackgroundCalls();
+
+        assertTrue(background.finished.await(5, TimeUnit.SECONDS));
+        assertEquals(6, background.failed.get());
+    }
+
+    private Request request(String path, String priorityHeader) {
+        String[] header = priorityHeader.split(": ");
+        return new Request.Builder().url(server.url(path)).header(header[0], header[1]).build();
+    }
+
+    private void awaitRunning(RequestPriority priority, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (factory.dispatcherFor(priority).runningCallsCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, factory.dispatcherFor(priority).runningCallsCount());
+    }
+
+    private void awaitBackgroundMaxRequests(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (factory.dispatcherFor(RequestPriority.BACKGROUND).getMaxRequests() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, factory.dispatcherFor(RequestPriority.BACKGROUND).getMaxRequests());
+    }
+
+    private static final class CountingCallback implements Callback {
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(6);
+
+        @Override
+        public void onFailure(@NonNull Call call, @NonNull IOException e) {
+            failed.incrementAndGet();
+            finished.countDown();
+        }
+
+        @Override
+        public void onResponse(@NonNull Call call, @NonNull Response response) {
+            response.close();
+            completed.incrementAndGet();
+            finished.countDown();
+        }
+    }
+}
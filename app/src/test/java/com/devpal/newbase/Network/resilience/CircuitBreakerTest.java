@@ -0,0 +1,136 @@
+package com.devpal.newbase.Network.resilience;
+
+import android.os.SystemClock;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.net.SocketTimeoutException;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the breaker's state machine: it opens after the threshold of consecutive server
+ * failures, 4xx errors never count, and half-open lets exactly one probe through at a time.
+ * Robolectric's SystemClock.sleep() advances elapsedRealtime without waiting.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class CircuitBreakerTest {
+
+    private static final long OPEN_DURATION_MILLIS = 30_000;
+
+    private final CircuitBreaker breaker = new CircuitBreaker("notifications", 3, OPEN_DURATION_MILLIS);
+
+    @Test
+    public void opensAfterConsecutiveServerFailures() {
+        breaker.onError(httpError(503));
+        breaker.onError(new SocketTimeoutException("timeout"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onError(httpError(500));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1, breaker.getOpenedCount());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    public void clientErrorsDoNotCountAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(httpError(404));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // A 4xx also proves the server is up, so it resets the consecutive failure count
+        breaker.onError(httpError(503));
+        breaker.onError(httpError(503));
+        breaker.onError(httpError(400));
+        breaker.onError(httpError(503));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void halfOpenAllowsSingleProbe() {
+        open();
+        SystemClock.sleep(OPEN_DURATION_MILLIS);
+
+        assertTrue(breaker.allowRequest()); // the probe
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+        assertEquals(2, breaker.getRejectedCount());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        assertEquals(1, breaker.getClosedCount());
+    }
+
+    @Test
+    public void failedProbeReopens() {
+        open();
+        SystemClock.sleep(OPEN_DURATION_MILLIS);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onError(httpError(502)); // one failure is enough in half-open
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(2, breaker.getOpenedCount());
+    }
+
+    @Test
+    public void cancelledProbeFreesTheSlot() {
+        open();
+        SystemClock.sleep(OPEN_DURATION_MILLIS);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onCancelled();
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void staysOpenUntilDurationElapses() {
+        open();
+        SystemClock.sleep(OPEN_DURATION_MILLIS - 1);
+        assertFalse(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    // --- Helpers ---
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static HttpException httpError(int code) {
+        okhttp3.Response raw = new okhttp3.Response.Builder()
+                .code(code)
+                .message("HTTP " + code)
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("http://localhost/").build())
+                .build();
+        return new HttpException(Response.error(ResponseBody.create("", null), raw));
+    }
+}
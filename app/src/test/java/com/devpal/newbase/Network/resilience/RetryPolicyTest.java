@@ -0,0 +1,118 @@
+package com.devpal.newbase.Network.resilience;
+
+import com.devpal.newbase.exceptions.ApiException;
+import com.devpal.newbase.exceptions.NoInternetException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+
+import okhttp3.Headers;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the retry delays: full-jitter bounds per attempt, Retry-After in seconds and as an
+ * HTTP date, the maxDelay cut-off, and which errors are retried at all.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class RetryPolicyTest {
+
+    private static final int SAMPLES = 500;
+
+    private final RetryPolicy policy = new RetryPolicy(5, 100, 1_000);
+
+    @Test
+    public void fullJitterStaysWithinExponentialCap() {
+        IOException timeout = new SocketTimeoutException("timeout");
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            long cap = Math.min(1_000, 100L << (attempt - 1)); // 100, 200, 400, 800, 1000
+            long max = 0;
+            for (int i = 0; i < SAMPLES; i++) {
+                long delay = policy.delayFor(timeout, attempt);
+                assertTrue("attempt " + attempt + " delay " + delay, delay >= 0 && delay <= cap);
+                max = Math.max(max, delay);
+            }
+            // Full jitter spreads over the whole window, not just its lower end
+            assertTrue("attempt " + attempt + " never went above half the cap", max > cap / 2);
+        }
+    }
+
+    @Test
+    public void jitterCapDoesNotOverflowOnLateAttempts() {
+        long delay = policy.delayFor(new SocketTimeoutException("timeout"), 64);
+        assertTrue(delay >= 0 && delay <= 1_000);
+    }
+
+    @Test
+    public void retryAfterSecondsReplacesBackoff() {
+        assertEquals(1_000, policy.delayFor(httpError(429, "1"), 1));
+        assertEquals(1_000, policy.delayFor(httpError(503, "1"), 4)); // the attempt number does not matter
+        assertEquals(0, policy.delayFor(httpError(503, "0"), 1));
+        assertEquals(-1, policy.delayFor(httpError(404, "1"), 1)); // only for errors that are retried at all
+    }
+
+    @Test
+    public void retryAfterHttpDateIsHonoured() {
+        // HTTP dates have second precision, so the delay lands somewhere in the last second before it
+        Date retryAt = new Date(System.currentTimeMillis() + 1_000);
+        long delay = policy.delayFor(httpErrorWithHeaders(503, new Headers.Builder().add("Retry-After", retryAt).build()), 1);
+        assertTrue("delay " + delay, delay >= 0 && delay <= 1_000);
+    }
+
+    @Test
+    public void retryAfterBeyondMaxDelayIsNotRetried() {
+        assertEquals(-1, policy.delayFor(httpError(503, "60"), 1));
+    }
+
+    @Test
+    public void clientErrorsAndOfflineAreNotRetried() {
+        assertEquals(-1, policy.delayFor(httpError(400, null), 1));
+        assertEquals(-1, policy.delayFor(httpError(404, null), 1));
+        assertEquals(-1, policy.delayFor(new NoInternetException(), 1));
+        assertEquals(-1, policy.delayFor(new ApiException("circuit open"), 1));
+        assertEquals(-1, policy.delayFor(new IllegalStateException("bug"), 1));
+    }
+
+    @Test
+    public void transientErrorsAreRetryable() {
+        assertTrue(RetryPolicy.isRetryable(new SocketTimeoutException("timeout")));
+        assertTrue(RetryPolicy.isRetryable(httpError(408, null)));
+        assertTrue(RetryPolicy.isRetryable(httpError(429, null)));
+        assertTrue(RetryPolicy.isRetryable(httpError(500, null)));
+        assertTrue(RetryPolicy.isRetryable(httpError(503, null)));
+        assertFalse(RetryPolicy.isRetryable(httpError(401, null)));
+        assertFalse(RetryPolicy.isRetryable(httpError(422, null)));
+    }
+
+    // --- Helpers ---
+
+    private static HttpException httpError(int code, String retryAfter) {
+        Headers headers = retryAfter != null ? Headers.of("Retry-After", retryAfter) : Headers.of();
+        return httpErrorWithHeaders(code, headers);
+    }
+
+    private static HttpException httpErrorWithHeaders(int code, Headers headers) {
+        okhttp3.Response raw = new okhttp3.Response.Builder()
+                .code(code)
+                .message("HTTP " + code)
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("http://localhost/").build())
+                .headers(headers)
+                .build();
+        return new HttpException(Response.error(ResponseBody.create("", null), raw));
+    }
+}
@@ -0,0 +1,221 @@
+package com.devpal.newbase.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.devpal.newbase.database.migrations.AppMigrations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Migration tests for AppDatabase, run once per migration in AppMigrations.ALL.
+ * The database is built from the version 2 schema (the last schema shipped with
+ * fallbackToDestructiveMigration) and brought to the migration's start version by the
+ * earlier migrations, so every test exercises the real chain.
+ *
+ * - migratesToLatestRoomSchema: from the start version, Room runs the rest of the chain and
+ *   validates every table against the generated schema, and the cached rows survive.
+ * - appliesItsOwnChange: the one focused assertion for what this migration adds.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class AppMigrationsTest {
+
+    private static final String TEST_DB = "migration-test.db";
+
+    /** The focused assertion for one migration, run right after it. */
+    private interface MigrationCheck {
+        void verify(AppMigrationsTest test, SupportSQLiteDatabase db);
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static List<Object[]> migrations() {
+        return Arrays.asList(
+                migration(AppMigrations.MIGRATION_2_3, (test, db) -> {
+                    Set<String> notificationIndices = test.indexNames(db, "notifications");
+                    assertTrue(notificationIndices.contains("index_notifications_user_id_sent_at"));
+                    assertTrue(notificationIndices.contains("index_notifications_read_status_sent_at"));
+                    assertTrue(notificationIndices.contains("index_notifications_sent_at_id"));
+                    assertTrue(notificationIndices.contains("index_notifications_category"));
+                    assertTrue(notificationIndices.contains("index_notifications_priority"));
+                    Set<String> userIndices = test.indexNames(db, "users");
+                    assertTrue(userIndices.contains("index_users_email"));
+                    assertTrue(userIndices.contains("index_users_username"));
+                }),
+                migration(AppMigrations.MIGRATION_3_4, (test, db) ->
+                        assertTrue(test.indexNames(db, "notifications").contains("index_notifications_read_status_category"))),
+                migration(AppMigrations.MIGRATION_4_5, (test, db) -> {
+                    db.execSQL("INSERT INTO notification_read_outbox (notification_id, queued_at) VALUES ('n1', 1)");
+                    assertEquals(1, test.count(db, "notification_read_outbox"));
+                }),
+                migration(AppMigrations.MIGRATION_5_6, (test, db) -> {
+                    assertTrue(test.indexNames(db, "upload_tasks").contains("index_upload_tasks_status"));
+                    assertEquals(0, test.count(db, "upload_tasks"));
+                }),
+                migration(AppMigrations.MIGRATION_6_7, (test, db) -> {
+                    try (Cursor cursor = db.query("SELECT sent_at FROM notifications WHERE id = 'n0'")) {
+                        cursor.moveToFirst();
+                        assertEquals(0L, cursor.getLong(0));
+                    }
+                    assertTrue(test.indexNames(db, "notifications").contains("index_notifications_sent_at_id"));
+                }));
+    }
+
+    private static Object[] migration(Migration migration, MigrationCheck check) {
+        return new Object[]{migration.startVersion + "->" + migration.endVersion, migration, check};
+    }
+
+    private final Migration migration;
+    private final MigrationCheck check;
+    private Context context;
+
+    public AppMigrationsTest(String name, Migration migration, MigrationCheck check) {
+        this.migration = migration;
+        this.check = check;
+    }
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migratesToLatestRoomSchema() {
+        // Room validates every table against the generated schema when it opens the migrated
+        // database, so a Migration that drifts from the entities fails here.
+        SupportSQLiteOpenHelper helper = openAtStartVersion(TEST_DB);
+        helper.close();
+
+        AppDatabase appDatabase = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(AppMigrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+        SupportSQLiteDatabase db = appDatabase.getOpenHelper().getWritableDatabase();
+
+        assertEquals(2, count(db, "notifications"));
+        assertEquals(1, count(db, "users"));
+        appDatabase.close();
+    }
+
+    @Test
+    public void appliesItsOwnChange() {
+        SupportSQLiteOpenHelper helper = openAtStartVersion(null); // in-memory
+        SupportSQLiteDatabase db = helper.getWritableDatabase();
+
+        migration.migrate(db);
+
+        check.verify(this, db);
+        assertEquals(2, count(db, "notifications"));
+        assertEquals(1, count(db, "users"));
+        helper.close();
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Creates the version 2 database with its rows, then runs every migration that comes before
+     * the one under test and stamps the database with that migration's start version.
+     */
+    private SupportSQLiteOpenHelper openAtStartVersion(String name) {
+        SupportSQLiteOpenHelper helper = openVersion2(name);
+        SupportSQLiteDatabase db = helper.getWritableDatabase();
+        insertVersion2Rows(db);
+        for (Migration earlier : AppMigrations.ALL) {
+            if (earlier.startVersion >= migration.startVersion) {
+                break;
+            }
+            earlier.migrate(db);
+        }
+        db.setVersion(migration.startVersion);
+        return helper;
+    }
+
+    private SupportSQLiteOpenHelper openVersion2(String name) {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration.builder(context)
+                .name(name)
+                .callback(new SupportSQLiteOpenHelper.Callback(2) {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        db.execSQL("CREATE TABLE IF NOT EXISTS `users` (`id` TEXT NOT NULL, `username` TEXT, `email` TEXT, "
+                                + "`password_hash` TEXT, `first_name` TEXT, `last_name` TEXT, `phone_number` TEXT, "
+                                + "`profile_picture_url` TEXT, `bio` TEXT, `street_address` TEXT, `city` TEXT, "
+                                + "`state_province` TEXT, `zip_postal_code` TEXT, `country` TEXT, "
+                                + "`login_attempts` INTEGER NOT NULL, `locked_until` INTEGER, `account_status` TEXT, "
+                                + "`is_email_verified` INTEGER NOT NULL, `email_verified_at` INTEGER, "
+                                + "`is_phone_verified` INTEGER NOT NULL, `phone_verified_at` INTEGER, "
+                                + "`two_factor_enabled` INTEGER NOT NULL, `two_factor_secret` TEXT, `locale` TEXT, "
+                                + "`role_id` INTEGER NOT NULL, `last_login_at` INTEGER, `last_activity_at` INTEGER, "
+                                + "`consent_to_terms` INTEGER NOT NULL, `consent_to_marketing` INTEGER NOT NULL, "
+                                + "`created_by` TEXT, `metadata` TEXT, `created_at` INTEGER, `updated_at` INTEGER, "
+                                + "`deleted_at` INTEGER, PRIMARY KEY(`id`))");
+                        db.execSQL("CREATE TABLE IF NOT EXISTS `notifications` (`id` TEXT NOT NULL, `user_id` TEXT, "
+                                + "`type` TEXT, `category` TEXT, `title` TEXT, `body` TEXT, `short_description` TEXT, "
+                                + "`image_url` TEXT, `action_type` TEXT, `action_value` TEXT, `payload` TEXT, "
+                                + "`read_status` TEXT, `priority` TEXT, `delivery_channel` TEXT, `sent_at` INTEGER, "
+                                + "`delivered_at` INTEGER, `created_at` INTEGER, `updated_at` INTEGER, PRIMARY KEY(`id`))");
+                    }
+
+                    @Override
+                    public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                        // Not used: the helper only ever creates version 2.
+                    }
+                })
+                .build();
+        return new FrameworkSQLiteOpenHelperFactory().create(configuration);
+    }
+
+    private void insertVersion2Rows(SupportSQLiteDatabase db) {
+        db.execSQL("INSERT INTO users (id, username, email, login_attempts, is_email_verified, is_phone_verified, "
+                + "two_factor_enabled, role_id, consent_to_terms, consent_to_marketing) "
+                + "VALUES ('u1', 'devpal', 'dev@pal.com', 0, 1, 0, 0, 1, 1, 0)");
+        db.execSQL("INSERT INTO notifications (id, user_id, title, read_status, priority, sent_at, updated_at) "
+                + "VALUES ('n1', 'u1', 'Hello', 'unread', 'high', 1000, 1000)");
+        // No sent_at: version 7 turns it into 0 instead of leaving a row the keyset queries cannot reach
+        db.execSQL("INSERT INTO notifications (id, title, read_status) VALUES ('n0', 'No send time', 'unread')");
+    }
+
+    private Set<String> indexNames(SupportSQLiteDatabase db, String table) {
+        Set<String> names = new HashSet<>();
+        try (Cursor cursor = db.query("PRAGMA index_list(`" + table + "`)")) {
+            int nameColumn = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(nameColumn));
+            }
+        }
+        return names;
+    }
+
+    private int count(SupportSQLiteDatabase db, String table) {
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM `" + table + "`")) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.devpal.newbase.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.devpal.newbase.Models.Notification;
+import com.devpal.newbase.database.dao.NotificationDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Write-amplification benchmark: re-syncing a 10k-row batch with REPLACE (delete + insert)
+ * versus Upsert (update in place). Row deletions are counted with a temporary trigger;
+ * with recursive_triggers on, SQLite fires delete triggers for REPLACE conflict deletes too.
+ * Timings are not asserted; they are carried in the assertion messages so a failure shows them.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class NotificationWriteBenchmarkTest {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private AppDatabase appDatabase;
+    private NotificationDao notificationDao;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        appDatabase = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        notificationDao = appDatabase.notificationDao();
+        db = appDatabase.getOpenHelper().getWritableDatabase();
+
+        db.execSQL("PRAGMA recursive_triggers = ON");
+        db.execSQL("CREATE TEMP TABLE delete_counter (deletes INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO delete_counter VALUES (0)");
+        db.execSQL("CREATE TEMP TRIGGER count_notification_deletes AFTER DELETE ON notifications "
+                + "BEGIN UPDATE delete_counter SET deletes = deletes + 1; END");
+    }
+
+    @After
+    public void tearDown() {
+        appDatabase.close();
+    }
+
+    @Test
+    public void replaceVersusUpsert_on10kRowBatch() {
+        notificationDao.insertAllNotifications(batch(1L)).blockingAwait();
+        resetDeleteCounter();
+
+        long replaceStart = System.nanoTime();
+        notificationDao.insertAllNotifications(batch(2L)).blockingAwait();
+        long replaceMillis = (System.nanoTime() - replaceStart) / 1_000_000;
+        int replaceDeletes = deleteCount();
+
+        resetDeleteCounter();
+        long upsertStart = System.nanoTime();
+        notificationDao.upsertNotifications(batch(3L)).blockingAwait();
+        long upsertMillis = (System.nanoTime() - upsertStart) / 1_000_000;
+        int upsertDeletes = deleteCount();
+
+        String report = "REPLACE: " + replaceMillis + " ms, " + replaceDeletes + " row deletes; "
+                + "UPSERT: " + upsertMillis + " ms, " + upsertDeletes + " row deletes";
+
+        assertEquals(report, BATCH_SIZE, replaceDeletes);
+        assertEquals(report, 0, upsertDeletes);
+        assertEquals(BATCH_SIZE, notificationDao.getAllNotificationListItems().blockingGet().size());
+    }
+
+    // --- Helpers ---
+
+    private List<Notification> batch(long version) {
+        List<Notification> notifications = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            notifications.add(new Notification("n" + i, "u1", "general", "social", "Title " + i,
+                    "Body " + i, "Short " + i, null, "none", null, "{}", "unread", "medium",
+                    "in_app", 1_000L + i, 1_000L + i, 1_000L, version));
+        }
+        return notifications;
+    }
+
+    private void resetDeleteCounter() {
+        db.execSQL("UPDATE delete_counter SET deletes = 0");
+    }
+
+    private int deleteCount() {
+        try (Cursor cursor = db.query("SELECT deletes FROM delete_counter")) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.devpal.newbase.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.database.dao.UserDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the partial profile update: only the fields the edit carries change, fields it
+ * leaves null keep their stored values, and a missing user is not inserted.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class UserDaoTest {
+
+    private AppDatabase appDatabase;
+    private UserDao userDao;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        appDatabase = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        userDao = appDatabase.userDao();
+    }
+
+    @After
+    public void tearDown() {
+        appDatabase.close();
+    }
+
+    @Test
+    public void updateProfileKeepsColumnsTheEditDidNotSend() {
+        User stored = new User();
+        stored.setId("u1");
+        stored.setEmail("old@example.com");
+        stored.setProfilePictureUrl("https://example.com/a.png");
+        stored.setBio("old bio");
+        stored.setCity("Amman");
+        userDao.upsertUser(stored).blockingAwait();
+
+        User edit = new User();
+        edit.setBio("new bio");
+        userDao.updateProfile("u1", edit).blockingAwait();
+
+        User updated = userDao.getUserById("u1").blockingGet();
+        assertEquals("new bio", updated.getBio());
+        assertEquals("old@example.com", updated.getEmail());
+        assertEquals("https://example.com/a.png", updated.getProfilePictureUrl());
+        assertEquals("Amman", updated.getCity());
+    }
+
+    @Test
+    public void updateProfileDoesNotInsertMissingUser() {
+        User edit = new User();
+        edit.setBio("bio");
+
+        userDao.updateProfile("missing", edit).blockingAwait();
+
+        assertTrue(userDao.getAllUsers().blockingGet().isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package com.devpal.newbase.repository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the max-age decision (fresh, stale, never fetched) and what each mode emits for it.
+ * Freshness is decided when apply() is called, so a delayed subscription does not change it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class CachePolicyTest {
+
+    private static final long MAX_AGE_MILLIS = 1_000;
+
+    private final AtomicInteger networkCalls = new AtomicInteger();
+    private final Single<String> network = Single.fromCallable(() -> {
+        networkCalls.incrementAndGet();
+        return "network";
+    });
+
+    @Test
+    public void freshnessHonoursMaxAgeAndNeverFetched() {
+        CachePolicy policy = CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS);
+        long now = 10_000;
+
+        assertTrue(policy.isFresh(now - MAX_AGE_MILLIS, now));
+        assertFalse(policy.isFresh(now - MAX_AGE_MILLIS - 1, now));
+        assertFalse(policy.isFresh(0, now));
+    }
+
+    @Test
+    public void staleWhileRevalidateSkipsNetworkWhenFresh() {
+        CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, System.currentTimeMillis())
+                .test()
+                .assertValues("local")
+                .assertComplete();
+
+        assertEquals(0, networkCalls.get());
+    }
+
+    @Test
+    public void staleWhileRevalidateEmitsLocalThenNetworkWhenStale() {
+        long stale = System.currentTimeMillis() - MAX_AGE_MILLIS - 1;
+        CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, stale)
+                .test()
+                .assertValues("local", "network")
+                .assertComplete();
+
+        CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, 0)
+                .test()
+                .assertValues("local", "network");
+
+        assertEquals(2, networkCalls.get());
+    }
+
+    @Test
+    public void staleWhileRevalidateKeepsLocalWhenRevalidationFails() {
+        CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), Single.<String>error(new IOException("offline")), 0)
+                .test()
+                .assertValues("local")
+                .assertComplete();
+    }
+
+    @Test
+    public void staleWhileRevalidateWithoutLocalCopyUsesNetworkOnly() {
+        CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.<String>empty(), network, System.currentTimeMillis())
+                .test()
+                .assertValues("network")
+                .assertComplete();
+    }
+
+    @Test
+    public void cacheFirstUsesLocalOnlyWhileFresh() {
+        CachePolicy.cacheFirst(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, System.currentTimeMillis())
+                .test()
+                .assertValues("local");
+        assertEquals(0, networkCalls.get());
+
+        CachePolicy.cacheFirst(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, System.currentTimeMillis() - MAX_AGE_MILLIS - 1)
+                .test()
+                .assertValues("network");
+        assertEquals(1, networkCalls.get());
+    }
+
+    @Test
+    public void networkFirstFallsBackToLocalCopy() {
+        IOException offline = new IOException("offline");
+
+        CachePolicy.networkFirst()
+                .apply(Maybe.just("local"), Single.<String>error(offline), 0)
+                .test()
+                .assertValues("local")
+                .assertComplete();
+
+        CachePolicy.networkFirst()
+                .apply(Maybe.<String>empty(), Single.<String>error(offline), 0)
+                .test()
+                .assertNoValues()
+                .assertError(offline);
+    }
+
+    @Test
+    public void freshnessIsDecidedAtApplyTime() throws InterruptedException {
+        // Fresh for another 100ms when apply() runs, stale by the time it is subscribed
+        Observable<String> result = CachePolicy.staleWhileRevalidate(MAX_AGE_MILLIS)
+                .apply(Maybe.just("local"), network, System.currentTimeMillis() - 900);
+
+        Thread.sleep(200);
+
+        result.test().assertValues("local").assertComplete();
+        assertEquals(0, networkCalls.get());
+    }
+}
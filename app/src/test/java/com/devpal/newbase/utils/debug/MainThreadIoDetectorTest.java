@@ -0,0 +1,85 @@
+package com.devpal.newbase.utils.debug;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.devpal.newbase.Models.User;
+import com.devpal.newbase.database.AppDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * The Robolectric test thread is the main looper, so any Room query it runs directly must be
+ * rejected by the detector, while the same work on a background thread goes through.
+ * allowMainThreadQueries() disables Room's own check, leaving the detector as the only guard.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class MainThreadIoDetectorTest {
+
+    private AppDatabase appDatabase;
+    private ExecutorService background;
+
+    @Before
+    public void setUp() {
+        MainThreadIoDetector.setPenalty(MainThreadIoDetector.Penalty.THROW);
+        Context context = ApplicationProvider.getApplicationContext();
+        appDatabase = MainThreadIoDetector.attach(Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                        .allowMainThreadQueries())
+                .build();
+        background = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        background.shutdownNow();
+        appDatabase.close();
+        MainThreadIoDetector.setPenalty(MainThreadIoDetector.Penalty.LOG);
+    }
+
+    @Test
+    public void roomWriteOnMainThreadFails() {
+        assertThrows(MainThreadIoDetector.MainThreadIoException.class,
+                () -> appDatabase.userDao().upsertUser(user("u-1")).blockingAwait());
+    }
+
+    @Test
+    public void roomWriteSubscribedOnBackgroundThreadPasses() {
+        appDatabase.userDao().upsertUser(user("u-2"))
+                .subscribeOn(Schedulers.from(background))
+                .blockingAwait();
+
+        User stored = appDatabase.userDao().getUserById("u-2")
+                .subscribeOn(Schedulers.from(background))
+                .blockingGet();
+        assertEquals("u-2@example.com", stored.getEmail());
+    }
+
+    @Test
+    public void manualCheckFailsOnMainThread() {
+        assertThrows(MainThreadIoDetector.MainThreadIoException.class,
+                () -> MainThreadIoDetector.checkNotMainThread("Reading cache file"));
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package com.devpal.newbase.utils.schedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the named schedulers from AppSchedulerProvider and the per-scheduler wait/exec/queue
+ * metrics collected through the RxJavaPlugins schedule hook.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = android.app.Application.class)
+public class SchedulerMetricsRegistryTest {
+
+    private SchedulerMetricsRegistry registry;
+    private AppSchedulerProvider schedulers;
+
+    @Before
+    public void setUp() {
+        registry = new SchedulerMetricsRegistry();
+        schedulers = new AppSchedulerProvider(registry);
+        registry.install();
+    }
+
+    @After
+    public void tearDown() {
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    public void dbWritesRunSeriallyOnOneNamedThread() throws InterruptedException {
+        Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        List<Completable> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            writes.add(Completable.fromAction(() -> threadNames.add(Thread.currentThread().getName()))
+                    .subscribeOn(schedulers.dbWrite()));
+        }
+        Completable.merge(writes).blockingAwait(5, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singleton("rx-db-writer-1"), threadNames);
+        SchedulerStats stats = awaitTaskCount(SchedulerNames.DB_WRITE, 20);
+        assertTrue(stats.getTotalExecNanos() > 0);
+        assertTrue(stats.getQueueDepth() >= 0);
+    }
+
+    @Test
+    public void queuedWritesAreReportedAsSlowStarts() throws InterruptedException {
+        List<String> slowSchedulers = Collections.synchronizedList(new ArrayList<>());
+        registry.setSlowStartThreshold(20, TimeUnit.MILLISECONDS);
+        registry.setSaturationListener((scheduler, waitMillis, queueDepth) -> slowSchedulers.add(scheduler));
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        Completable.fromAction(release::await).subscribeOn(schedulers.dbWrite()).subscribe(done::countDown);
+        for (int i = 0; i < 3; i++) {
+            Completable.complete().subscribeOn(schedulers.dbWrite()).subscribe(done::countDown);
+        }
+
+        Thread.sleep(100);
+        SchedulerStats blocked = registry.statsFor(SchedulerNames.DB_WRITE);
+        assertNotNull(blocked);
+        assertEquals(3, blocked.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        SchedulerStats stats = awaitTaskCount(SchedulerNames.DB_WRITE, 4);
+        assertEquals(3, stats.getMaxQueueDepth());
+        assertTrue(stats.getMaxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(3, stats.getSlowStartCount());
+        assertEquals(3, slowSchedulers.size());
+        assertEquals(SchedulerNames.DB_WRITE, slowSchedulers.get(0));
+    }
+
+    @Test
+    public void ioTasksAreMeasuredWithoutQueueDepth() throws InterruptedException {
+        Completable.fromAction(() -> Thread.sleep(5)).subscribeOn(schedulers.io()).blockingAwait(5, TimeUnit.SECONDS);
+
+        SchedulerStats stats = awaitTaskCount(SchedulerNames.IO, 1);
+        assertEquals(-1, stats.getQueueDepth());
+        assertTrue(stats.getMaxExecNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertFalse(stats.toString().contains("queue("));
+    }
+
+    @Test
+    public void tasksOnUnregisteredSchedulersAreNotMeasured() throws InterruptedException {
+        Completable.complete().subscribeOn(Schedulers.single()).blockingAwait(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+
+        for (SchedulerStats stats : registry.snapshot()) {
+            assertEquals(stats.getName(), 0, stats.getTaskCount());
+        }
+    }
+
+    /**
+     * Metrics are recorded after the task body returns, so poll briefly past blockingAwait.
+     */
+    private SchedulerStats awaitTaskCount(String name, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        SchedulerStats stats = registry.statsFor(name);
+        while (stats != null && stats.getTaskCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            stats = registry.statsFor(name);
+        }
+        assertNotNull(stats);
+        assertEquals(expected, stats.getTaskCount());
+        return stats;
+    }
+}